@@ -0,0 +1,117 @@
+package com.example.starling.roundup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result with a baseline and fails if any benchmark got slower, or allocates
+ * more per operation, by more than a threshold:
+ * <pre>
+ * BenchmarkComparison baseline.json result.json [thresholdPercent]
+ * </pre>
+ * Benchmarks are matched by name and parameters; those missing from either file are listed but
+ * not compared. Allocation is taken from the {@code gc.alloc.rate.norm} metric of the GC profiler.
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    // below this many bytes per operation the allocation is escape-analysis noise, not an object
+    private static final double MIN_ALLOCATION = 8;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        if (!new File(args[0]).isFile()) {
+            System.err.println("No baseline at " + args[0] + "; keep a result there to compare with");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> result = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Result", "Change", "B/op base", "B/op now", "Change");
+        for (Map.Entry<String, Score> entry : result.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s  (new)%n", entry.getKey(), "-", now.score(), "");
+                continue;
+            }
+            // positive is worse: slower, less throughput, or more allocation
+            double timeChange = percent(before.score(), now.score()) * (now.higherIsBetter() ? -1 : 1);
+            double allocationChange = Math.max(before.allocation(), now.allocation()) < MIN_ALLOCATION
+                    ? 0
+                    : percent(before.allocation(), now.allocation());
+            boolean regressed = timeChange > threshold || allocationChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12.1f %12.1f %+7.1f%%%s%n", entry.getKey(),
+                    before.score(), now.score(), timeChange, before.allocation(), now.allocation(), allocationChange,
+                    regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(name -> !result.containsKey(name))
+                .forEach(name -> System.out.printf("%-70s  (not run)%n", name));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("No regression above %.1f%%%n", threshold);
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(benchmark.path("benchmark").asText());
+            Map<String, String> params = new LinkedHashMap<>();
+            benchmark.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((key, value) -> name.append(' ').append(key).append('=').append(value));
+            scores.put(name.toString().replace("com.example.starling.roundup.", ""), new Score(
+                    benchmark.path("primaryMetric").path("score").asDouble(),
+                    "thrpt".equals(benchmark.path("mode").asText()),
+                    allocation(benchmark.path("secondaryMetrics"))));
+        }
+        return scores;
+    }
+
+    private static double allocation(JsonNode secondaryMetrics) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = secondaryMetrics.fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().replace("·", "").equals(ALLOCATION)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double percent(double before, double now) {
+        if (Double.isNaN(before) || Double.isNaN(now)) {
+            return 0;
+        }
+        if (before == 0) {
+            return now == 0 ? 0 : 100;
+        }
+        return (now - before) / before * 100;
+    }
+
+    private record Score(double score, boolean higherIsBetter, double allocation) {
+    }
+}
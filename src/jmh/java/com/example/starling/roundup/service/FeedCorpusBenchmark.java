@@ -0,0 +1,83 @@
+package com.example.starling.roundup.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.starling.roundup.corpus.FeedCorpus;
+import com.example.starling.roundup.corpus.FeedCorpusSpec;
+
+/**
+ * A round-up over the transaction feed of a busy account, 10k to 1M items replayed from the
+ * {@link FeedCorpus}: {@code getFeedItemsForDateRange} followed by {@code calculateRoundUpAmount},
+ * and the streaming {@code calculateRoundUpAmountForDateRange}, both through a RestTemplate whose
+ * responses are served from memory, so that the numbers cover the message conversion the service
+ * really does but no network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// room for the 1M-item feed as JSON and as FeedItem records at the same time
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FeedCorpusBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private final UUID accountUid = UUID.randomUUID();
+    private final UUID categoryUid = UUID.randomUUID();
+    private final LocalDateTime to = LocalDateTime.of(2026, 3, 2, 10, 0);
+    private final LocalDateTime from = to.minusDays(7);
+
+    private TransactionFeedItemServiceImpl service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] json = FeedCorpus.load(FeedCorpusSpec.of(size), FeedCorpus.DEFAULT_DIRECTORY);
+        // configured like the ObjectMapper Spring Boot gives the RestTemplate
+        RestTemplate restTemplate = new RestTemplate(
+                List.of(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build())));
+        restTemplate.setRequestFactory((uri, method) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(json, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        });
+        service = new TransactionFeedItemServiceImpl(restTemplate);
+    }
+
+    @Benchmark
+    public long getFeedItemsAndCalculate() {
+        return service.calculateRoundUpAmount(service.getFeedItemsForDateRange(accountUid, categoryUid, from, to));
+    }
+
+    @Benchmark
+    public long calculateRoundUpAmountForDateRange() {
+        return service.calculateRoundUpAmountForDateRange(accountUid, categoryUid, from, to);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.starling.roundup.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.corpus.FeedCorpusGenerator;
+import com.example.starling.roundup.corpus.FeedCorpusSpec;
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.FeedItems;
+import com.example.starling.roundup.model.RoundUpAmounts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A transactions-between response from bytes to round-up amount, at feed sizes from a quiet week
+ * to a merchant account: Jackson deserialisation of {@link FeedItems}, the round-up sum and the
+ * per-currency totals over the deserialised items, and the streaming {@link FeedRoundUpExtractor}
+ * that skips building them.
+ * Feeds come from {@link FeedCorpusGenerator}; see {@code FeedCorpusBenchmark} for larger ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeedItemsBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    // configured like the ObjectMapper Spring Boot gives the RestTemplate
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TransactionFeedItemServiceImpl service = new TransactionFeedItemServiceImpl(null);
+    // the default roundup.filter rules, as the service applies them
+    private final FeedRoundUpExtractor extractor = new FeedRoundUpExtractor(
+            FeedItemFilter.compile(new RoundUpProperties().getFilter()));
+
+    private byte[] json;
+    private List<FeedItem> feedItems;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = FeedCorpusGenerator.toBytes(FeedCorpusSpec.of(size));
+        feedItems = objectMapper.readValue(json, FeedItems.class).feedItems();
+    }
+
+    @Benchmark
+    public FeedItems deserialize() throws IOException {
+        return objectMapper.readValue(json, FeedItems.class);
+    }
+
+    @Benchmark
+    public long calculateRoundUpAmount() {
+        return service.calculateRoundUpAmount(feedItems);
+    }
+
+    @Benchmark
+    public Map<String, Long> calculateRoundUpAmountsByCurrency() {
+        return service.calculateRoundUpAmountsByCurrency(feedItems);
+    }
+
+    @Benchmark
+    public long deserializeAndCalculate() throws IOException {
+        return service.calculateRoundUpAmount(objectMapper.readValue(json, FeedItems.class).feedItems());
+    }
+
+    @Benchmark
+    public RoundUpAmounts streamingExtractor() throws IOException {
+        return extractor.extractData(new MockClientHttpResponse(json, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.starling.roundup.util;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.service.TransactionFeedItemServiceImpl;
+
+/**
+ * Compares the per-currency round-up totals over {@link FeedItem} records, as computed by
+ * {@link TransactionFeedItemServiceImpl#calculateRoundUpAmountsByCurrency}, with the primitive
+ * kernels in {@link Utils} over the same GBP amounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RoundUpKernelBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private List<FeedItem> feedItems;
+    private long[] amounts;
+    private LongBuffer directAmounts;
+    private TransactionFeedItemServiceImpl service;
+    private TransactionFeedItemServiceImpl sequentialService;
+    private long roundingUnit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        UUID category = UUID.randomUUID();
+        feedItems = new ArrayList<>(size);
+        amounts = new long[size];
+        directAmounts = ByteBuffer.allocateDirect(size * Long.BYTES).asLongBuffer();
+        for (int i = 0; i < size; i++) {
+            long amount = random.nextLong(1, 50_000);
+            CurrencyAndAmount currencyAndAmount = new CurrencyAndAmount("GBP", amount);
+            feedItems.add(new FeedItem(UUID.randomUUID(), category, currencyAndAmount, currencyAndAmount,
+                    FeedItem.Direction.OUT, null, null, null, FeedItem.Source.MASTER_CARD, FeedItem.Status.SETTLED));
+            amounts[i] = amount;
+            directAmounts.put(i, amount);
+        }
+        // only the calculation is used, no HTTP calls are made
+        service = new TransactionFeedItemServiceImpl(null);
+        RoundUpProperties sequentialOnly = new RoundUpProperties();
+        sequentialOnly.getFeed().setParallelThreshold(Integer.MAX_VALUE);
+        sequentialService = new TransactionFeedItemServiceImpl(null, sequentialOnly);
+        roundingUnit = CurrencyRounding.unitOf("GBP");
+    }
+
+    // parallel above the default roundup.feed.parallel-threshold
+    @Benchmark
+    public Map<String, Long> streamOverRecords() {
+        return service.calculateRoundUpAmountsByCurrency(feedItems);
+    }
+
+    @Benchmark
+    public Map<String, Long> sequentialStreamOverRecords() {
+        return sequentialService.calculateRoundUpAmountsByCurrency(feedItems);
+    }
+
+    @Benchmark
+    public long primitiveArray() {
+        return Utils.sumRoundUps(amounts, roundingUnit);
+    }
+
+    @Benchmark
+    public long directBuffer() {
+        return Utils.sumRoundUps(directAmounts, roundingUnit);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.starling.roundup.util;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.FeedItem;
+
+/**
+ * The per-item and per-request helpers of {@link Utils} on the round-up path: the round-up of a
+ * feed item, and the feed URL with its two timestamps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+    private FeedItem feedItem;
+    private UUID accountUid;
+    private UUID categoryUid;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CurrencyAndAmount amount = new CurrencyAndAmount("GBP", 435L);
+        feedItem = new FeedItem(UUID.randomUUID(), UUID.randomUUID(), amount, amount, FeedItem.Direction.OUT, null, null, null,
+                FeedItem.Source.MASTER_CARD, FeedItem.Status.SETTLED);
+        accountUid = UUID.randomUUID();
+        categoryUid = UUID.randomUUID();
+        to = LocalDateTime.of(2026, 3, 2, 10, 15, 30, 123_000_000);
+        from = to.minusDays(7);
+    }
+
+    @Benchmark
+    public long calculateItemRoundUp() {
+        return Utils.calculateItemRoundUp(feedItem);
+    }
+
+    @Benchmark
+    public String dateToString() {
+        return Utils.dateToString(to);
+    }
+
+    @Benchmark
+    public String buildTransactionUrl() {
+        return Utils.buildTransactionUrl(accountUid, categoryUid, from, to);
+    }
+}
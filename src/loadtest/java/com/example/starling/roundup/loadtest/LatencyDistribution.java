@@ -0,0 +1,71 @@
+package com.example.starling.roundup.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Log-normal response time of a simulated downstream endpoint, described by its median and 99th
+ * percentile, which is how downstream latency is usually reported. Log-normal keeps the long
+ * right tail of real services: most calls are close to the median, a few are much slower.
+ */
+public record LatencyDistribution(Duration median, Duration p99) {
+
+    public static final LatencyDistribution NONE = new LatencyDistribution(Duration.ZERO, Duration.ZERO);
+
+    // 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263478740408408;
+
+    public LatencyDistribution {
+        if (median.isNegative() || p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("Latency needs 0 <= median <= p99, got " + median + "/" + p99);
+        }
+    }
+
+    /**
+     * Parses {@code <median>/<p99>}, e.g. {@code 20ms/200ms}, or a single fixed value such as
+     * {@code 50ms}. Values take a {@code ms} or {@code s} unit, {@code 0} means no delay.
+     */
+    public static LatencyDistribution parse(String value) {
+        String[] parts = value.split("/", -1);
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Latency must be <median>/<p99>: " + value);
+        }
+        Duration median = parseDuration(parts[0]);
+        return new LatencyDistribution(median, parts.length == 2 ? parseDuration(parts[1]) : median);
+    }
+
+    /**
+     * @return a random delay in nanoseconds
+     */
+    public long sampleNanos(RandomGenerator random) {
+        long medianNanos = median.toNanos();
+        if (medianNanos == 0) {
+            return 0;
+        }
+        double sigma = Math.log((double) p99.toNanos() / medianNanos) / Z_99;
+        return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    @Override
+    public String toString() {
+        return median.toMillis() + "ms/" + p99.toMillis() + "ms";
+    }
+
+    /**
+     * Parses a duration with a {@code ms} or {@code s} unit, e.g. {@code 200ms} or {@code 1.5s}.
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.equals("0")) {
+            return Duration.ZERO;
+        }
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(trimmed.substring(0, trimmed.length() - 1)) * 1000));
+        }
+        throw new IllegalArgumentException("Duration needs a ms or s unit: " + value);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.starling.roundup.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests are started at Poisson-distributed times at a fixed mean
+ * rate, whether or not earlier requests have completed, the way independent users arrive at a
+ * real service. A closed model (a fixed number of users each waiting for its last response)
+ * slows down with the service under test and hides exactly the queueing a slow downstream causes.
+ * <p>
+ * Two latencies are recorded per request, in microseconds:
+ * <ul>
+ *     <li>response time, from the moment the request was due to start, which includes any delay
+ *     in sending it and so does not suffer from coordinated omission;</li>
+ *     <li>service time, from the moment it was actually sent.</li>
+ * </ul>
+ * Both are written as an HdrHistogram interval log ({@code .hlog}, one interval per second) and a
+ * percentile distribution ({@code .hgrm}, in milliseconds) of the measured phase, which can be
+ * plotted with the HdrHistogram tools.
+ */
+public final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+
+    private final Recorder responseTimes = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceTimes = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+
+    /**
+     * @param target URI of the round-up endpoint, called with an empty POST
+     * @param ratePerSecond mean number of requests started per second
+     * @param warmup time run before measuring, to let JIT compilation, caches and pools settle
+     * @param duration time measured after the warm-up
+     * @param timeout time after which a request counts as failed
+     * @param executor runs the response handling of the HTTP client
+     */
+    public LoadGenerator(URI target, double ratePerSecond, Duration warmup, Duration duration, Duration timeout,
+            ExecutorService executor) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.request = HttpRequest.newBuilder(target)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .build();
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Runs the warm-up and the measured phase, then waits for the requests still in flight.
+     *
+     * @param output directory the histograms are written to
+     * @param console where the progress and the summary are printed
+     * @return the response times of the measured phase
+     */
+    public Histogram run(Path output, PrintStream console) throws IOException, InterruptedException {
+        Files.createDirectories(output);
+        Histogram responseTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram serviceTotal = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+        try (PrintStream responseLog = new PrintStream(output.resolve("response-time.hlog").toFile());
+                PrintStream serviceLog = new PrintStream(output.resolve("service-time.hlog").toFile())) {
+            HistogramLogWriter responseWriter = logWriter(responseLog);
+            HistogramLogWriter serviceWriter = logWriter(serviceLog);
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+            long nextReport = start + REPORT_INTERVAL_NANOS;
+            double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            double intended = start;
+
+            console.printf("%8s %10s %10s %10s %10s %10s%n", "time", "done/s", "in-flight", "p50 ms", "p99 ms", "max ms");
+            while (intended < end) {
+                long due = (long) intended;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= nextReport) {
+                        report(responseWriter, serviceWriter, responseTotal, serviceTotal, start, measureFrom, nextReport,
+                                console);
+                        nextReport += REPORT_INTERVAL_NANOS;
+                        continue;
+                    }
+                    if (now >= due) {
+                        break;
+                    }
+                    LockSupport.parkNanos(Math.min(due, nextReport) - now);
+                }
+                send(due, due >= measureFrom);
+                // exponential gaps make the arrivals a Poisson process
+                intended += -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+            }
+
+            long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+            while (inFlight.sum() > 0 && System.nanoTime() < drainDeadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            report(responseWriter, serviceWriter, responseTotal, serviceTotal, start, measureFrom, System.nanoTime(), console);
+        }
+
+        writeDistribution(responseTotal, output.resolve("response-time.hgrm"));
+        writeDistribution(serviceTotal, output.resolve("service-time.hgrm"));
+        printSummary(responseTotal, serviceTotal, console);
+        return responseTotal;
+    }
+
+    private void send(long intendedStart, boolean measured) {
+        inFlight.increment();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long completed = System.nanoTime();
+                    inFlight.decrement();
+                    if (!measured) {
+                        return;
+                    }
+                    responseTimes.recordValue(toMicros(completed - intendedStart));
+                    serviceTimes.recordValue(toMicros(completed - sent));
+                    outcomes.computeIfAbsent(outcome(response, failure), key -> new LongAdder()).increment();
+                });
+    }
+
+    private void report(HistogramLogWriter responseWriter, HistogramLogWriter serviceWriter, Histogram responseTotal,
+            Histogram serviceTotal, long start, long measureFrom, long now, PrintStream console) {
+        Histogram responses = responseTimes.getIntervalHistogram();
+        Histogram services = serviceTimes.getIntervalHistogram();
+        if (now <= measureFrom) {
+            console.printf("%7ds %10s %10d %10s %10s %10s%n", TimeUnit.NANOSECONDS.toSeconds(now - start), "warm-up",
+                    inFlight.sum(), "-", "-", "-");
+            return;
+        }
+        responseWriter.outputIntervalHistogram(responses);
+        serviceWriter.outputIntervalHistogram(services);
+        responseTotal.add(responses);
+        serviceTotal.add(services);
+        console.printf("%7ds %10d %10d %10.1f %10.1f %10.1f%n", TimeUnit.NANOSECONDS.toSeconds(now - start),
+                responses.getTotalCount(), inFlight.sum(), millis(responses.getValueAtPercentile(50)),
+                millis(responses.getValueAtPercentile(99)), millis(responses.getMaxValue()));
+    }
+
+    private void printSummary(Histogram responseTotal, Histogram serviceTotal, PrintStream console) {
+        console.println();
+        console.printf("Requests: %d in %ds (%.1f/s requested)%n", responseTotal.getTotalCount(), duration.toSeconds(),
+                ratePerSecond);
+        console.println("Outcomes: " + new TreeMap<>(outcomes));
+        console.printf("%-14s %10s %10s %10s %10s %10s %10s%n", "", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "p99.99 ms",
+                "max ms");
+        printPercentiles("response time", responseTotal, console);
+        printPercentiles("service time", serviceTotal, console);
+    }
+
+    private static void printPercentiles(String name, Histogram histogram, PrintStream console) {
+        console.printf("%-14s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", name,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getValueAtPercentile(99.99)), millis(histogram.getMaxValue()));
+    }
+
+    private static String outcome(HttpResponse<?> response, Throwable failure) {
+        if (failure == null) {
+            return Integer.toString(response.statusCode());
+        }
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? "timeout" : "io-error";
+    }
+
+    private static HistogramLogWriter logWriter(PrintStream log) {
+        HistogramLogWriter writer = new HistogramLogWriter(log);
+        long now = System.currentTimeMillis();
+        writer.outputStartTime(now);
+        writer.setBaseTime(now);
+        writer.outputLegend();
+        return writer;
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
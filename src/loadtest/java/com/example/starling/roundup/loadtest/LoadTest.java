@@ -0,0 +1,173 @@
+package com.example.starling.roundup.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.starling.roundup.StarlingRoundUpApplication;
+import com.example.starling.roundup.config.StarlingEndpoint;
+import com.example.starling.roundup.corpus.FeedCorpus;
+import com.example.starling.roundup.corpus.FeedCorpusSpec;
+
+/**
+ * Load test of the round-up endpoint against an in-process {@link StarlingStandIn}, driven by an
+ * open-model {@link LoadGenerator}.
+ * <p>
+ * Starts the stand-in, then the application on a free port with {@code starling.api.url} pointing
+ * at it, and reports the latency of {@code POST /api/v2/feed/roundup} at a given arrival rate.
+ * The application runs with {@code src/main/resources/application.yml}, so environment variables
+ * such as {@code ROUNDUP_EXECUTION_MODE} apply as they do in production. Run from the project
+ * directory with the {@code loadtest} profile:
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=200 --latency.feed=200ms/2s --errors.balance=0.02"
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>{@code --rate=50}: mean round-ups started per second;</li>
+ *     <li>{@code --warmup=10s}, {@code --duration=30s}: unmeasured and measured run time;</li>
+ *     <li>{@code --timeout=30s}: time after which a round-up counts as failed;</li>
+ *     <li>{@code --feed-items=100}: items in every transaction feed served, generated with the
+ *     mix of {@link FeedCorpusSpec#of(int)} unless changed with {@code --feed-currencies=GBP:0.9,EUR:0.1},
+ *     {@code --feed-out-ratio=0.85} and {@code --feed-statuses=SETTLED:0.95,PENDING:0.05};</li>
+ *     <li>{@code --feed-corpus=<file>}: a compressed feed file to serve instead, e.g. one of
+ *     {@code target/feed-corpus};</li>
+ *     <li>{@code --latency=<median>/<p99>}: response time of every Starling endpoint, e.g.
+ *     {@code 20ms/200ms}, and {@code --latency.<endpoint>} for one endpoint;</li>
+ *     <li>{@code --errors=<rate>}: fraction of the calls of every endpoint answered with a 503,
+ *     and {@code --errors.<endpoint>} for one endpoint;</li>
+ *     <li>{@code --app.<property>=<value>}: a property of the application, e.g.
+ *     {@code --app.roundup.execution.mode=parallel};</li>
+ *     <li>{@code --output=target/loadtest}: directory of the histograms.</li>
+ * </ul>
+ * Endpoints are named as in {@link StarlingEndpoint#id()}: {@code accounts}, {@code balance},
+ * {@code savings-goals}, {@code feed} and {@code add-money}.
+ * <p>
+ * All load is for the single account of the stand-in, so round-up coalescing, which would merge
+ * the concurrent round-ups of that account into one, is disabled unless set with {@code --app.}.
+ * The application only logs errors, as rejected or failed round-ups would otherwise log a line each.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> APP_DEFAULTS = Map.of(
+            "spring.config.location", "optional:file:src/main/resources/application.yml",
+            "spring.main.banner-mode", "off",
+            "logging.level.root", "ERROR",
+            "roundup.coalescing.round-ups", "false",
+            "roundup.coalescing.downstream-reads", "false");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        PrintStream console = System.out;
+
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        Duration warmup = LatencyDistribution.parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration duration = LatencyDistribution.parseDuration(options.getOrDefault("duration", "30s"));
+        Duration timeout = LatencyDistribution.parseDuration(options.getOrDefault("timeout", "30s"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+        Map<StarlingEndpoint, LatencyDistribution> latencies = perEndpoint(options, "latency", LatencyDistribution::parse);
+        Map<StarlingEndpoint, Double> errorRates = perEndpoint(options, "errors", Double::valueOf);
+
+        byte[] feed = options.containsKey("feed-corpus")
+                ? FeedCorpus.read(Path.of(options.get("feed-corpus")))
+                : FeedCorpus.load(feedSpec(options), FeedCorpus.DEFAULT_DIRECTORY);
+
+        try (StarlingStandIn standIn = new StarlingStandIn(feed, latencies, errorRates);
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ConfigurableApplicationContext app = startApplication(standIn.url(), options);
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                console.printf("Starling stand-in at %s, %d KB feed, latency %s, error rates %s%n",
+                        standIn.url(), feed.length / 1024, latencies, errorRates);
+                console.printf("Load: %.1f round-ups/s, %ds warm-up, %ds measured%n%n", rate, warmup.toSeconds(),
+                        duration.toSeconds());
+
+                URI target = URI.create("http://localhost:" + port + "/api/v2/feed/roundup");
+                new LoadGenerator(target, rate, warmup, duration, timeout, executor).run(output, console);
+
+                console.println();
+                console.printf("%-14s %10s %10s%n", "Starling", "requests", "errors");
+                for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+                    console.printf("%-14s %10d %10d%n", endpoint.id(), standIn.requests(endpoint), standIn.errors(endpoint));
+                }
+                console.println();
+                console.println("Histograms written to " + output.toAbsolutePath());
+            } finally {
+                SpringApplication.exit(app);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String starlingUrl, Map<String, String> options) {
+        Map<String, String> properties = new LinkedHashMap<>(APP_DEFAULTS);
+        properties.put("server.port", "0");
+        properties.put("starling.api.url", starlingUrl);
+        properties.put("starling.api.token", "load-test");
+        options.forEach((name, value) -> {
+            if (name.startsWith("app.")) {
+                properties.put(name.substring("app.".length()), value);
+            }
+        });
+        // as command line arguments, so that they take precedence over application.yml and .env files
+        List<String> appArgs = new ArrayList<>();
+        properties.forEach((name, value) -> appArgs.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(StarlingRoundUpApplication.class).run(appArgs.toArray(String[]::new));
+    }
+
+    private static FeedCorpusSpec feedSpec(Map<String, String> options) {
+        FeedCorpusSpec spec = FeedCorpusSpec.of(Integer.parseInt(options.getOrDefault("feed-items", "100")));
+        if (options.containsKey("feed-currencies")) {
+            spec = spec.withCurrencies(FeedCorpusSpec.parseWeights(options.get("feed-currencies")));
+        }
+        if (options.containsKey("feed-out-ratio")) {
+            spec = spec.withOutRatio(Double.parseDouble(options.get("feed-out-ratio")));
+        }
+        if (options.containsKey("feed-statuses")) {
+            spec = spec.withStatuses(FeedCorpusSpec.parseWeights(options.get("feed-statuses")));
+        }
+        return spec;
+    }
+
+    /**
+     * Reads {@code --<name>} as the value of every endpoint, then {@code --<name>.<endpoint>}.
+     */
+    private static <T> Map<StarlingEndpoint, T> perEndpoint(Map<String, String> options, String name,
+            Function<String, T> parser) {
+        Map<StarlingEndpoint, T> values = new EnumMap<>(StarlingEndpoint.class);
+        for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+            String value = options.getOrDefault(name + "." + endpoint.id(), options.get(name));
+            if (value != null) {
+                values.put(endpoint, parser.apply(value));
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Options must be --<name>=<value>: " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
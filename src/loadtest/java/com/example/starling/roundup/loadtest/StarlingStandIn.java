@@ -0,0 +1,155 @@
+package com.example.starling.roundup.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.starling.roundup.config.StarlingEndpoint;
+import com.example.starling.roundup.corpus.FeedCorpus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the Starling API, serving one account with a "Round Up Savings" goal and
+ * a given transaction feed, typically from the {@link FeedCorpus}.
+ * <p>
+ * Each {@link StarlingEndpoint} can be given its own {@link LatencyDistribution} and error rate, so
+ * that a slow or failing downstream can be reproduced locally. Failed calls answer
+ * {@code 503 Service Unavailable}. Response bodies are rendered once at start-up, so the stand-in
+ * itself adds next to no latency, and requests are served on virtual threads, so a slow endpoint
+ * never queues the others.
+ */
+public final class StarlingStandIn implements AutoCloseable {
+
+    private static final UUID ACCOUNT_UID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID CATEGORY_UID = UUID.fromString("123e4567-e89b-12d3-a456-426614174001");
+    private static final UUID SAVINGS_GOAL_UID = UUID.fromString("123e4567-e89b-12d3-a456-426614174003");
+
+    static {
+        // the JDK server writes headers and body separately, which with Nagle's algorithm and
+        // delayed ACKs stalls every response by about 40ms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Map<StarlingEndpoint, LatencyDistribution> latencies;
+    private final Map<StarlingEndpoint, Double> errorRates;
+    private final Map<StarlingEndpoint, LongAdder> requests = new EnumMap<>(StarlingEndpoint.class);
+    private final Map<StarlingEndpoint, LongAdder> errors = new EnumMap<>(StarlingEndpoint.class);
+    private final Map<StarlingEndpoint, byte[]> bodies = new EnumMap<>(StarlingEndpoint.class);
+    private final byte[] savingsGoal;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    /**
+     * Starts the stand-in on a free loopback port.
+     *
+     * @param feed body of every transaction feed response
+     * @param latencies response time of each endpoint, endpoints not present answer at once
+     * @param errorRates fraction of the calls of each endpoint that fail, between 0 and 1
+     */
+    public StarlingStandIn(byte[] feed, Map<StarlingEndpoint, LatencyDistribution> latencies,
+            Map<StarlingEndpoint, Double> errorRates) throws IOException {
+        this.latencies = new EnumMap<>(StarlingEndpoint.class);
+        this.errorRates = new EnumMap<>(StarlingEndpoint.class);
+        this.latencies.putAll(latencies);
+        this.errorRates.putAll(errorRates);
+        for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+            requests.put(endpoint, new LongAdder());
+            errors.put(endpoint, new LongAdder());
+        }
+        savingsGoal = utf8(savingsGoalJson());
+        bodies.put(StarlingEndpoint.ACCOUNTS, utf8("""
+                {"accounts":[{"accountUid":"%s","accountType":"PRIMARY","defaultCategory":"%s","currency":"GBP",\
+                "createdAt":"2024-01-01T00:00:00.000Z","name":"Load Test Account"}]}""".formatted(ACCOUNT_UID, CATEGORY_UID)));
+        bodies.put(StarlingEndpoint.BALANCE, utf8("""
+                {"effectiveBalance":%1$s,"clearedBalance":%1$s,"pendingTransactions":%2$s,"availableToSpend":%1$s,\
+                "acceptedOverdraft":%2$s,"amount":%1$s}""".formatted(amount(10_000_000_000L), amount(0))));
+        bodies.put(StarlingEndpoint.SAVINGS_GOALS, utf8("{\"savingsGoalList\":[" + savingsGoalJson() + "]}"));
+        bodies.put(StarlingEndpoint.ADD_MONEY, utf8("{\"success\":true,\"transferUid\":\"" + UUID.randomUUID() + "\"}"));
+        bodies.put(StarlingEndpoint.FEED, feed);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @return the base URL to use as {@code starling.api.url}
+     */
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long requests(StarlingEndpoint endpoint) {
+        return requests.get(endpoint).sum();
+    }
+
+    public long errors(StarlingEndpoint endpoint) {
+        return errors.get(endpoint).sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.transferTo(OutputStream.nullOutputStream());
+            StarlingEndpoint endpoint = StarlingEndpoint.of(exchange.getRequestURI());
+            if (endpoint == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            requests.get(endpoint).increment();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delayNanos = latencies.getOrDefault(endpoint, LatencyDistribution.NONE).sampleNanos(random);
+            if (delayNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            }
+            if (random.nextDouble() < errorRates.getOrDefault(endpoint, 0.0)) {
+                errors.get(endpoint).increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            // creating a goal answers the goal itself rather than the list
+            byte[] body = endpoint == StarlingEndpoint.SAVINGS_GOALS && "POST".equals(exchange.getRequestMethod())
+                    ? savingsGoal
+                    : bodies.get(endpoint);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String savingsGoalJson() {
+        return """
+                {"savingsGoalUid":"%s","name":"Round Up Savings","target":%s,"totalSaved":%s,\
+                "savedPercentage":0,"state":"ACTIVE"}""".formatted(SAVINGS_GOAL_UID, amount(100_000), amount(0));
+    }
+
+    private static String amount(long minorUnits) {
+        return "{\"currency\":\"GBP\",\"minorUnits\":" + minorUnits + "}";
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
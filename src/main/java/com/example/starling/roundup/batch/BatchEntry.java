@@ -0,0 +1,73 @@
+package com.example.starling.roundup.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One line of a batch input file: a Starling API token, and optionally which of its accounts to
+ * round up instead of the default one.
+ * <p>
+ * Tokens are never written to checkpoints, reports or logs; entries are identified there by
+ * {@link #key()}, built from a fingerprint of the token.
+ *
+ * @param line line number in the input file, from 1
+ * @param token the Starling API token
+ * @param accountUid the account to round up, null for the token's default account
+ */
+public record BatchEntry(int line, String token, UUID accountUid) {
+
+    public BatchEntry {
+        Objects.requireNonNull(token, "Token must not be null");
+    }
+
+    /**
+     * @return identifies the entry across runs of the same batch, without revealing the token
+     */
+    public String key() {
+        return fingerprint(token) + "/" + (accountUid != null ? accountUid : "default");
+    }
+
+    /**
+     * Parses a line of the form {@code token} or {@code token,accountUid}.
+     *
+     * @return the entry, or null for a blank or comment ({@code #}) line
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static BatchEntry parse(int line, String text) {
+        String trimmed = text.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] fields = trimmed.split(",", -1);
+        if (fields.length > 2 || fields[0].isBlank()) {
+            throw new IllegalArgumentException("Line " + line + ": expected token[,accountUid]");
+        }
+        UUID accountUid = null;
+        if (fields.length == 2 && !fields[1].isBlank()) {
+            try {
+                accountUid = UUID.fromString(fields[1].strip());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + line + ": invalid account UID", e);
+            }
+        }
+        return new BatchEntry(line, fields[0].strip(), accountUid);
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchEntry[line=" + line + ", key=" + key() + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.starling.roundup.batch;
+
+import java.util.UUID;
+
+import com.example.starling.roundup.model.RoundUpResult;
+
+/**
+ * Outcome of one batch entry, as appended to the batch checkpoint.
+ *
+ * @param key the {@link BatchEntry#key() entry key}
+ * @param line line number of the entry in the input file
+ * @param status whether the round-up succeeded
+ * @param accountUid the account rounded up, null if the round-up failed before resolving it
+ * @param outcome whether money was moved, null unless the round-up succeeded
+ * @param amount the round-up amount in minor units, 0 unless the round-up succeeded
+ * @param transferUid the transfer UID returned by Starling, null if nothing was transferred
+ * @param errorCode kind of failure, e.g. {@code InsufficientBalance}, null unless the round-up failed
+ * @param error message of the failure, null unless the round-up failed
+ * @param durationMillis how long the round-up took
+ */
+public record BatchEntryResult(
+        String key,
+        int line,
+        Status status,
+        UUID accountUid,
+        RoundUpResult.Outcome outcome,
+        long amount,
+        String transferUid,
+        String errorCode,
+        String error,
+        long durationMillis
+) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED
+    }
+
+    static BatchEntryResult succeeded(BatchEntry entry, RoundUpResult result, long durationMillis) {
+        return new BatchEntryResult(entry.key(), entry.line(), Status.SUCCEEDED, result.accountUid(), result.outcome(),
+                result.amount(), result.transferUid(), null, null, durationMillis);
+    }
+
+    static BatchEntryResult failed(BatchEntry entry, String errorCode, String error, long durationMillis) {
+        return new BatchEntryResult(entry.key(), entry.line(), Status.FAILED, entry.accountUid(), null, 0, null,
+                errorCode, error, durationMillis);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.starling.roundup.batch;
+
+/**
+ * Decides when the entries of a batch are dispatched, e.g. to spread them out or cap their rate.
+ * Called by the partition worker right before each entry is rounded up.
+ */
+@FunctionalInterface
+public interface BatchPacer {
+
+    /**
+     * Dispatches every entry at once.
+     */
+    BatchPacer NONE = entry -> { };
+
+    /**
+     * Blocks until {@code entry} may be dispatched.
+     *
+     * @throws InterruptedException if interrupted while waiting; the rest of the partition is
+     *         then left for a resumed run of the batch
+     */
+    void awaitTurn(BatchEntry entry) throws InterruptedException;
+}
@@ -0,0 +1,51 @@
+package com.example.starling.roundup.batch;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Summary of a batch round-up, reported while it runs and written next to its input once it
+ * has finished.
+ *
+ * @param batchId id of the batch, also the name of its checkpoint and report files
+ * @param input name of the input file
+ * @param status whether the batch is still running, ran every entry or stopped early
+ * @param entries distinct entries in the input
+ * @param resumed entries that had already succeeded in an earlier run of the batch and were skipped
+ * @param processed entries run so far, including resumed ones
+ * @param succeeded entries whose round-up succeeded, including resumed ones
+ * @param transferred succeeded entries that moved money
+ * @param failed entries whose round-up failed
+ * @param totalAmount sum of the amounts transferred, in minor units of each account's currency
+ * @param failuresByCode number of failed entries per error code
+ * @param startedAt when this run of the batch started
+ * @param finishedAt when it finished, null while running
+ * @param entriesPerSecond entries run per second of this run, excluding resumed ones
+ */
+public record BatchReport(
+        String batchId,
+        String input,
+        Status status,
+        int entries,
+        int resumed,
+        int processed,
+        int succeeded,
+        int transferred,
+        int failed,
+        long totalAmount,
+        Map<String, Integer> failuresByCode,
+        Instant startedAt,
+        Instant finishedAt,
+        double entriesPerSecond
+) {
+
+    public enum Status {
+        RUNNING,
+        // every entry ran
+        COMPLETED,
+        // stopped early on an error, e.g. the checkpoint could not be written
+        ABORTED,
+        // stopped early because the batch was interrupted, e.g. on shutdown
+        INTERRUPTED
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.starling.roundup.batch;
+
+import java.util.Optional;
+
+/**
+ * Runs round-ups for every token and account listed in a batch input file, with bounded
+ * parallelism, a checkpoint to resume from and a summary report.
+ */
+public interface RoundUpBatchService {
+
+    /**
+     * Starts a batch in the background, or resumes it if a checkpoint of {@code batchId} exists.
+     *
+     * @param input name of the input file in {@code roundup.batch.directory}
+     * @param batchId id of the batch, or null to derive one from the input name and the time
+     * @return the report of the batch as started, or of the run already in progress under this id
+     * @throws com.example.starling.roundup.exception.InvalidBatchRequestException if the input is
+     *         missing or malformed, or the id is invalid
+     */
+    BatchReport start(String input, String batchId);
+
+    /**
+     * Runs (or resumes) a batch to completion on the calling thread.
+     *
+     * @return the final report, {@link BatchReport.Status#ABORTED ABORTED} or
+     *         {@link BatchReport.Status#INTERRUPTED INTERRUPTED} if the batch stopped before every entry ran
+     * @throws com.example.starling.roundup.exception.InvalidBatchRequestException as for
+     *         {@link #start(String, String)}, or if the batch is already running
+     */
+    BatchReport run(String input, String batchId);
+
+    /**
+     * As {@link #run(String, String)}, waiting on {@code pacer} before each entry is dispatched.
+     */
+    BatchReport run(String input, String batchId, BatchPacer pacer);
+
+    /**
+     * @return the report of a running or finished batch, or empty if the batch is unknown
+     */
+    Optional<BatchReport> find(String batchId);
+}
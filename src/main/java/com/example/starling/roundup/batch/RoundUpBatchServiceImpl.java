@@ -0,0 +1,425 @@
+package com.example.starling.roundup.batch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InvalidBatchRequestException;
+import com.example.starling.roundup.model.RoundUpResult;
+import com.example.starling.roundup.service.RoundUpService;
+import com.example.starling.roundup.util.StarlingTokenContext;
+import com.example.starling.roundup.util.Utils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * RoundUpBatchService reading input files from {@code roundup.batch.directory}.
+ * <p>
+ * Entries are grouped by token, and the token groups are spread over up to
+ * {@code roundup.batch.parallelism} partitions of roughly equal size. Each partition runs its
+ * entries one after another on a {@code roundUpBatchExecutor} worker, so all accounts of a token
+ * are rounded up in sequence while different tokens proceed in parallel. Every account pipeline
+ * goes through {@link RoundUpService} with the entry's token set in the
+ * {@link StarlingTokenContext}.
+ * <p>
+ * The outcome of each entry is appended to {@code <batchId>.checkpoint.jsonl} as soon as it is
+ * known. Running the batch again under the same id skips the entries that succeeded and retries
+ * the rest; transfers repeated after a crash reuse their transfer UIDs, so money is not moved
+ * twice. Once all entries have run, the summary is written to {@code <batchId>.report.json}. A
+ * batch stopped early by an error or an interrupt is reported as
+ * {@link BatchReport.Status#ABORTED ABORTED} or {@link BatchReport.Status#INTERRUPTED INTERRUPTED},
+ * after its partitions still running have been cancelled.
+ */
+@Service
+public class RoundUpBatchServiceImpl implements RoundUpBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundUpBatchServiceImpl.class);
+
+    private static final Pattern BATCH_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final DateTimeFormatter ID_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    private final RoundUpService roundUpService;
+    private final ExecutorService batchExecutor;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int parallelism;
+    private final ConcurrentMap<String, BatchRun> runs = new ConcurrentHashMap<>();
+
+    public RoundUpBatchServiceImpl(
+            RoundUpService roundUpService,
+            RoundUpProperties roundUpProperties,
+            @Qualifier("roundUpBatchExecutor") ExecutorService batchExecutor,
+            ObjectMapper objectMapper) {
+        this.roundUpService = roundUpService;
+        this.batchExecutor = batchExecutor;
+        this.objectMapper = objectMapper;
+        this.directory = roundUpProperties.getBatch().getDirectory().normalize();
+        this.parallelism = roundUpProperties.getBatch().getParallelism();
+    }
+
+    @Override
+    public BatchReport start(String input, String batchId) {
+        BatchRun run = prepare(input, batchId);
+        BatchRun current = runs.compute(run.batchId, (id, previous) -> previous != null && previous.isRunning() ? previous : run);
+        if (current != run) {
+            log.info("Batch {} is already running", run.batchId);
+            return current.report();
+        }
+        Thread.ofVirtual().name("roundup-batch-" + run.batchId).start(() -> execute(run, BatchPacer.NONE));
+        return run.report();
+    }
+
+    @Override
+    public BatchReport run(String input, String batchId) {
+        return run(input, batchId, BatchPacer.NONE);
+    }
+
+    @Override
+    public BatchReport run(String input, String batchId, BatchPacer pacer) {
+        BatchRun run = prepare(input, batchId);
+        BatchRun current = runs.compute(run.batchId, (id, previous) -> previous != null && previous.isRunning() ? previous : run);
+        if (current != run) {
+            throw new InvalidBatchRequestException("Batch " + run.batchId + " is already running");
+        }
+        execute(run, pacer);
+        return run.report();
+    }
+
+    @Override
+    public Optional<BatchReport> find(String batchId) {
+        BatchRun run = runs.get(batchId);
+        if (run != null) {
+            return Optional.of(run.report());
+        }
+        if (!BATCH_ID.matcher(batchId).matches()) {
+            return Optional.empty();
+        }
+        Path report = directory.resolve(batchId + ".report.json");
+        if (!Files.exists(report)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(report.toFile(), BatchReport.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read batch report " + report, e);
+        }
+    }
+
+    private BatchRun prepare(String input, String batchId) {
+        if (input == null || input.isBlank()) {
+            throw new InvalidBatchRequestException("Batch input must not be blank");
+        }
+        Path inputFile = directory.resolve(input).normalize();
+        // only plain file names, nothing outside the batch directory
+        if (!directory.equals(inputFile.getParent())) {
+            throw new InvalidBatchRequestException("Batch input must be a file name in the batch directory");
+        }
+        String id = batchId != null ? batchId : baseName(input) + "-" + ID_TIMESTAMP.format(Instant.now());
+        if (!BATCH_ID.matcher(id).matches()) {
+            throw new InvalidBatchRequestException("Batch id must be 1-64 letters, digits, '.', '_' or '-'");
+        }
+        List<BatchEntry> entries = readEntries(inputFile);
+        Map<String, BatchEntryResult> succeeded = readCheckpoint(checkpointOf(id));
+        return new BatchRun(id, input, entries, succeeded);
+    }
+
+    private List<BatchEntry> readEntries(Path inputFile) {
+        Map<String, BatchEntry> entries = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8)) {
+            String text;
+            int line = 0;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                BatchEntry entry = BatchEntry.parse(line, text);
+                if (entry != null) {
+                    entries.putIfAbsent(entry.key(), entry);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new InvalidBatchRequestException("Batch input not found: " + inputFile.getFileName());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBatchRequestException("Malformed batch input: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read batch input " + inputFile, e);
+        }
+        return List.copyOf(entries.values());
+    }
+
+    private Map<String, BatchEntryResult> readCheckpoint(Path checkpoint) {
+        Map<String, BatchEntryResult> succeeded = new LinkedHashMap<>();
+        if (!Files.exists(checkpoint)) {
+            return succeeded;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                BatchEntryResult result;
+                try {
+                    result = objectMapper.readValue(text, BatchEntryResult.class);
+                } catch (JsonProcessingException e) {
+                    // the last line of a checkpoint cut short by a crash
+                    log.warn("Skipping unreadable line in batch checkpoint {}", checkpoint);
+                    continue;
+                }
+                if (result.status() == BatchEntryResult.Status.SUCCEEDED) {
+                    succeeded.put(result.key(), result);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read batch checkpoint " + checkpoint, e);
+        }
+        return succeeded;
+    }
+
+    private void execute(BatchRun run, BatchPacer pacer) {
+        log.info("Starting batch {}: {} entries, {} already done", run.batchId, run.entryCount, run.resumed);
+        BatchReport.Status status = BatchReport.Status.COMPLETED;
+        try (BufferedWriter checkpoint = openCheckpoint(run.batchId)) {
+            List<Future<?>> partitions = new ArrayList<>();
+            for (List<BatchEntry> partition : partition(run.pending, parallelism)) {
+                partitions.add(batchExecutor.submit(() -> runPartition(run, partition, pacer, checkpoint)));
+            }
+            try {
+                for (Future<?> partition : partitions) {
+                    partition.get();
+                }
+            } finally {
+                // stops the other partitions once one has failed, before the checkpoint is closed
+                partitions.forEach(partition -> partition.cancel(true));
+            }
+            if (run.interrupted) {
+                status = BatchReport.Status.INTERRUPTED;
+                log.warn("Batch {} interrupted, resume it to process the remaining entries", run.batchId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = BatchReport.Status.INTERRUPTED;
+            log.warn("Batch {} interrupted, resume it to process the remaining entries", run.batchId);
+        } catch (ExecutionException | IOException | RuntimeException e) {
+            status = BatchReport.Status.ABORTED;
+            log.error("Batch {} aborted, resume it to process the remaining entries", run.batchId, e);
+        } finally {
+            // written before it is published, so that a finished batch always has its report file
+            BatchReport report = run.report(status, Instant.now());
+            writeReport(report);
+            run.complete(report);
+        }
+        BatchReport report = run.report();
+        log.info("Finished batch {} ({}): {} succeeded ({} transferred, {} in total), {} failed in {}", report.batchId(),
+                report.status(), report.succeeded(), report.transferred(), report.totalAmount(), report.failed(),
+                Duration.between(report.startedAt(), report.finishedAt()));
+    }
+
+    private void runPartition(BatchRun run, List<BatchEntry> partition, BatchPacer pacer, BufferedWriter checkpoint) {
+        for (BatchEntry entry : partition) {
+            try {
+                pacer.awaitTurn(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.interrupted = true;
+                return;
+            }
+            process(run, entry, checkpoint);
+        }
+    }
+
+    private void process(BatchRun run, BatchEntry entry, BufferedWriter checkpoint) {
+        long start = System.nanoTime();
+        BatchEntryResult result;
+        try {
+            RoundUpResult roundUp = StarlingTokenContext.callWith(entry.token(), () -> entry.accountUid() == null
+                    ? roundUpService.roundUpTransactions()
+                    : roundUpService.roundUpTransactions(entry.accountUid()));
+            result = BatchEntryResult.succeeded(entry, roundUp, elapsedMillis(start));
+        } catch (RuntimeException e) {
+            log.warn("Batch {} {} failed: {}", run.batchId, entry, e.getMessage());
+            result = BatchEntryResult.failed(entry, Utils.errorCode(e), e.getMessage(), elapsedMillis(start));
+        }
+        appendCheckpoint(checkpoint, result);
+        run.record(result);
+    }
+
+    /**
+     * Spreads the entries over up to {@code parallelism} partitions, keeping the entries of a
+     * token together and in input order. Larger token groups are placed first, each on the
+     * partition with the fewest entries so far.
+     */
+    static List<List<BatchEntry>> partition(List<BatchEntry> entries, int parallelism) {
+        Map<String, List<BatchEntry>> byToken = new LinkedHashMap<>();
+        entries.forEach(entry -> byToken.computeIfAbsent(entry.token(), token -> new ArrayList<>()).add(entry));
+        int count = Math.min(parallelism, byToken.size());
+        PriorityQueue<List<BatchEntry>> smallestFirst = new PriorityQueue<>(Math.max(1, count), Comparator.comparingInt(List::size));
+        for (int i = 0; i < count; i++) {
+            smallestFirst.add(new ArrayList<>());
+        }
+        byToken.values().stream()
+                .sorted(Comparator.comparingInt((List<BatchEntry> group) -> group.size()).reversed())
+                .forEach(group -> {
+                    List<BatchEntry> partition = smallestFirst.poll();
+                    partition.addAll(group);
+                    smallestFirst.add(partition);
+                });
+        return List.copyOf(smallestFirst);
+    }
+
+    private BufferedWriter openCheckpoint(String batchId) throws IOException {
+        Files.createDirectories(directory);
+        return Files.newBufferedWriter(checkpointOf(batchId), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void appendCheckpoint(BufferedWriter checkpoint, BatchEntryResult result) {
+        try {
+            String line = objectMapper.writeValueAsString(result);
+            synchronized (checkpoint) {
+                checkpoint.write(line);
+                checkpoint.newLine();
+                checkpoint.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to batch checkpoint", e);
+        }
+    }
+
+    private void writeReport(BatchReport report) {
+        Path target = directory.resolve(report.batchId() + ".report.json");
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, report.batchId() + "-", ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), report);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write batch report {}", target, e);
+        }
+    }
+
+    private Path checkpointOf(String batchId) {
+        return directory.resolve(batchId + ".checkpoint.jsonl");
+    }
+
+    private static String baseName(String input) {
+        String name = Path.of(input).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Progress of one run of a batch.
+     */
+    private static final class BatchRun {
+
+        private final String batchId;
+        private final String input;
+        private final int entryCount;
+        private final int resumed;
+        private final List<BatchEntry> pending;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final LongAdder totalAmount = new LongAdder();
+        private final ConcurrentMap<String, AtomicInteger> failuresByCode = new ConcurrentHashMap<>();
+        private volatile BatchReport completed;
+        // set by a partition that stopped before running all its entries
+        private volatile boolean interrupted;
+
+        private BatchRun(String batchId, String input, List<BatchEntry> entries, Map<String, BatchEntryResult> done) {
+            this.batchId = batchId;
+            this.input = input;
+            this.entryCount = entries.size();
+            this.pending = entries.stream().filter(entry -> !done.containsKey(entry.key())).toList();
+            this.resumed = entryCount - pending.size();
+            entries.stream()
+                    .map(entry -> done.get(entry.key()))
+                    .filter(Objects::nonNull)
+                    .forEach(this::record);
+        }
+
+        void record(BatchEntryResult result) {
+            if (result.status() == BatchEntryResult.Status.SUCCEEDED) {
+                succeeded.incrementAndGet();
+                if (result.outcome() == RoundUpResult.Outcome.TRANSFERRED) {
+                    transferred.incrementAndGet();
+                    totalAmount.add(result.amount());
+                }
+            } else {
+                failed.incrementAndGet();
+                failuresByCode.computeIfAbsent(result.errorCode(), code -> new AtomicInteger()).incrementAndGet();
+            }
+            processed.incrementAndGet();
+        }
+
+        boolean isRunning() {
+            return completed == null;
+        }
+
+        void complete(BatchReport report) {
+            completed = report;
+        }
+
+        BatchReport report() {
+            BatchReport report = completed;
+            return report != null ? report : report(BatchReport.Status.RUNNING, null);
+        }
+
+        BatchReport report(BatchReport.Status status, Instant finishedAt) {
+            Map<String, Integer> failures = new TreeMap<>();
+            failuresByCode.forEach((code, count) -> failures.put(code, count.get()));
+            double seconds = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis() / 1000.0;
+            int ranThisTime = processed.get() - resumed;
+            return new BatchReport(batchId, input, status,
+                    entryCount, resumed, processed.get(), succeeded.get(), transferred.get(), failed.get(),
+                    totalAmount.sum(), failures, startedAt, finishedAt,
+                    seconds > 0 ? ranThisTime / seconds : 0);
+        }
+    }
+}
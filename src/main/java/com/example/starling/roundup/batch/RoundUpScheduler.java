@@ -0,0 +1,190 @@
+package com.example.starling.roundup.batch;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.util.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Rounds up the registered accounts on the {@code roundup.schedule.cron} cadence, as a batch over
+ * the {@code roundup.schedule.input} file.
+ * <p>
+ * Each round-up of the batch is dispatched once a permit of a token bucket shared by all
+ * partitions is available, plus a random delay of up to {@code roundup.schedule.jitter}, so the
+ * calls to Starling are spread out instead of arriving in a burst on the hour. A run holds an
+ * exclusive lock on {@code roundup.schedule.lock-file} while in progress; an instance that cannot
+ * get it skips its run, so instances sharing the file do not round up the same accounts twice.
+ * <p>
+ * The batch id is derived from the fire time, so a run interrupted by a restart resumes from its
+ * checkpoint when started again for the same fire time.
+ */
+@Component
+public class RoundUpScheduler implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundUpScheduler.class);
+
+    private static final DateTimeFormatter BATCH_ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmm");
+
+    /**
+     * How a scheduled run ended.
+     */
+    public enum Outcome {
+        COMPLETED,
+        // the batch stopped before every entry ran, e.g. on shutdown
+        INTERRUPTED,
+        // another instance held the lock
+        SKIPPED,
+        // the batch failed to start or aborted
+        FAILED
+    }
+
+    private final RoundUpBatchService roundUpBatchService;
+    private final RoundUpProperties.Schedule schedule;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Map<Outcome, AtomicLong> runs = new EnumMap<>(Outcome.class);
+    private volatile ScheduledRun current;
+
+    public RoundUpScheduler(RoundUpBatchService roundUpBatchService, RoundUpProperties roundUpProperties) {
+        this.roundUpBatchService = roundUpBatchService;
+        this.schedule = roundUpProperties.getSchedule();
+        this.rateLimiter = new TokenBucketRateLimiter(schedule.getPermitsPerSecond(), schedule.getBurst());
+        for (Outcome outcome : Outcome.values()) {
+            runs.put(outcome, new AtomicLong());
+        }
+    }
+
+    /**
+     * Runs the round-ups due at {@code fireTime}, unless another instance is already running.
+     *
+     * @return the report of the batch, or empty if the run was skipped or failed to start
+     */
+    public Optional<BatchReport> run(Instant fireTime) {
+        String batchId = "scheduled-" + BATCH_ID_TIME.format(fireTime.atZone(schedule.getZone()));
+        Path lockFile = schedule.getLockFile();
+        try {
+            if (lockFile.getParent() != null) {
+                Files.createDirectories(lockFile.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = tryLock(channel)) {
+                if (lock == null) {
+                    log.info("Skipping scheduled round-up {}: {} is held by another run", batchId, lockFile);
+                    runs.get(Outcome.SKIPPED).incrementAndGet();
+                    return Optional.empty();
+                }
+                log.info("Starting scheduled round-up {}, {} after its fire time", batchId,
+                        Duration.between(fireTime, Instant.now()));
+                current = new ScheduledRun(batchId, fireTime);
+                try {
+                    BatchReport report = roundUpBatchService.run(schedule.getInput(), batchId, this::awaitTurn);
+                    runs.get(outcomeOf(report)).incrementAndGet();
+                    return Optional.of(report);
+                } finally {
+                    current = null;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Scheduled round-up {} failed", batchId, e);
+            runs.get(Outcome.FAILED).incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private static Outcome outcomeOf(BatchReport report) {
+        return switch (report.status()) {
+            case COMPLETED -> Outcome.COMPLETED;
+            case INTERRUPTED -> Outcome.INTERRUPTED;
+            case ABORTED, RUNNING -> Outcome.FAILED;
+        };
+    }
+
+        private void awaitTurn(BatchEntry entry) throws InterruptedException {
+        rateLimiter.acquire();
+        long jitterNanos = schedule.getJitter().toNanos();
+        if (jitterNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(jitterNanos + 1));
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // held by a run of this instance
+            return null;
+        }
+    }
+
+    /**
+     * @return how far the run in progress is behind its fire time, zero when idle
+     */
+    Duration getLag() {
+        ScheduledRun run = current;
+        return run != null ? Duration.between(run.fireTime(), Instant.now()) : Duration.ZERO;
+    }
+
+    /**
+     * @return round-ups of the run in progress not finished yet, including those in flight, zero
+     *         when idle
+     */
+    int getBacklog() {
+        ScheduledRun run = current;
+        if (run == null) {
+            return 0;
+        }
+        return roundUpBatchService.find(run.batchId())
+                .map(report -> report.entries() - report.processed())
+                .orElse(0);
+    }
+
+    long getRuns(Outcome outcome) {
+        return runs.get(outcome).get();
+    }
+
+    /**
+     * Exposes the lag and backlog of the run in progress and the runs by outcome as
+     * {@code roundup.schedule.*} metrics.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("roundup.schedule.lag", this, scheduler -> scheduler.getLag().toMillis() / 1000.0)
+                .description("Seconds the scheduled round-up in progress is behind its fire time")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("roundup.schedule.backlog", this, RoundUpScheduler::getBacklog)
+                .description("Round-ups of the scheduled run in progress not finished yet")
+                .register(registry);
+        runs.forEach((outcome, count) -> FunctionCounter.builder("roundup.schedule.runs", count, AtomicLong::get)
+                .description("Scheduled round-up runs")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(registry));
+    }
+
+    private record ScheduledRun(String batchId, Instant fireTime) {
+    }
+}
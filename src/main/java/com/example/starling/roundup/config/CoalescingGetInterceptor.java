@@ -0,0 +1,116 @@
+package com.example.starling.roundup.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import com.example.starling.roundup.util.SingleFlight;
+
+/**
+ * Shares identical in-flight GET requests to the Starling API between concurrent callers.
+ * <p>
+ * Requests are identical when they have the same URI and Authorization header, so responses
+ * are never shared between tokens. The first request is sent; requests arriving while it is in
+ * flight wait for it and each get their own copy of the buffered response. Other methods are
+ * passed through untouched.
+ * <p>
+ * Sharing needs the whole body in memory, which defeats callers that parse the response as it
+ * arrives. Such a caller sets {@link #STREAMING_HEADER} on its request: the request is sent on its
+ * own, without the marker, and the response is returned unread.
+ */
+public class CoalescingGetInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Request header marking a GET whose response is streamed, so it must not be buffered.
+     * Removed before the request is sent.
+     */
+    public static final String STREAMING_HEADER = "X-Roundup-Streaming";
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingGetInterceptor.class);
+
+    private final SingleFlight<String, BufferedResponse> flights = new SingleFlight<>();
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+            @NonNull ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        if (request.getHeaders().containsKey(STREAMING_HEADER)) {
+            request.getHeaders().remove(STREAMING_HEADER);
+            return execution.execute(request, body);
+        }
+        String key = request.getURI() + " " + request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        try {
+            return flights.execute(key, () -> {
+                log.debug("Sending GET {}", request.getURI());
+                try (ClientHttpResponse response = execution.execute(request, body)) {
+                    return BufferedResponse.of(response);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).copy();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Response fully read into memory, so that every waiter can read the body.
+     */
+    private record BufferedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+
+        static BufferedResponse of(ClientHttpResponse response) throws IOException {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedResponse(response.getStatusCode(), response.getStatusText(),
+                    HttpHeaders.readOnlyHttpHeaders(headers), response.getBody().readAllBytes());
+        }
+
+        ClientHttpResponse copy() {
+            return new ClientHttpResponse() {
+                @Override
+                @NonNull
+                public HttpStatusCode getStatusCode() {
+                    return statusCode;
+                }
+
+                @Override
+                @NonNull
+                public String getStatusText() {
+                    return statusText;
+                }
+
+                @Override
+                @NonNull
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                @NonNull
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                    // nothing to release, the connection was returned when the body was buffered
+                }
+            };
+        }
+    }
+}
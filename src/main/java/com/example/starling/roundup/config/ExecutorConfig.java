@@ -0,0 +1,97 @@
+package com.example.starling.roundup.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.example.starling.roundup.util.StarlingTokenContext;
+
+/**
+ * Executors used internally by the round-up services.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final RoundUpProperties roundUpProperties;
+
+    public ExecutorConfig(RoundUpProperties roundUpProperties) {
+        this.roundUpProperties = roundUpProperties;
+    }
+
+    /**
+     * Executor for the concurrent downstream calls of a round-up. Uses a virtual thread per task
+     * when enabled, otherwise a bounded pool of platform threads. Tasks run with the
+     * {@link StarlingTokenContext} token of the round-up that submitted them.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService roundUpExecutor() {
+        return StarlingTokenContext.propagating(newExecutor("roundup-"));
+    }
+
+    /**
+     * Executor for the time-window fetches of a transaction feed. Kept apart from
+     * {@link #roundUpExecutor()} because the feed fetch itself may run there, and waiting on
+     * tasks queued behind it on the same bounded pool could starve it.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService feedWindowExecutor() {
+        return StarlingTokenContext.propagating(newExecutor("feed-window-"));
+    }
+
+    /**
+     * Workers of the round-up job API. The queue is bounded so that a burst of submissions is
+     * smoothed out up to {@code roundup.jobs.queue-capacity} and rejected beyond it.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService roundUpJobExecutor() {
+        RoundUpProperties.Jobs jobs = roundUpProperties.getJobs();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                jobs.getWorkers(),
+                jobs.getWorkers(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(jobs.getQueueCapacity()),
+                new CustomizableThreadFactory("roundup-job-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Workers of batch round-ups, one per partition of a batch. Sized by
+     * {@code roundup.batch.parallelism}; partitions of batches started while one is running queue
+     * behind it.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService roundUpBatchExecutor() {
+        int parallelism = roundUpProperties.getBatch().getParallelism();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                parallelism,
+                parallelism,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("roundup-batch-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private ExecutorService newExecutor(String threadNamePrefix) {
+        RoundUpProperties.Execution execution = roundUpProperties.getExecution();
+        if (execution.isVirtualThreads()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix + "vt-", 0).factory());
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                execution.getPoolSize(),
+                execution.getPoolSize(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(threadNamePrefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
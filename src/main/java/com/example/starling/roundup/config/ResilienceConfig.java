@@ -0,0 +1,99 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Circuit breakers, bulkheads and retries of the Starling API endpoints, one of each per
+ * {@link StarlingEndpoint}, configured through {@link StarlingApiConfig.Resilience}.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    private final StarlingApiConfig.Resilience resilience;
+
+    public ResilienceConfig(StarlingApiConfig starlingApiConfig) {
+        this.resilience = starlingApiConfig.getResilience();
+    }
+
+    @Bean
+    public CircuitBreakerRegistry starlingCircuitBreakers() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .waitDurationInOpenState(resilience.getWaitInOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .build();
+        for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+            registry.circuitBreaker(endpoint.id(), config);
+        }
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry starlingBulkheads() {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+            registry.bulkhead(endpoint.id(), BulkheadConfig.custom()
+                    .maxConcurrentCalls(endpoint.policy(resilience).getMaxConcurrentCalls())
+                    .maxWaitDuration(resilience.getBulkheadMaxWait())
+                    .build());
+        }
+        return registry;
+    }
+
+    @Bean
+    public RetryRegistry starlingRetries() {
+        RetryRegistry registry = RetryRegistry.ofDefaults();
+        IntervalFunction backoff = IntervalFunction.ofExponentialRandomBackoff(
+                resilience.getRetryBackoff(), 2.0, resilience.getRetryJitter());
+        for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+            registry.retry(endpoint.id(), RetryConfig.<ClientHttpResponse>custom()
+                    .maxAttempts(endpoint.policy(resilience).getMaxAttempts())
+                    .intervalFunction(backoff)
+                    .retryOnResult(ResilienceInterceptor::isServerError)
+                    .retryExceptions(IOException.class)
+                    .consumeResultBeforeRetryAttempt((attempt, response) -> response.close())
+                    .failAfterMaxAttempts(false)
+                    .build());
+        }
+        return registry;
+    }
+
+    /**
+     * Exposes the circuit breaker state, failure rate and call outcomes as
+     * {@code resilience4j.circuitbreaker.*} metrics, tagged with the endpoint name.
+     */
+    @Bean
+    public MeterBinder starlingCircuitBreakerMetrics(CircuitBreakerRegistry starlingCircuitBreakers) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(starlingCircuitBreakers);
+    }
+
+    @Bean
+    public MeterBinder starlingBulkheadMetrics(BulkheadRegistry starlingBulkheads) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(starlingBulkheads);
+    }
+
+    @Bean
+    public MeterBinder starlingRetryMetrics(RetryRegistry starlingRetries) {
+        return TaggedRetryMetrics.ofRetryRegistry(starlingRetries);
+    }
+}
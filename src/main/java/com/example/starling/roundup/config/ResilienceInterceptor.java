@@ -0,0 +1,194 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import com.example.starling.roundup.exception.DownstreamServerException;
+import com.example.starling.roundup.exception.DownstreamUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+
+/**
+ * Guards every Starling API call with the retry, circuit breaker and bulkhead of its
+ * {@link StarlingEndpoint}.
+ * <p>
+ * Each attempt must get a bulkhead slot and pass the circuit breaker before it is sent; 5xx
+ * responses and I/O errors count as circuit breaker failures, any other response as a success.
+ * GET requests are retried on the same failures, with jittered exponential backoff. A call
+ * rejected by an open circuit or a full bulkhead fails with
+ * {@link DownstreamUnavailableException} without being sent, and is not retried. The bulkhead
+ * slot is held until the response is closed, so it also covers reading the body. Requests to
+ * any other URI are passed through untouched.
+ */
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilienceInterceptor.class);
+
+    // a full bulkhead usually drains within moments
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final RetryRegistry retries;
+
+    public ResilienceInterceptor(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads, RetryRegistry retries) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.retries = retries;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+            @NonNull ClientHttpRequestExecution execution) throws IOException {
+        StarlingEndpoint endpoint = StarlingEndpoint.of(request.getURI());
+        if (endpoint == null) {
+            return execution.execute(request, body);
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(endpoint.id());
+        Bulkhead bulkhead = bulkheads.bulkhead(endpoint.id());
+        CheckedSupplier<ClientHttpResponse> call = () -> send(endpoint, circuitBreaker, bulkhead, request, body, execution);
+        if (request.getMethod() == HttpMethod.GET) {
+            call = Retry.decorateCheckedSupplier(retries.retry(endpoint.id()), call);
+        }
+        try {
+            return call.get();
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ClientHttpResponse send(StarlingEndpoint endpoint, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!bulkhead.tryAcquirePermission()) {
+            log.warn("Rejected {} {}: {} bulkhead full", request.getMethod(), request.getURI(), endpoint.id());
+            throw new DownstreamUnavailableException(
+                    "Too many concurrent calls to the Starling " + endpoint.id() + " endpoint", BULKHEAD_RETRY_AFTER);
+        }
+        boolean handedOver = false;
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.warn("Rejected {} {}: {} circuit {}", request.getMethod(), request.getURI(), endpoint.id(),
+                        circuitBreaker.getState());
+                throw new DownstreamUnavailableException(
+                        "Starling " + endpoint.id() + " endpoint is unavailable (circuit open)", openStateWait(circuitBreaker));
+            }
+            long start = circuitBreaker.getCurrentTimestamp();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+                throw e;
+            }
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            if (isServerError(response)) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new DownstreamServerException(request.getMethod() + " " + request.getURI() + " returned " + statusOf(response)));
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+            handedOver = true;
+            return new PermitReleasingResponse(response, bulkhead);
+        } finally {
+            if (!handedOver) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    /**
+     * @return whether the response should count as a failure and, for GETs, be retried
+     */
+    static boolean isServerError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static String statusOf(ClientHttpResponse response) {
+        try {
+            return String.valueOf(response.getStatusCode().value());
+        } catch (IOException e) {
+            return "an unreadable status";
+        }
+    }
+
+    private static Duration openStateWait(CircuitBreaker circuitBreaker) {
+        long millis = circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * Releases the bulkhead slot of the call once the response is closed.
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Bulkhead bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        @NonNull
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        @NonNull
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        @NonNull
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.onComplete();
+                }
+            }
+        }
+    }
+}
@@ -1,30 +1,153 @@
 package com.example.starling.roundup.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import com.example.starling.roundup.exception.DownstreamApiErrorHandler;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * RestTemplate used for all Starling API calls.
+ * <p>
+ * Backed by a pooled Apache HttpClient 5 so that keep-alive connections are reused across
+ * the downstream calls of a round-up, with connect, read and response timeouts and idle
+ * connection eviction configured through {@link StarlingApiConfig.Http}, and per-endpoint
+ * retries, circuit breakers, bulkheads and timeouts through {@link StarlingApiConfig.Resilience}.
+ * Every request sent is timed by {@link StarlingMetricsInterceptor}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
-    @Value("${starling.api.token}")
-    private String apiToken;
+    private final StarlingApiConfig starlingApiConfig;
+    private final RoundUpProperties roundUpProperties;
 
-    @Value("${starling.api.url}")
-    private String apiUrl;
+    public RestTemplateConfig(StarlingApiConfig starlingApiConfig, RoundUpProperties roundUpProperties) {
+        this.starlingApiConfig = starlingApiConfig;
+        this.roundUpProperties = roundUpProperties;
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager starlingConnectionManager() {
+        StarlingApiConfig.Http http = starlingApiConfig.getHttp();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnectionsTotal())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(toTimeout(http.getConnectTimeout()))
+                        .setSocketTimeout(toTimeout(http.getReadTimeout()))
+                        .setTimeToLive(toTimeValue(http.getConnectionTimeToLive()))
+                        .setValidateAfterInactivity(toTimeValue(http.getValidateAfterInactivity()))
+                        .build())
+                .build();
+    }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplateBuilder()
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiToken)
-                .uriTemplateHandler(new DefaultUriBuilderFactory(apiUrl))
-                .errorHandler(new DownstreamApiErrorHandler())
+    public HttpClient starlingHttpClient(PoolingHttpClientConnectionManager starlingConnectionManager) {
+        StarlingApiConfig.Http http = starlingApiConfig.getHttp();
+        return HttpClients.custom()
+                .setConnectionManager(starlingConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(http.getConnectionRequestTimeout()))
+                        .setResponseTimeout(toTimeout(http.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(http.getIdleEvictionTimeout()))
                 .build();
     }
+
+    @Bean
+    public RestTemplate restTemplate(HttpClient starlingHttpClient, CircuitBreakerRegistry starlingCircuitBreakers,
+            BulkheadRegistry starlingBulkheads, RetryRegistry starlingRetries, MeterRegistry meterRegistry) {
+        StarlingApiConfig.Resilience resilience = starlingApiConfig.getResilience();
+        RestTemplateBuilder builder = new RestTemplateBuilder()
+                .requestFactory(() -> requestFactory(starlingHttpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + starlingApiConfig.getToken())
+                .uriTemplateHandler(new DefaultUriBuilderFactory(starlingApiConfig.getUrl()))
+                .errorHandler(new DownstreamApiErrorHandler())
+                // first, so that coalescing keys on the token the request is actually sent with
+                .additionalInterceptors(new StarlingTokenInterceptor());
+        if (roundUpProperties.getCoalescing().isDownstreamReads()) {
+            builder = builder.additionalInterceptors(new CoalescingGetInterceptor());
+        }
+        if (resilience.isEnabled()) {
+            // after coalescing, so that a shared GET is guarded (and retried) once for all its callers
+            builder = builder.additionalInterceptors(
+                    new ResilienceInterceptor(starlingCircuitBreakers, starlingBulkheads, starlingRetries));
+        }
+        // last, so that every attempt actually sent is timed
+        return builder.additionalInterceptors(new StarlingMetricsInterceptor(meterRegistry)).build();
+    }
+
+    /**
+     * With resilience enabled, each {@link StarlingEndpoint} gets the response timeout of its
+     * policy instead of the client-wide one.
+     */
+    private HttpComponentsClientHttpRequestFactory requestFactory(HttpClient starlingHttpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(starlingHttpClient);
+        StarlingApiConfig.Resilience resilience = starlingApiConfig.getResilience();
+        if (resilience.isEnabled()) {
+            Map<StarlingEndpoint, RequestConfig> requestConfigs = new EnumMap<>(StarlingEndpoint.class);
+            for (StarlingEndpoint endpoint : StarlingEndpoint.values()) {
+                requestConfigs.put(endpoint, RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(starlingApiConfig.getHttp().getConnectionRequestTimeout()))
+                        .setResponseTimeout(toTimeout(endpoint.policy(resilience).getTimeout()))
+                        .build());
+            }
+            factory.setHttpContextFactory((method, uri) -> {
+                StarlingEndpoint endpoint = StarlingEndpoint.of(uri);
+                if (endpoint == null) {
+                    return null;
+                }
+                HttpClientContext context = HttpClientContext.create();
+                context.setRequestConfig(requestConfigs.get(endpoint));
+                return context;
+            });
+        }
+        return factory;
+    }
+
+    /**
+     * Exposes pool statistics (leased, pending, available and max connections) as
+     * {@code httpcomponents.httpclient.pool.*} metrics.
+     */
+    @Bean
+    public MeterBinder starlingConnectionPoolMetrics(PoolingHttpClientConnectionManager starlingConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(
+                starlingConnectionManager, "starling-api", List.<Tag>of());
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
 }
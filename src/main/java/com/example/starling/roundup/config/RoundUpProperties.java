@@ -0,0 +1,905 @@
+package com.example.starling.roundup.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import com.example.starling.roundup.model.FeedItem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Tuning properties for the round-up process, bound from the {@code roundup} prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "roundup")
+@Validated
+public class RoundUpProperties {
+
+    @Valid
+    private Execution execution = new Execution();
+
+    @Valid
+    private AccountCache accountCache = new AccountCache();
+
+    @Valid
+    private GoalCache goalCache = new GoalCache();
+
+    @Valid
+    private Coalescing coalescing = new Coalescing();
+
+    @Valid
+    private Feed feed = new Feed();
+
+    @Valid
+    private Filter filter = new Filter();
+
+    @Valid
+    private Watermark watermark = new Watermark();
+
+    @Valid
+    private Ledger ledger = new Ledger();
+
+    @Valid
+    private Transfer transfer = new Transfer();
+
+    @Valid
+    private Admission admission = new Admission();
+
+    @Valid
+    private Jobs jobs = new Jobs();
+
+    @Valid
+    private Batch batch = new Batch();
+
+    @Valid
+    private Schedule schedule = new Schedule();
+
+    public Execution getExecution() {
+        return execution;
+    }
+
+    public void setExecution(Execution execution) {
+        this.execution = execution;
+    }
+
+    public GoalCache getGoalCache() {
+        return goalCache;
+    }
+
+    public void setGoalCache(GoalCache goalCache) {
+        this.goalCache = goalCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(Coalescing coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public Feed getFeed() {
+        return feed;
+    }
+
+    public void setFeed(Feed feed) {
+        this.feed = feed;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public Watermark getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(Watermark watermark) {
+        this.watermark = watermark;
+    }
+
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public void setLedger(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
+    public Transfer getTransfer() {
+        return transfer;
+    }
+
+    public void setTransfer(Transfer transfer) {
+        this.transfer = transfer;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(Admission admission) {
+        this.admission = admission;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(Jobs jobs) {
+        this.jobs = jobs;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Batch batch) {
+        this.batch = batch;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(Schedule schedule) {
+        this.schedule = schedule;
+    }
+
+    public AccountCache getAccountCache() {
+        return accountCache;
+    }
+
+    public void setAccountCache(AccountCache accountCache) {
+        this.accountCache = accountCache;
+    }
+
+    /**
+     * How the downstream calls of a round-up are executed.
+     */
+    public static class Execution {
+
+        /**
+         * SEQUENTIAL runs every downstream call one after another. PARALLEL runs the calls that
+         * only depend on the account (savings goal, transaction feed, balance) concurrently.
+         */
+        public enum Mode {
+            SEQUENTIAL,
+            PARALLEL
+        }
+
+        @NotNull
+        private Mode mode = Mode.SEQUENTIAL;
+
+        // run fan-out tasks on virtual threads instead of a bounded platform thread pool
+        private boolean virtualThreads = false;
+
+        // size of the bounded platform thread pool when virtual threads are disabled
+        @Positive
+        private int poolSize = 64;
+
+        // maximum time to wait for all fan-out calls of one round-up
+        @NotNull
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Cache of the default account per API token. The account list and its default category
+     * rarely change, so the accounts call is kept off the hot path of every round-up.
+     */
+    public static class AccountCache {
+
+        private boolean enabled = true;
+
+        // number of tokens whose default account is kept
+        @Positive
+        private long maximumSize = 10_000;
+
+        // entries are dropped this long after being loaded
+        @NotNull
+        private Duration ttl = Duration.ofMinutes(10);
+
+        // entries older than this are reloaded in the background on the next read, before they expire
+        @NotNull
+        private Duration refreshAfter = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+    }
+
+    /**
+     * Cache of the round-up savings goal per account. Lookups for the same account are
+     * single-flight, so concurrent round-ups never create the goal twice.
+     */
+    public static class GoalCache {
+
+        private boolean enabled = true;
+
+        // number of accounts whose savings goal is kept
+        @Positive
+        private long maximumSize = 10_000;
+
+        @NotNull
+        private Duration ttl = Duration.ofHours(1);
+
+        // how long a failed lookup (invalid data or 4xx) is remembered before the API is tried again
+        @NotNull
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+
+    /**
+     * Sharing of identical concurrent work, so that a burst of round-ups for one token costs
+     * about as many downstream calls as a single round-up.
+     */
+    public static class Coalescing {
+
+        // share identical in-flight GET requests (same URI and token) to the Starling API
+        private boolean downstreamReads = true;
+
+        // concurrent round-ups for the same token join the one already running
+        private boolean roundUps = true;
+
+        public boolean isDownstreamReads() {
+            return downstreamReads;
+        }
+
+        public void setDownstreamReads(boolean downstreamReads) {
+            this.downstreamReads = downstreamReads;
+        }
+
+        public boolean isRoundUps() {
+            return roundUps;
+        }
+
+        public void setRoundUps(boolean roundUps) {
+            this.roundUps = roundUps;
+        }
+    }
+
+    /**
+     * How the transaction feed is read.
+     */
+    public static class Feed {
+
+        // fold round-ups while parsing the response instead of deserialising every feed item
+        private boolean streaming = false;
+
+        // feeds with at least this many items are summed with a parallel (fork-join) reduction
+        @Positive
+        private int parallelThreshold = 100_000;
+
+        // split longer date ranges into windows of this length, fetched concurrently; unset fetches the range in one call
+        private Duration window;
+
+        // maximum windows of one feed fetched at the same time
+        @Positive
+        private int maxConcurrentWindows = 4;
+
+        // attempts per window for 5xx and I/O failures; 1 while starling.api.resilience retries feed requests
+        @Positive
+        private int windowMaxAttempts = 3;
+
+        // wait before retrying a window, doubled on each further attempt
+        @NotNull
+        private Duration windowRetryBackoff = Duration.ofMillis(200);
+
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public void setStreaming(boolean streaming) {
+            this.streaming = streaming;
+        }
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxConcurrentWindows() {
+            return maxConcurrentWindows;
+        }
+
+        public void setMaxConcurrentWindows(int maxConcurrentWindows) {
+            this.maxConcurrentWindows = maxConcurrentWindows;
+        }
+
+        public int getWindowMaxAttempts() {
+            return windowMaxAttempts;
+        }
+
+        public void setWindowMaxAttempts(int windowMaxAttempts) {
+            this.windowMaxAttempts = windowMaxAttempts;
+        }
+
+        public Duration getWindowRetryBackoff() {
+            return windowRetryBackoff;
+        }
+
+        public void setWindowRetryBackoff(Duration windowRetryBackoff) {
+            this.windowRetryBackoff = windowRetryBackoff;
+        }
+    }
+
+    /**
+     * Which feed items are rounded up, matched on direction, status, source and amount currency.
+     * The rules are compiled once into a {@code FeedItemFilter} and applied in the same pass that
+     * sums the round-ups.
+     */
+    public static class Filter {
+
+        // disabled, every item is rounded up as before the rules existed
+        private boolean enabled = true;
+
+        // incoming payments are not spending
+        @NotEmpty
+        private Set<FeedItem.Direction> directions = EnumSet.of(FeedItem.Direction.OUT);
+
+        // pending items may still be declined or reversed
+        @NotEmpty
+        private Set<FeedItem.Status> statuses = EnumSet.of(FeedItem.Status.SETTLED);
+
+        // round-up transfers to savings goals show up in the feed as internal transfers
+        @NotNull
+        private Set<FeedItem.Source> excludedSources = EnumSet.of(FeedItem.Source.INTERNAL_TRANSFER);
+
+        // amount currencies rounded up; empty rounds up every currency
+        @NotNull
+        private Set<String> currencies = new LinkedHashSet<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Set<FeedItem.Direction> getDirections() {
+            return directions;
+        }
+
+        public void setDirections(Set<FeedItem.Direction> directions) {
+            this.directions = directions;
+        }
+
+        public Set<FeedItem.Status> getStatuses() {
+            return statuses;
+        }
+
+        public void setStatuses(Set<FeedItem.Status> statuses) {
+            this.statuses = statuses;
+        }
+
+        public Set<FeedItem.Source> getExcludedSources() {
+            return excludedSources;
+        }
+
+        public void setExcludedSources(Set<FeedItem.Source> excludedSources) {
+            this.excludedSources = excludedSources;
+        }
+
+        public Set<String> getCurrencies() {
+            return currencies;
+        }
+
+        public void setCurrencies(Set<String> currencies) {
+            this.currencies = currencies;
+        }
+    }
+
+    /**
+     * Per-account record of the transactions already rounded up, so that each round-up only
+     * fetches and transfers what is new since the previous one.
+     */
+    public static class Watermark {
+
+        private boolean enabled = false;
+
+        // one JSON file per account is kept here
+        @NotNull
+        private Path directory = Path.of("data", "watermarks");
+
+        // the feed is re-read from this long before the watermark, to pick up transactions posted late
+        @NotNull
+        private Duration overlap = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public Duration getOverlap() {
+            return overlap;
+        }
+
+        public void setOverlap(Duration overlap) {
+            this.overlap = overlap;
+        }
+    }
+
+    /**
+     * Local append-only ledger of round-up runs, for audits and replays.
+     */
+    public static class Ledger {
+
+        private boolean enabled = false;
+
+        @NotNull
+        private Path directory = Path.of("data", "ledger");
+
+        // a new segment file is started once the current one would grow past this
+        @NotNull
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        // flush every record to disk before the append returns
+        private boolean fsync = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public boolean isFsync() {
+            return fsync;
+        }
+
+        public void setFsync(boolean fsync) {
+            this.fsync = fsync;
+        }
+    }
+
+    /**
+     * Retry of the savings goal transfer. Every attempt reuses the same transfer UID, so a retry
+     * after a lost response cannot move the money twice.
+     */
+    public static class Transfer {
+
+        // attempts for 5xx and I/O failures
+        @Positive
+        private int maxAttempts = 3;
+
+        // wait before retrying, doubled on each further attempt
+        @NotNull
+        private Duration retryBackoff = Duration.ofMillis(100);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+    }
+
+    /**
+     * Adaptive concurrency limit on the round-up endpoint. The limit follows the latency of the
+     * admitted round-ups, so that under overload the excess is turned away quickly instead of
+     * every request queueing behind the Starling API and timing out.
+     */
+    public static class Admission {
+
+        private boolean enabled = true;
+
+        @Positive
+        private int initialLimit = 20;
+
+        @Positive
+        private int minLimit = 4;
+
+        @Positive
+        private int maxLimit = 200;
+
+        // how far round-up latency may rise above its long-term average before the limit shrinks
+        @DecimalMin("1.0")
+        private double rttTolerance = 1.5;
+
+        // requests over the limit wait this long for a slot before they are rejected
+        @NotNull
+        private Duration maxQueueWait = Duration.ofMillis(50);
+
+        // sent as Retry-After with the 503 of a rejected request
+        @NotNull
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public Duration getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+        public void setMaxQueueWait(Duration maxQueueWait) {
+            this.maxQueueWait = maxQueueWait;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * Round-ups submitted through the job API, run in the background by a fixed pool of workers.
+     */
+    public static class Jobs {
+
+        // round-up jobs running at the same time
+        @Positive
+        private int workers = 4;
+
+        // jobs waiting for a worker; submissions beyond this are rejected with 503
+        @Positive
+        private int queueCapacity = 1_000;
+
+        // finished jobs can be polled for this long
+        @NotNull
+        private Duration retention = Duration.ofHours(1);
+
+        // jobs kept for polling, oldest are dropped first
+        @Positive
+        private long maximumSize = 100_000;
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * Batch round-ups over many tokens and accounts, read from input files in
+     * {@code directory}. Checkpoints and summary reports are written next to them.
+     */
+    public static class Batch {
+
+        @NotNull
+        private Path directory = Path.of("data", "batch");
+
+        // account pipelines run at the same time; round-ups wait on I/O, so this exceeds the core count
+        @Positive
+        private int parallelism = Runtime.getRuntime().availableProcessors() * 2;
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Built-in scheduler running a batch round-up of the registered accounts, listed in the batch
+     * input file {@code input}, on a cron cadence.
+     */
+    public static class Schedule {
+
+        private boolean enabled = false;
+
+        // Spring cron expression (second minute hour day month weekday)
+        @NotBlank
+        private String cron = "0 0 2 * * MON";
+
+        @NotNull
+        private ZoneId zone = ZoneId.systemDefault();
+
+        // batch input file of the registered tokens and accounts, in roundup.batch.directory
+        @NotBlank
+        private String input = "registered-accounts.csv";
+
+        // each round-up is dispatched after a random delay of up to this, so they do not start in bursts
+        @NotNull
+        private Duration jitter = Duration.ofSeconds(1);
+
+        // sustained rate of round-ups dispatched, across all partitions
+        @DecimalMin(value = "0.0", inclusive = false)
+        private double permitsPerSecond = 10;
+
+        // round-ups dispatched at once before the rate applies
+        @Positive
+        private int burst = 10;
+
+        // held while a scheduled run is in progress, so that only one instance sharing it runs
+        @NotNull
+        private Path lockFile = Path.of("data", "roundup-schedule.lock");
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        public void setZone(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        public void setInput(String input) {
+            this.input = input;
+        }
+
+        public Duration getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(Duration jitter) {
+            this.jitter = jitter;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public Path getLockFile() {
+            return lockFile;
+        }
+
+        public void setLockFile(Path lockFile) {
+            this.lockFile = lockFile;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.starling.roundup.config;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+
+import com.example.starling.roundup.batch.RoundUpScheduler;
+
+/**
+ * Registers the {@link RoundUpScheduler} on {@code roundup.schedule.cron} when
+ * {@code roundup.schedule.enabled} is set.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final RoundUpProperties roundUpProperties;
+    private final RoundUpScheduler roundUpScheduler;
+
+    public SchedulingConfig(RoundUpProperties roundUpProperties, RoundUpScheduler roundUpScheduler) {
+        this.roundUpProperties = roundUpProperties;
+        this.roundUpScheduler = roundUpScheduler;
+    }
+
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        RoundUpProperties.Schedule schedule = roundUpProperties.getSchedule();
+        if (!schedule.isEnabled()) {
+            return;
+        }
+        CronTrigger cron = new CronTrigger(schedule.getCron(), schedule.getZone());
+        // the trigger is asked for the next fire time before each run is scheduled, so the run
+        // sees the time it was due at rather than the time it actually started
+        AtomicReference<Instant> fireTime = new AtomicReference<>();
+        registrar.addTriggerTask(() -> roundUpScheduler.run(fireTime.get()), context -> {
+            Instant next = cron.nextExecution(context);
+            fireTime.set(next);
+            return next;
+        });
+    }
+}
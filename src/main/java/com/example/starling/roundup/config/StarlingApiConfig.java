@@ -1,10 +1,17 @@
 package com.example.starling.roundup.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 @Configuration
 @ConfigurationProperties(prefix = "starling.api")
@@ -17,6 +24,25 @@ public class StarlingApiConfig {
     @NotBlank(message = "Starling API token must not be blank")
     private String token;
 
+    /**
+     * Which Starling API client the round-up endpoint uses.
+     */
+    public enum Client {
+        // RestTemplate, one request thread per in-flight round-up
+        BLOCKING,
+        // WebClient, round-ups are composed without holding a thread per request
+        REACTIVE
+    }
+
+    @NotNull
+    private Client client = Client.BLOCKING;
+
+    @Valid
+    private Http http = new Http();
+
+    @Valid
+    private Resilience resilience = new Resilience();
+
     public String getUrl() {
         return url;
     }
@@ -32,4 +58,353 @@ public class StarlingApiConfig {
     public void setToken(String token) {
         this.token = token;
     }
-} 
\ No newline at end of file
+
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public void setHttp(Http http) {
+        this.http = http;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    /**
+     * Connection pool and timeout settings for the HTTP client used to call the Starling API.
+     * Every round-up makes several downstream calls, so connections are pooled and kept alive
+     * instead of paying TCP/TLS setup on each call.
+     */
+    public static class Http {
+
+        @Positive
+        private int maxConnectionsTotal = 200;
+
+        @Positive
+        private int maxConnectionsPerRoute = 100;
+
+        @NotNull
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        // socket (read) timeout: max inactivity between two data packets
+        @NotNull
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        // max time to wait for the response head after the request is sent
+        @NotNull
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        // max time to wait for a free connection from the pool
+        @NotNull
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+        @NotNull
+        private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+
+        @NotNull
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+        // re-check pooled connections that have been idle longer than this before reuse
+        @NotNull
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+        public int getMaxConnectionsTotal() {
+            return maxConnectionsTotal;
+        }
+
+        public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+        }
+
+        public int getMaxConnectionsPerRoute() {
+            return maxConnectionsPerRoute;
+        }
+
+        public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public Duration getIdleEvictionTimeout() {
+            return idleEvictionTimeout;
+        }
+
+        public void setIdleEvictionTimeout(Duration idleEvictionTimeout) {
+            this.idleEvictionTimeout = idleEvictionTimeout;
+        }
+
+        public Duration getConnectionTimeToLive() {
+            return connectionTimeToLive;
+        }
+
+        public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+            this.connectionTimeToLive = connectionTimeToLive;
+        }
+
+        public Duration getValidateAfterInactivity() {
+            return validateAfterInactivity;
+        }
+
+        public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+        }
+    }
+
+    /**
+     * Retries, circuit breakers, bulkheads and time limits around the Starling API calls, with
+     * one policy per endpoint so that a slow or failing endpoint cannot drag the others down.
+     * Only GET requests are retried; the savings goal transfer has its own retry that keeps the
+     * transfer UID (see {@code roundup.transfer}).
+     */
+    public static class Resilience {
+
+        private boolean enabled = true;
+
+        // wait before the second attempt, doubled on each further attempt
+        @NotNull
+        private Duration retryBackoff = Duration.ofMillis(100);
+
+        // each wait is randomised by up to this fraction, so that callers do not retry in lockstep
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double retryJitter = 0.5;
+
+        // percentage of failed calls (5xx, I/O errors) that opens the circuit
+        @DecimalMin(value = "0.0", inclusive = false)
+        @DecimalMax("100.0")
+        private float failureRateThreshold = 50;
+
+        // number of most recent calls the failure rate is computed over
+        @Positive
+        private int slidingWindowSize = 50;
+
+        // no failure rate is computed before this many calls have been recorded
+        @Positive
+        private int minimumNumberOfCalls = 20;
+
+        // how long an open circuit rejects calls before letting trial calls through
+        @NotNull
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        // how long a call waits for a free bulkhead slot before it is rejected
+        @NotNull
+        private Duration bulkheadMaxWait = Duration.ofMillis(20);
+
+        @Valid
+        private Endpoint accounts = new Endpoint(3, 64, Duration.ofSeconds(5));
+
+        @Valid
+        private Endpoint balance = new Endpoint(3, 64, Duration.ofSeconds(5));
+
+        @Valid
+        private Endpoint savingsGoals = new Endpoint(3, 64, Duration.ofSeconds(5));
+
+        // feed pages can be large, so they get longer and fewer concurrent calls
+        @Valid
+        private Endpoint feed = new Endpoint(3, 32, Duration.ofSeconds(10));
+
+        // transfers are never retried here, see roundup.transfer
+        @Valid
+        private Endpoint addMoney = new Endpoint(1, 64, Duration.ofSeconds(5));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public double getRetryJitter() {
+            return retryJitter;
+        }
+
+        public void setRetryJitter(double retryJitter) {
+            this.retryJitter = retryJitter;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getWaitInOpenState() {
+            return waitInOpenState;
+        }
+
+        public void setWaitInOpenState(Duration waitInOpenState) {
+            this.waitInOpenState = waitInOpenState;
+        }
+
+        public Duration getBulkheadMaxWait() {
+            return bulkheadMaxWait;
+        }
+
+        public void setBulkheadMaxWait(Duration bulkheadMaxWait) {
+            this.bulkheadMaxWait = bulkheadMaxWait;
+        }
+
+        public Endpoint getAccounts() {
+            return accounts;
+        }
+
+        public void setAccounts(Endpoint accounts) {
+            this.accounts = accounts;
+        }
+
+        public Endpoint getBalance() {
+            return balance;
+        }
+
+        public void setBalance(Endpoint balance) {
+            this.balance = balance;
+        }
+
+        public Endpoint getSavingsGoals() {
+            return savingsGoals;
+        }
+
+        public void setSavingsGoals(Endpoint savingsGoals) {
+            this.savingsGoals = savingsGoals;
+        }
+
+        public Endpoint getFeed() {
+            return feed;
+        }
+
+        public void setFeed(Endpoint feed) {
+            this.feed = feed;
+        }
+
+        public Endpoint getAddMoney() {
+            return addMoney;
+        }
+
+        public void setAddMoney(Endpoint addMoney) {
+            this.addMoney = addMoney;
+        }
+
+        /**
+         * Policy of one Starling endpoint.
+         */
+        public static class Endpoint {
+
+            // attempts per GET, including the first one
+            @Positive
+            private int maxAttempts;
+
+            // calls in flight at the same time (bulkhead)
+            @Positive
+            private int maxConcurrentCalls;
+
+            // max time to wait for the response head of one attempt
+            @NotNull
+            private Duration timeout;
+
+            public Endpoint() {
+                this(3, 64, Duration.ofSeconds(5));
+            }
+
+            public Endpoint(int maxAttempts, int maxConcurrentCalls, Duration timeout) {
+                this.maxAttempts = maxAttempts;
+                this.maxConcurrentCalls = maxConcurrentCalls;
+                this.timeout = timeout;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public int getMaxConcurrentCalls() {
+                return maxConcurrentCalls;
+            }
+
+            public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+                this.maxConcurrentCalls = maxConcurrentCalls;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+}
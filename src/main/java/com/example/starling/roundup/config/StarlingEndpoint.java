@@ -0,0 +1,57 @@
+package com.example.starling.roundup.config;
+
+import java.net.URI;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The Starling API endpoints the service calls, each guarded by its own resilience policy.
+ */
+public enum StarlingEndpoint {
+
+    // checked before SAVINGS_GOALS, whose path it extends
+    ADD_MONEY("add-money", ".*/account/[^/]+/savings-goals/[^/]+/add-money/[^/]+", StarlingApiConfig.Resilience::getAddMoney),
+    SAVINGS_GOALS("savings-goals", ".*/account/[^/]+/savings-goals(/.*)?", StarlingApiConfig.Resilience::getSavingsGoals),
+    BALANCE("balance", ".*/accounts/[^/]+/balance", StarlingApiConfig.Resilience::getBalance),
+    ACCOUNTS("accounts", ".*/accounts", StarlingApiConfig.Resilience::getAccounts),
+    FEED("feed", ".*/feed/account/.*", StarlingApiConfig.Resilience::getFeed);
+
+    private final String id;
+    private final Pattern path;
+    private final Function<StarlingApiConfig.Resilience, StarlingApiConfig.Resilience.Endpoint> policy;
+
+    StarlingEndpoint(String id, String path,
+            Function<StarlingApiConfig.Resilience, StarlingApiConfig.Resilience.Endpoint> policy) {
+        this.id = id;
+        this.path = Pattern.compile(path);
+        this.policy = policy;
+    }
+
+    /**
+     * Name of the circuit breaker, bulkhead and retry of this endpoint, also used as the
+     * {@code name} tag of their metrics.
+     */
+    public String id() {
+        return id;
+    }
+
+    public StarlingApiConfig.Resilience.Endpoint policy(StarlingApiConfig.Resilience resilience) {
+        return policy.apply(resilience);
+    }
+
+    /**
+     * @return the endpoint the URI belongs to, or {@code null} for any other URI
+     */
+    public static StarlingEndpoint of(URI uri) {
+        String rawPath = uri.getRawPath();
+        if (rawPath == null) {
+            return null;
+        }
+        for (StarlingEndpoint endpoint : values()) {
+            if (endpoint.path.matcher(rawPath).matches()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every request sent to the Starling API as {@code starling.api.requests}, tagged with the
+ * {@link StarlingEndpoint}, the method, the response status and its outcome class.
+ * <p>
+ * Registered innermost, so each retry attempt is timed on its own and calls rejected by a
+ * circuit breaker or bulkhead, which never reach Starling, are not (see the resilience4j
+ * metrics for those). The time is up to the response head; reading the body is not included.
+ */
+public class StarlingMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry registry;
+
+    public StarlingMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+            @NonNull ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        Outcome outcome = Outcome.UNKNOWN;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int code = response.getStatusCode().value();
+            status = String.valueOf(code);
+            outcome = Outcome.forStatus(code);
+            return response;
+        } finally {
+            StarlingEndpoint endpoint = StarlingEndpoint.of(request.getURI());
+            Timer.builder("starling.api.requests")
+                    .description("Requests sent to the Starling API")
+                    .tag("endpoint", endpoint != null ? endpoint.id() : "other")
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .tag("outcome", outcome.name())
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
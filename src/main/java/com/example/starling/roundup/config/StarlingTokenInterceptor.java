@@ -0,0 +1,29 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import com.example.starling.roundup.util.StarlingTokenContext;
+
+/**
+ * Authorises Starling API requests with the {@link StarlingTokenContext} token of the calling
+ * thread, replacing the configured token, when one is set.
+ */
+public class StarlingTokenInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+            @NonNull ClientHttpRequestExecution execution) throws IOException {
+        String token = StarlingTokenContext.current();
+        if (token != null) {
+            request.getHeaders().setBearerAuth(token);
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.starling.roundup.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.starling.roundup.exception.DownstreamApiErrorHandler;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking WebClient for the Starling API, only created when
+ * {@code starling.api.client=reactive}.
+ * <p>
+ * Uses the same pool and timeout settings as the blocking client ({@link StarlingApiConfig.Http})
+ * and maps 4xx/5xx responses to the same downstream exceptions. HTTP/2 is negotiated over TLS
+ * when the server supports it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+public class WebClientConfig {
+
+    private final StarlingApiConfig starlingApiConfig;
+
+    public WebClientConfig(StarlingApiConfig starlingApiConfig) {
+        this.starlingApiConfig = starlingApiConfig;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider starlingConnectionProvider() {
+        StarlingApiConfig.Http http = starlingApiConfig.getHttp();
+        return ConnectionProvider.builder("starling-api")
+                .maxConnections(http.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(http.getConnectionRequestTimeout())
+                .maxIdleTime(http.getIdleEvictionTimeout())
+                .maxLifeTime(http.getConnectionTimeToLive())
+                .evictInBackground(http.getIdleEvictionTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient starlingWebClient(ConnectionProvider starlingConnectionProvider) {
+        StarlingApiConfig.Http http = starlingApiConfig.getHttp();
+        HttpClient httpClient = HttpClient.create(starlingConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(http.getConnectTimeout().toMillis()))
+                .responseTimeout(http.getResponseTimeout());
+        if (starlingApiConfig.getUrl().startsWith("https")) {
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(starlingApiConfig.getUrl())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + starlingApiConfig.getToken())
+                .defaultStatusHandler(HttpStatusCode::isError, response -> response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> DownstreamApiErrorHandler.toException(response.statusCode().value(), body)))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.starling.roundup.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.starling.roundup.controller.AdmissionControlInterceptor;
+
+/**
+ * Spring MVC customisations of the round-up endpoints.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RoundUpProperties roundUpProperties;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public WebMvcConfig(RoundUpProperties roundUpProperties, AdmissionControlInterceptor admissionControlInterceptor) {
+        this.roundUpProperties = roundUpProperties;
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        if (roundUpProperties.getAdmission().isEnabled()) {
+            registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/v2/feed/roundup");
+        }
+    }
+}
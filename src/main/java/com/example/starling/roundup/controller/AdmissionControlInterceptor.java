@@ -0,0 +1,105 @@
+package com.example.starling.roundup.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+import com.example.starling.roundup.util.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits round-up requests up to an {@link AdaptiveConcurrencyLimiter adaptive concurrency
+ * limit} and rejects the rest with {@link ServiceOverloadedException}.
+ * <p>
+ * The permit is held until the request completes, including the async dispatch of the reactive
+ * endpoint. Requests ending in 503 or 504 count as dropped and shrink the limit; requests
+ * failing with other server errors are not taken as a latency sample.
+ */
+@Component
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final RoundUpProperties.Admission admission;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private Counter rejected;
+
+    public AdmissionControlInterceptor(RoundUpProperties roundUpProperties) {
+        this.admission = roundUpProperties.getAdmission();
+        this.limiter = new AdaptiveConcurrencyLimiter(admission.getInitialLimit(), admission.getMinLimit(),
+                admission.getMaxLimit(), admission.getRttTolerance());
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(admission.getMaxQueueWait());
+        if (permit == null) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            log.warn("Rejected {} {}: concurrency limit {} reached", request.getMethod(), request.getRequestURI(),
+                    limiter.getLimit());
+            throw new ServiceOverloadedException(
+                    "Too many round-ups in progress, limit is " + limiter.getLimit(), admission.getRetryAfter());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            permit.dropped();
+        } else if (ex != null || status >= 500) {
+            permit.ignore();
+        } else {
+            permit.success();
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Exposes the current limit, the round-ups in flight and the rejected requests as
+     * {@code roundup.admission.*} metrics.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("roundup.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of the round-up endpoint")
+                .register(registry);
+        Gauge.builder("roundup.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Round-up requests admitted and not completed yet")
+                .register(registry);
+        rejected = Counter.builder("roundup.admission.rejected")
+                .description("Round-up requests rejected by the concurrency limit")
+                .register(registry);
+    }
+}
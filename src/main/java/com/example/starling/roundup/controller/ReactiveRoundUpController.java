@@ -0,0 +1,46 @@
+package com.example.starling.roundup.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.starling.roundup.service.reactive.ReactiveRoundUpService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * Round-up endpoint backed by the reactive pipeline, replacing {@link RoundUpController} when
+ * {@code starling.api.client=reactive}. The request thread is released while the Starling API
+ * calls are in flight.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+@RequestMapping("/api/v2/feed")
+@Tag(name = "RoundUp", description = "RoundUp transaction management APIs")
+public class ReactiveRoundUpController {
+
+    private final ReactiveRoundUpService roundUpService;
+
+    public ReactiveRoundUpController(ReactiveRoundUpService roundUpService) {
+        this.roundUpService = roundUpService;
+    }
+
+    @Operation(
+        summary = "Round up transactions",
+        description = "Rounds up all transactions to the next whole unit of the account currency and transfers the difference to the savings goal"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Transactions rounded up successfully"
+    )
+    @PostMapping("/roundup")
+    public Mono<ResponseEntity<Void>> roundUpTransactions() {
+        return roundUpService.roundUpTransactions()
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.starling.roundup.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.example.starling.roundup.batch.BatchReport;
+import com.example.starling.roundup.batch.RoundUpBatchService;
+import com.example.starling.roundup.exception.JobNotFoundException;
+import com.example.starling.roundup.model.RoundUpBatchRequest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/v2/feed/roundup/batches")
+@Tag(name = "RoundUp", description = "RoundUp transaction management APIs")
+public class RoundUpBatchController {
+
+    private final RoundUpBatchService roundUpBatchService;
+
+    public RoundUpBatchController(RoundUpBatchService roundUpBatchService) {
+        this.roundUpBatchService = roundUpBatchService;
+    }
+
+    @Operation(
+        summary = "Start a batch round-up",
+        description = "Rounds up every token and account listed in an input file of the batch directory; "
+                + "passing the id of an earlier batch resumes it from its checkpoint"
+    )
+    @ApiResponse(
+        responseCode = "202",
+        description = "Batch started, the Location header points to its report"
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Input file missing or malformed, or invalid batch id"
+    )
+    @PostMapping
+    public ResponseEntity<BatchReport> start(@RequestBody RoundUpBatchRequest request) {
+        BatchReport report = roundUpBatchService.start(request.input(), request.batchId());
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{batchId}")
+                        .buildAndExpand(report.batchId())
+                        .toUri())
+                .body(report);
+    }
+
+    @Operation(
+        summary = "Get a batch round-up report",
+        description = "Reports the progress of a running batch, or the summary of a finished one"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Current report of the batch"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Unknown batch"
+    )
+    @GetMapping("/{batchId}")
+    public ResponseEntity<BatchReport> find(@PathVariable String batchId) {
+        return roundUpBatchService.find(batchId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new JobNotFoundException("Round-up batch not found: " + batchId));
+    }
+}
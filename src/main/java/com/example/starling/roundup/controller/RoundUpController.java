@@ -1,5 +1,6 @@
 package com.example.starling.roundup.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "blocking", matchIfMissing = true)
 @RequestMapping("/api/v2/feed")
 @Tag(name = "RoundUp", description = "RoundUp transaction management APIs")
 public class RoundUpController {
@@ -24,7 +26,7 @@ public class RoundUpController {
 
     @Operation(
         summary = "Round up transactions",
-        description = "Rounds up all transactions to the nearest pound and transfers the difference to the savings goal"
+        description = "Rounds up all transactions to the next whole unit of the account currency and transfers the difference to the savings goal"
     )
     @ApiResponse(
         responseCode = "200",
@@ -0,0 +1,74 @@
+package com.example.starling.roundup.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.example.starling.roundup.exception.JobNotFoundException;
+import com.example.starling.roundup.model.RoundUpJob;
+import com.example.starling.roundup.service.RoundUpJobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/v2/feed/roundup/jobs")
+@Tag(name = "RoundUp", description = "RoundUp transaction management APIs")
+public class RoundUpJobController {
+
+    private final RoundUpJobService roundUpJobService;
+
+    public RoundUpJobController(RoundUpJobService roundUpJobService) {
+        this.roundUpJobService = roundUpJobService;
+    }
+
+    @Operation(
+        summary = "Submit a round-up job",
+        description = "Queues a round-up of the default account and returns at once; poll the job for its outcome"
+    )
+    @ApiResponse(
+        responseCode = "202",
+        description = "Round-up queued, the Location header points to the job"
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Job queue full, retry after the time in the Retry-After header"
+    )
+    @PostMapping
+    public ResponseEntity<RoundUpJob> submit() {
+        RoundUpJob job = roundUpJobService.submit();
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}")
+                        .buildAndExpand(job.jobId())
+                        .toUri())
+                .body(job);
+    }
+
+    @Operation(
+        summary = "Get a round-up job",
+        description = "Reports the status of a submitted round-up and, once finished, its amount and transfer UID or its error"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Current state of the job"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Unknown job, or finished longer ago than the retention period"
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RoundUpJob> find(@PathVariable UUID jobId) {
+        return roundUpJobService.find(jobId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new JobNotFoundException("Round-up job not found: " + jobId));
+    }
+}
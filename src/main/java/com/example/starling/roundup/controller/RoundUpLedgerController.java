@@ -0,0 +1,51 @@
+package com.example.starling.roundup.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.starling.roundup.store.RoundUpLedger;
+import com.example.starling.roundup.store.RoundUpRecord;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/v2/feed/roundup/ledger")
+@Tag(name = "RoundUp", description = "RoundUp transaction management APIs")
+public class RoundUpLedgerController {
+
+    private final RoundUpLedger roundUpLedger;
+
+    public RoundUpLedgerController(RoundUpLedger roundUpLedger) {
+        this.roundUpLedger = roundUpLedger;
+    }
+
+    @Operation(
+        summary = "List recorded round-up runs",
+        description = "Returns the round-up runs of an account recorded in the local ledger, oldest first, without calling Starling"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Round-up runs that started in the requested interval"
+    )
+    @GetMapping("/{accountUid}")
+    public ResponseEntity<List<RoundUpRecord>> findRuns(
+            @PathVariable UUID accountUid,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(roundUpLedger.findByAccount(
+                accountUid,
+                from != null ? from : Instant.EPOCH,
+                to != null ? to : Instant.now()));
+    }
+}
@@ -14,12 +14,27 @@ public class DownstreamApiErrorHandler extends DefaultResponseErrorHandler {
       int rawStatusCode = response.getStatusCode().value();
       String body = new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
 
+      RuntimeException exception = toException(rawStatusCode, body);
+      if (exception != null) {
+          throw exception;
+      }
+      super.handleError(response); // fallback to default behavior
+  }
+
+  /**
+   * Maps a downstream error status to the exception used by both the blocking and the
+   * non-blocking Starling clients.
+   *
+   * @param rawStatusCode the HTTP status code
+   * @param body the response body
+   * @return the exception to throw, or null if the status is not a 4xx/5xx error
+   */
+  public static RuntimeException toException(int rawStatusCode, String body) {
       if (rawStatusCode >= 400 && rawStatusCode < 500) {
-          throw new DownstreamClientException("Downstream 4xx error: " + rawStatusCode + ", body: " + body);
+          return new DownstreamClientException("Downstream 4xx error: " + rawStatusCode + ", body: " + body, rawStatusCode);
       } else if (rawStatusCode >= 500) {
-          throw new DownstreamServerException("Downstream 5xx error: " + rawStatusCode + ", body: " + body);
-      } else {
-          super.handleError(response); // fallback to default behavior
+          return new DownstreamServerException("Downstream 5xx error: " + rawStatusCode + ", body: " + body);
       }
+      return null;
   }
 }
@@ -2,7 +2,19 @@ package com.example.starling.roundup.exception;
 
 public class DownstreamClientException extends RuntimeException {
 
+    // HTTP status returned by the Starling API, 0 when unknown
+    private final int statusCode;
+
     public DownstreamClientException(String message) {
+        this(message, 0);
+    }
+
+    public DownstreamClientException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 }
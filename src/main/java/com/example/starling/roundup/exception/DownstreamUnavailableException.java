@@ -0,0 +1,24 @@
+package com.example.starling.roundup.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a Starling API call is rejected locally without being sent, because the circuit
+ * of its endpoint is open or its bulkhead is full.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DownstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before trying again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
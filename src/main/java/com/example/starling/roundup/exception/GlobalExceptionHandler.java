@@ -3,18 +3,32 @@ package com.example.starling.roundup.exception;
 import java.time.Instant;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.example.starling.roundup.util.FailFastScope;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     //Assumption: further effort to work on how to handle errors: log, alarm, retry or fix queue.
   
     // As all downstreams are interal apis, not sure if 502 is proper statusCode, may need further discussion
     @ExceptionHandler(DownstreamClientException.class)
     public ResponseEntity<String> handleDownstreamClientError(DownstreamClientException ex) {
+        countError(ex, HttpStatus.BAD_GATEWAY);
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
                 .body("Downstream api client error: " + ex.getMessage());
     }
@@ -22,12 +36,14 @@ public class GlobalExceptionHandler {
     // As all downstreams are interal apis, not sure if 502 is proper statusCode, may need further discussion
     @ExceptionHandler(DownstreamServerException.class)
     public ResponseEntity<String> handleDownstreamServerError(DownstreamServerException ex) {
+        countError(ex, HttpStatus.BAD_GATEWAY);
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
                 .body("Downstream api server error: " + ex.getMessage());
     }
 
     @ExceptionHandler(InsufficientBalanceException.class)
     public ResponseEntity<Object> handleInsufficientBalance(InsufficientBalanceException ex) {
+        countError(ex, HttpStatus.UNPROCESSABLE_ENTITY);
         Map<String, Object> body = Map.of(
             "timestamp", Instant.now(),
             "code", "InsufficientBalance",
@@ -40,6 +56,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidAccountDataException.class)
     public ResponseEntity<Object> handleInvalidAccountData(InvalidAccountDataException ex) {
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         Map<String, Object> body = Map.of(
             "timestamp", Instant.now(),
             "code", "InvalidAccountData",
@@ -52,6 +69,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<Object> handleAccountNotFound(AccountNotFoundException ex) {
+        countError(ex, HttpStatus.NOT_FOUND);
         Map<String, Object> body = Map.of(
             "timestamp", Instant.now(),
             "code", "AccountNotFound",
@@ -61,4 +79,83 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.NOT_FOUND)
                 .body(body);
     }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<Object> handleJobNotFound(JobNotFoundException ex) {
+        countError(ex, HttpStatus.NOT_FOUND);
+        Map<String, Object> body = Map.of(
+            "timestamp", Instant.now(),
+            "code", "JobNotFound",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(body);
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    public ResponseEntity<Object> handleInvalidBatchRequest(InvalidBatchRequestException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
+        Map<String, Object> body = Map.of(
+            "timestamp", Instant.now(),
+            "code", "InvalidBatchRequest",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(body);
+    }
+
+    @ExceptionHandler(FailFastScope.ScopeTimeoutException.class)
+    public ResponseEntity<Object> handleDownstreamTimeout(FailFastScope.ScopeTimeoutException ex) {
+        countError(ex, HttpStatus.GATEWAY_TIMEOUT);
+        Map<String, Object> body = Map.of(
+            "timestamp", Instant.now(),
+            "code", "DownstreamTimeout",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(body);
+    }
+
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<Object> handleDownstreamUnavailable(DownstreamUnavailableException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        Map<String, Object> body = Map.of(
+            "timestamp", Instant.now(),
+            "code", "DownstreamUnavailable",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(body);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloaded(ServiceOverloadedException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        Map<String, Object> body = Map.of(
+            "timestamp", Instant.now(),
+            "code", "ServiceOverloaded",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(body);
+    }
+
+    /**
+     * Counts every error returned to clients as {@code roundup.errors}, by exception and status.
+     */
+    private void countError(Exception ex, HttpStatus status) {
+        Counter.builder("roundup.errors")
+                .description("Errors returned to clients")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.starling.roundup.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.starling.roundup.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
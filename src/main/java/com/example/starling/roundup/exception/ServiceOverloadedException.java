@@ -0,0 +1,24 @@
+package com.example.starling.roundup.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is turned away because the service is already running as many
+ * round-ups as its concurrency limit allows.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before trying again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
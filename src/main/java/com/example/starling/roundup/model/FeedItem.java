@@ -1,17 +1,116 @@
 package com.example.starling.roundup.model;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * One item of a Starling transaction feed. Direction, status and source are read into enums, so
+ * that each value is one shared constant instead of a string per item; values the service does not
+ * know map to {@code UNKNOWN} or {@code OTHER} rather than failing the feed.
+ */
 public record FeedItem(
     UUID feedItemUid,
     UUID categoryUid,
     CurrencyAndAmount amount,
     CurrencyAndAmount sourceAmount,
-    String direction,
+    Direction direction,
     LocalDateTime updatedAt,
     LocalDateTime transactionTime,
     LocalDateTime settlementTime,
-    String source,
-    String status
-) {}
\ No newline at end of file
+    Source source,
+    Status status
+) {
+
+    /**
+     * Whether money left ({@code OUT}) or arrived in ({@code IN}) the account.
+     */
+    public enum Direction {
+        IN,
+        OUT,
+        UNKNOWN;
+
+        private static final Map<String, Direction> BY_NAME = byName(values());
+
+        @JsonCreator
+        public static Direction of(String name) {
+            return name == null ? UNKNOWN : BY_NAME.getOrDefault(name, UNKNOWN);
+        }
+    }
+
+    /**
+     * Where the transaction is in its life cycle. Only {@code SETTLED} is final and not undone.
+     * {@code UPCOMING}, {@code PENDING} and {@code RETRYING} transactions are still in progress and
+     * may yet settle; the other statuses no longer change.
+     */
+    public enum Status {
+        UPCOMING,
+        UPCOMING_CANCELLED,
+        PENDING,
+        REVERSED,
+        SETTLED,
+        DECLINED,
+        REFUNDED,
+        RETRYING,
+        ACCOUNT_CHECK,
+        UNKNOWN;
+
+        private static final Map<String, Status> BY_NAME = byName(values());
+
+        @JsonCreator
+        public static Status of(String name) {
+            return name == null ? UNKNOWN : BY_NAME.getOrDefault(name, UNKNOWN);
+        }
+
+        /**
+         * @return true if the transaction may still change status, e.g. from PENDING to SETTLED
+         */
+        public boolean isInProgress() {
+            return this == UPCOMING || this == PENDING || this == RETRYING;
+        }
+    }
+
+    /**
+     * Payment scheme or product the transaction came through. Starling has more sources than are
+     * listed here; the others read as {@code OTHER}.
+     */
+    public enum Source {
+        MASTER_CARD,
+        MASTERCARD_MONEYSEND,
+        MASTERCARD_CHARGEBACK,
+        FASTER_PAYMENTS_IN,
+        FASTER_PAYMENTS_OUT,
+        FASTER_PAYMENTS_REVERSAL,
+        FASTER_PAYMENTS_REFUND,
+        DIRECT_DEBIT,
+        DIRECT_DEBIT_DISPUTE,
+        DIRECT_CREDIT,
+        CHAPS,
+        CHEQUE,
+        CASH_DEPOSIT,
+        INTERNAL_TRANSFER,
+        INTEREST_PAYMENT,
+        OVERDRAFT,
+        SEPA_CREDIT_TRANSFER,
+        SEPA_DIRECT_DEBIT,
+        OTHER;
+
+        private static final Map<String, Source> BY_NAME = byName(values());
+
+        @JsonCreator
+        public static Source of(String name) {
+            return name == null ? OTHER : BY_NAME.getOrDefault(name, OTHER);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<String, E> byName(E[] values) {
+        Map<String, E> byName = new HashMap<>();
+        for (E value : values) {
+            byName.put(value.name(), value);
+        }
+        return byName;
+    }
+}
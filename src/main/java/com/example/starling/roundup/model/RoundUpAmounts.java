@@ -0,0 +1,16 @@
+package com.example.starling.roundup.model;
+
+import java.util.Map;
+
+/**
+ * Round-up amounts of a transaction feed read for a date range.
+ *
+ * @param byCurrency round-up amount in minor units per ISO currency code, in order of first appearance
+ * @param coverage describes the feed items the amounts were calculated from, the same for every read
+ *                 of the same items whatever the date range, so it can key the transfer
+ */
+public record RoundUpAmounts(
+    Map<String, Long> byCurrency,
+    String coverage
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.starling.roundup.model;
+
+/**
+ * Starts a batch round-up over the input file {@code input} in the batch directory. Passing the
+ * {@code batchId} of an earlier batch resumes it from its checkpoint.
+ */
+public record RoundUpBatchRequest(
+    String input,
+    String batchId
+) {}
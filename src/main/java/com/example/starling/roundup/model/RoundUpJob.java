@@ -0,0 +1,51 @@
+package com.example.starling.roundup.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A round-up submitted through the job API, as reported when polled.
+ *
+ * @param jobId id to poll the job by
+ * @param status where the job is in its lifecycle
+ * @param submittedAt when the job was accepted
+ * @param startedAt when a worker picked the job up, null while queued
+ * @param finishedAt when the job finished, null until it has
+ * @param result amount and transfer of the round-up, null unless the job succeeded
+ * @param errorCode kind of failure, e.g. {@code InsufficientBalance}, null unless the job failed
+ * @param error message of the failure, null unless the job failed
+ */
+public record RoundUpJob(
+    UUID jobId,
+    Status status,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    RoundUpResult result,
+    String errorCode,
+    String error
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public static RoundUpJob queued(UUID jobId, Instant submittedAt) {
+        return new RoundUpJob(jobId, Status.QUEUED, submittedAt, null, null, null, null, null);
+    }
+
+    public RoundUpJob running(Instant startedAt) {
+        return new RoundUpJob(jobId, Status.RUNNING, submittedAt, startedAt, null, null, null, null);
+    }
+
+    public RoundUpJob succeeded(RoundUpResult result, Instant finishedAt) {
+        return new RoundUpJob(jobId, Status.SUCCEEDED, submittedAt, startedAt, finishedAt, result, null, null);
+    }
+
+    public RoundUpJob failed(String errorCode, String error, Instant finishedAt) {
+        return new RoundUpJob(jobId, Status.FAILED, submittedAt, startedAt, finishedAt, null, errorCode, error);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.starling.roundup.model;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a successful round-up.
+ *
+ * @param accountUid the account that was rounded up
+ * @param outcome whether money was moved
+ * @param amount the round-up amount in minor units, 0 when there was nothing to transfer
+ * @param transferUid the transfer UID returned by Starling, null if nothing was transferred
+ */
+public record RoundUpResult(
+    UUID accountUid,
+    Outcome outcome,
+    long amount,
+    String transferUid
+) {
+
+    public enum Outcome {
+        TRANSFERRED,
+        NOTHING_TO_TRANSFER
+    }
+}
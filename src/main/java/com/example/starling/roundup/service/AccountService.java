@@ -27,6 +27,16 @@ public interface AccountService {
      */
     Account getDefaultAccount();
 
+    /**
+     * Retrieves one of the current user's accounts.
+     *
+     * @param accountUid the unique identifier of the account
+     * @return the Account
+     * @throws InvalidAccountDataException if account data is invalid
+     * @throws AccountNotFoundException if the user has no account with this UID
+     */
+    Account getAccount(UUID accountUid);
+
     /**
      * Retrieves the default savings category ID for the specified account.
      *
@@ -46,12 +46,7 @@ public class AccountServiceImpl implements AccountService {
     public Account getDefaultAccount() {
         log.debug("Retrieving default account");
 
-        List<Account> accounts = Optional.ofNullable(restTemplate.getForObject(GET_ACCOUNTS_PATH, AccountsResponse.class))
-                .map(AccountsResponse::accounts)
-                .orElseThrow(() -> {
-                    log.error("Failed to retrieve valid account data from API");
-                    return new InvalidAccountDataException("Account data not valid");
-                });
+        List<Account> accounts = getAccounts();
 
         if (accounts.isEmpty()) {
             log.error("No accounts found for user");
@@ -62,6 +57,34 @@ public class AccountServiceImpl implements AccountService {
         return accounts.get(0);
     }
 
+    /**
+     * {@inheritDoc} Looks the account up in the accounts API response.
+     *
+     * @throws InvalidAccountDataException if the API response is invalid
+     * @throws AccountNotFoundException if no account has this UID
+     */
+    @Override
+    public Account getAccount(UUID accountUid) {
+        log.debug("Retrieving account: {}", accountUid);
+
+        return getAccounts().stream()
+                .filter(account -> accountUid.equals(account.accountUid()))
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.error("Account {} not found for user", accountUid);
+                    return new AccountNotFoundException("Account not found");
+                });
+    }
+
+    private List<Account> getAccounts() {
+        return Optional.ofNullable(restTemplate.getForObject(GET_ACCOUNTS_PATH, AccountsResponse.class))
+                .map(AccountsResponse::accounts)
+                .orElseThrow(() -> {
+                    log.error("Failed to retrieve valid account data from API");
+                    return new InvalidAccountDataException("Account data not valid");
+                });
+    }
+
     /**
      * {@inheritDoc} Gets the default category from the provided account object.
      */
@@ -0,0 +1,150 @@
+package com.example.starling.roundup.service;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.model.Account;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.util.StarlingTokenContext;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * AccountService that caches the default account, and with it the default category, per API
+ * token in front of {@link AccountServiceImpl}.
+ * <p>
+ * Entries expire after {@code roundup.account-cache.ttl} and are reloaded in the background
+ * once older than {@code roundup.account-cache.refresh-after}, so a warm token never waits on
+ * the accounts API. Failed lookups are not cached. The balance is always fetched live; a 4xx
+ * from the balance API drops the cached account, since it usually means the account changed.
+ * <p>
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics with
+ * {@code cache=starling.default-account}.
+ */
+@Service
+@Primary
+public class CachingAccountService implements AccountService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingAccountService.class);
+
+    static final String CACHE_NAME = "starling.default-account";
+
+    private final AccountServiceImpl delegate;
+    private final StarlingApiConfig starlingApiConfig;
+    private final LoadingCache<String, Account> defaultAccounts;
+
+    @Autowired
+    public CachingAccountService(AccountServiceImpl delegate, StarlingApiConfig starlingApiConfig, RoundUpProperties roundUpProperties) {
+        this(delegate, starlingApiConfig, roundUpProperties, Ticker.systemTicker());
+    }
+
+    CachingAccountService(AccountServiceImpl delegate, StarlingApiConfig starlingApiConfig, RoundUpProperties roundUpProperties, Ticker ticker) {
+        this.delegate = delegate;
+        this.starlingApiConfig = starlingApiConfig;
+        this.defaultAccounts = buildCache(roundUpProperties.getAccountCache(), ticker);
+    }
+
+    private LoadingCache<String, Account> buildCache(RoundUpProperties.AccountCache settings, Ticker ticker) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtl())
+                .ticker(ticker)
+                .recordStats();
+        // refresh-ahead only makes sense while the entry is still live
+        if (settings.getRefreshAfter().compareTo(settings.getTtl()) < 0) {
+            builder.refreshAfterWrite(settings.getRefreshAfter());
+        }
+        // refreshes run on another thread, so the loader sets the token of the entry itself
+        return builder.build(token -> StarlingTokenContext.callWith(token, () -> {
+            log.debug("Loading default account into cache");
+            return delegate.getDefaultAccount();
+        }));
+    }
+
+    /**
+     * {@inheritDoc} Served from the cache for the current token when present.
+     */
+    @Override
+    public Account getDefaultAccount() {
+        if (defaultAccounts == null) {
+            return delegate.getDefaultAccount();
+        }
+        return defaultAccounts.get(currentToken());
+    }
+
+    /**
+     * {@inheritDoc} Never cached.
+     */
+    @Override
+    public Account getAccount(UUID accountUid) {
+        return delegate.getAccount(accountUid);
+    }
+
+    /**
+     * {@inheritDoc} The category is resolved from the (cached) account without an API call.
+     */
+    @Override
+    public UUID getDefaultCategory(Account account) {
+        return delegate.getDefaultCategory(account);
+    }
+
+    /**
+     * {@inheritDoc} Never cached.
+     */
+    @Override
+    public CurrencyAndAmount getEffectiveBalance(UUID accountUid) {
+        try {
+            return delegate.getEffectiveBalance(accountUid);
+        } catch (DownstreamClientException e) {
+            log.warn("Balance lookup rejected for account {}, dropping cached default account", accountUid);
+            invalidate();
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached default account of the current token.
+     */
+    public void invalidate() {
+        if (defaultAccounts != null) {
+            defaultAccounts.invalidate(currentToken());
+        }
+    }
+
+    /**
+     * Drops every cached default account.
+     */
+    public void invalidateAll() {
+        if (defaultAccounts != null) {
+            defaultAccounts.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (defaultAccounts != null) {
+            CaffeineCacheMetrics.monitor(registry, defaultAccounts, CACHE_NAME);
+        }
+    }
+
+    private String currentToken() {
+        return StarlingTokenContext.currentOr(starlingApiConfig.getToken());
+    }
+}
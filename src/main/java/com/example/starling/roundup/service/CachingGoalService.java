@@ -0,0 +1,187 @@
+package com.example.starling.roundup.service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.SavingsGoal;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * GoalService that caches the round-up savings goal per account in front of
+ * {@link GoalServiceImpl}.
+ * <p>
+ * The lookup (list goals, create if missing) runs at most once at a time per account: concurrent
+ * callers for the same account wait for the in-flight lookup and share its result instead of
+ * each creating a goal. Lookups that definitely found no usable account or goal (invalid data
+ * or a 404) are remembered for {@code roundup.goal-cache.negative-ttl} and answered with a new
+ * exception of the same kind without calling the API. Other 4xx responses, such as 401, 403 and
+ * 429, depend on the caller's token or on the moment, so they are never remembered. A transfer
+ * rejected with 404 drops the cached goal, so the next round-up resolves it again.
+ * <p>
+ * Statistics are published as {@code cache.*} metrics with {@code cache=starling.savings-goal}.
+ */
+@Service
+@Primary
+public class CachingGoalService implements GoalService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingGoalService.class);
+
+    static final String CACHE_NAME = "starling.savings-goal";
+
+    private final GoalServiceImpl delegate;
+    private final AsyncCache<UUID, SavingsGoal> goals;
+    private final Cache<UUID, RuntimeException> failedLookups;
+
+    @Autowired
+    public CachingGoalService(GoalServiceImpl delegate, RoundUpProperties roundUpProperties) {
+        this(delegate, roundUpProperties, Ticker.systemTicker());
+    }
+
+    CachingGoalService(GoalServiceImpl delegate, RoundUpProperties roundUpProperties, Ticker ticker) {
+        this.delegate = delegate;
+        RoundUpProperties.GoalCache settings = roundUpProperties.getGoalCache();
+        if (settings.isEnabled()) {
+            this.goals = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaximumSize())
+                    .expireAfterWrite(settings.getTtl())
+                    .ticker(ticker)
+                    .recordStats()
+                    .buildAsync();
+            this.failedLookups = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaximumSize())
+                    .expireAfterWrite(settings.getNegativeTtl())
+                    .ticker(ticker)
+                    .build();
+        } else {
+            this.goals = null;
+            this.failedLookups = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc} Served from the cache when present; otherwise one caller per account
+     * performs the lookup while the others wait for it.
+     */
+    @Override
+    public SavingsGoal getOrCreateSavingsGoal(UUID accountUid, String currency) {
+        if (goals == null) {
+            return delegate.getOrCreateSavingsGoal(accountUid, currency);
+        }
+        RuntimeException failure = failedLookups.getIfPresent(accountUid);
+        if (failure != null) {
+            log.debug("Savings goal lookup for account {} failed recently, not retrying yet", accountUid);
+            throw copyOf(failure);
+        }
+        // the lookup runs on the calling thread, never while holding a cache lock
+        CompletableFuture<SavingsGoal> lookup = new CompletableFuture<>();
+        CompletableFuture<SavingsGoal> cached = goals.get(accountUid, (key, executor) -> lookup);
+        if (cached != lookup) {
+            return join(cached);
+        }
+        try {
+            SavingsGoal goal = delegate.getOrCreateSavingsGoal(accountUid, currency);
+            lookup.complete(goal);
+            return goal;
+        } catch (RuntimeException e) {
+            if (isDefinite(e)) {
+                failedLookups.put(accountUid, e);
+            }
+            // failed futures are removed from the cache
+            lookup.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the failure says the account or its goal does not exist, whoever asks
+     */
+    private static boolean isDefinite(RuntimeException failure) {
+        return failure instanceof InvalidAccountDataException
+                || (failure instanceof DownstreamClientException clientError
+                        && clientError.getStatusCode() == HttpStatus.NOT_FOUND.value());
+    }
+
+    // each caller gets its own exception, with its own stack trace
+    private static RuntimeException copyOf(RuntimeException failure) {
+        if (failure instanceof DownstreamClientException clientError) {
+            return new DownstreamClientException(clientError.getMessage(), clientError.getStatusCode());
+        }
+        return new InvalidAccountDataException(failure.getMessage());
+    }
+
+    private static SavingsGoal join(CompletableFuture<SavingsGoal> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc} A 404 response drops the cached goal of the account.
+     */
+    @Override
+    public String transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount, UUID transferUid) {
+        try {
+            return delegate.transferToSavingsGoal(accountUid, savingsGoalUid, amount, transferUid);
+        } catch (DownstreamClientException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                log.warn("Savings goal {} not found for account {}, dropping cached goal", savingsGoalUid, accountUid);
+                invalidate(accountUid);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached goal and any remembered lookup failure of the account.
+     *
+     * @param accountUid the UUID of the account
+     */
+    public void invalidate(UUID accountUid) {
+        if (goals != null) {
+            goals.synchronous().invalidate(accountUid);
+            failedLookups.invalidate(accountUid);
+        }
+    }
+
+    /**
+     * Drops every cached goal and lookup failure.
+     */
+    public void invalidateAll() {
+        if (goals != null) {
+            goals.synchronous().invalidateAll();
+            failedLookups.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (goals != null) {
+            CaffeineCacheMetrics.monitor(registry, goals.synchronous(), CACHE_NAME);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.starling.roundup.service;
+
+/**
+ * Describes the feed items a round-up was calculated from by count, first and last transaction
+ * time and an order-independent digest of their UIDs, folded one item at a time so that the feed
+ * does not have to be held.
+ * <p>
+ * Transaction times are compared as sent; Starling sends ISO-8601 times in one format, which sort
+ * in time order. Not thread-safe.
+ */
+final class FeedCoverage {
+
+    private int items;
+    private long digest;
+    private String first;
+    private String last;
+
+    /**
+     * @param feedItemUid the UID of the item, may be null
+     * @param transactionTime the transaction time of the item as sent, may be null
+     */
+    void add(String feedItemUid, String transactionTime) {
+        items++;
+        if (feedItemUid != null) {
+            long hash = 1125899906842597L;
+            for (int i = 0; i < feedItemUid.length(); i++) {
+                hash = 31 * hash + feedItemUid.charAt(i);
+            }
+            digest += hash;
+        }
+        if (transactionTime != null) {
+            if (first == null || transactionTime.compareTo(first) < 0) {
+                first = transactionTime;
+            }
+            if (last == null || transactionTime.compareTo(last) > 0) {
+                last = transactionTime;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "feed|" + items + "|" + first + "|" + last + "|" + Long.toHexString(digest);
+    }
+}
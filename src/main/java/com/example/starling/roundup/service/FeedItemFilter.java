@@ -0,0 +1,90 @@
+package com.example.starling.roundup.service;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.model.FeedItem;
+
+/**
+ * The {@code roundup.filter} rules, compiled into lookup tables indexed by enum ordinal so that
+ * testing a feed item costs a few array reads and no string comparison.
+ * <p>
+ * Compiled once when the service is created and applied inside the loop that sums the round-ups,
+ * so filtering adds no pass over the feed. Instances are immutable and thread-safe, which the
+ * parallel reduction of large feeds relies on.
+ */
+public final class FeedItemFilter {
+
+    /**
+     * Rounds up every item, as when {@code roundup.filter.enabled} is false.
+     */
+    public static final FeedItemFilter ACCEPT_ALL = new FeedItemFilter(null, null, null, null);
+
+    // null when the rule accepts every value
+    private final boolean[] directions;
+    private final boolean[] statuses;
+    private final boolean[] sources;
+    private final Set<String> currencies;
+
+    private FeedItemFilter(boolean[] directions, boolean[] statuses, boolean[] sources, Set<String> currencies) {
+        this.directions = directions;
+        this.statuses = statuses;
+        this.sources = sources;
+        this.currencies = currencies;
+    }
+
+    public static FeedItemFilter compile(RoundUpProperties.Filter filter) {
+        if (!filter.isEnabled()) {
+            return ACCEPT_ALL;
+        }
+        boolean[] directions = table(FeedItem.Direction.values().length, filter.getDirections(), true);
+        boolean[] statuses = table(FeedItem.Status.values().length, filter.getStatuses(), true);
+        boolean[] sources = filter.getExcludedSources().isEmpty()
+                ? null
+                : table(FeedItem.Source.values().length, filter.getExcludedSources(), false);
+        Set<String> currencies = filter.getCurrencies().isEmpty() ? null : Set.copyOf(filter.getCurrencies());
+        return new FeedItemFilter(directions, statuses, sources, currencies);
+    }
+
+    /**
+     * @return true if the item is rounded up
+     */
+    public boolean test(FeedItem item) {
+        return test(item.direction(), item.status(), item.source(),
+                item.amount() != null ? item.amount().currency() : null);
+    }
+
+    /**
+     * Tests the fields of an item read without building a {@link FeedItem}. Null values are
+     * treated as {@code UNKNOWN} and {@code OTHER}.
+     *
+     * @return true if the item is rounded up
+     */
+    public boolean test(FeedItem.Direction direction, FeedItem.Status status, FeedItem.Source source, String currency) {
+        return (directions == null || directions[ordinal(direction, FeedItem.Direction.UNKNOWN)])
+                && (statuses == null || statuses[ordinal(status, FeedItem.Status.UNKNOWN)])
+                && (sources == null || sources[ordinal(source, FeedItem.Source.OTHER)])
+                && (currencies == null || (currency != null && currencies.contains(currency)));
+    }
+
+    /**
+     * @return true if no item is ever filtered out, so callers can skip reading the fields
+     */
+    public boolean acceptsAll() {
+        return directions == null && statuses == null && sources == null && currencies == null;
+    }
+
+    private static <E extends Enum<E>> boolean[] table(int size, Set<E> values, boolean listed) {
+        boolean[] table = new boolean[size];
+        Arrays.fill(table, !listed);
+        for (E value : values) {
+            table[value.ordinal()] = listed;
+        }
+        return table;
+    }
+
+    private static int ordinal(Enum<?> value, Enum<?> fallback) {
+        return (value != null ? value : fallback).ordinal();
+    }
+}
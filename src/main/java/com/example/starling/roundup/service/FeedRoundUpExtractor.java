@@ -0,0 +1,154 @@
+package com.example.starling.roundup.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.client.ResponseExtractor;
+
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.RoundUpAmounts;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Reads a transactions-between response token by token and sums the round-up of every item's
+ * {@code amount.minorUnits} per {@code amount.currency} as it is read, skipping the items its
+ * {@link FeedItemFilter} rejects.
+ * <p>
+ * No {@link FeedItem} objects are created and all other
+ * fields are skipped, so memory use does not grow with the size of the feed. The amounts are the
+ * same as {@link TransactionFeedItemService#calculateRoundUpAmountsByCurrency} over the
+ * deserialised items with the same filter. The UID and transaction time of the items rounded up
+ * are folded into a {@link FeedCoverage}, so the coverage depends only on those items.
+ */
+class FeedRoundUpExtractor implements ResponseExtractor<RoundUpAmounts> {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedRoundUpExtractor.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final FeedItemFilter filter;
+
+    /**
+     * Sums every item, see {@link FeedItemFilter#ACCEPT_ALL}.
+     */
+    FeedRoundUpExtractor() {
+        this(FeedItemFilter.ACCEPT_ALL);
+    }
+
+    FeedRoundUpExtractor(FeedItemFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    @NonNull
+    public RoundUpAmounts extractData(@NonNull ClientHttpResponse response) throws IOException {
+        FeedCoverage coverage = new FeedCoverage();
+        try (JsonParser parser = JSON_FACTORY.createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // empty body, same as a null response in the non-streaming client
+                return new RoundUpAmounts(Map.of(), coverage.toString());
+            }
+            boolean filtered = !filter.acceptsAll();
+            Item item = new Item();
+            RoundUpTotals totals = new RoundUpTotals();
+            int items = 0;
+            int skipped = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("feedItems".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readItem(parser, item, filtered);
+                        items++;
+                        if (filtered && !filter.test(item.direction, item.status, item.source, item.currency)) {
+                            skipped++;
+                            continue;
+                        }
+                        totals.add(item.currency, item.minorUnits);
+                        coverage.add(item.feedItemUid, item.transactionTime);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            Map<String, Long> amounts = totals.toMap();
+            log.debug("Calculated round-up amounts: {} from {} streamed transactions, {} filtered out", amounts, items,
+                    skipped);
+            return new RoundUpAmounts(amounts, coverage.toString());
+        }
+    }
+
+    /**
+     * Reads one feed item object, positioned on its START_OBJECT, into {@code item}. The fields
+     * only the filter needs are read when {@code filtered} is set; the currency is always read,
+     * since it decides the rounding, and so are the UID and transaction time the coverage needs.
+     */
+    private static void readItem(JsonParser parser, Item item, boolean filtered) throws IOException {
+        item.clear();
+        boolean amountFound = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("amount".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String amountField = parser.currentName();
+                    parser.nextToken();
+                    if ("minorUnits".equals(amountField)) {
+                        item.minorUnits = parser.getValueAsLong();
+                        amountFound = true;
+                    } else if ("currency".equals(amountField)) {
+                        item.currency = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("feedItemUid".equals(field)) {
+                item.feedItemUid = parser.getValueAsString();
+            } else if ("transactionTime".equals(field)) {
+                item.transactionTime = parser.getValueAsString();
+            } else if (filtered && "direction".equals(field)) {
+                item.direction = FeedItem.Direction.of(parser.getValueAsString());
+            } else if (filtered && "status".equals(field)) {
+                item.status = FeedItem.Status.of(parser.getValueAsString());
+            } else if (filtered && "source".equals(field)) {
+                item.source = FeedItem.Source.of(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!amountFound) {
+            throw new InvalidAccountDataException("Feed item amount missing");
+        }
+    }
+
+    /**
+     * The fields of the item being read, reused for every item of a response.
+     */
+    private static final class Item {
+
+        long minorUnits;
+        String currency;
+        String feedItemUid;
+        String transactionTime;
+        FeedItem.Direction direction;
+        FeedItem.Status status;
+        FeedItem.Source source;
+
+        void clear() {
+            minorUnits = 0;
+            currency = null;
+            feedItemUid = null;
+            transactionTime = null;
+            direction = null;
+            status = null;
+            source = null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.starling.roundup.service;
 import java.util.UUID;
 
 import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.SavingsGoal;
 
 /**
@@ -16,25 +17,31 @@ public interface GoalService {
 
     /**
      * Retrieves the existing savings goal for the given account by calling the
-     * Starling API. If no goal exists, a new savings goal is created.
+     * Starling API. If no goal exists, a new savings goal is created in the given currency.
      *
      * @param accountUid the UUID of the account
+     * @param currency the ISO currency code of the account, used for a new goal
      * @return the SavingsGoal for the account
      * @throws InvalidAccountDataException if the API response is null or
      * malformed
      */
-    SavingsGoal getOrCreateSavingsGoal(UUID accountUid);
+    SavingsGoal getOrCreateSavingsGoal(UUID accountUid, String currency);
 
     /**
      * Transfers the specified amount to a savings goal for the account via the
      * Starling API.
+     * <p>
+     * Starling applies a transfer UID at most once, so calling this again with the
+     * same UID, e.g. after a timeout, never moves the money twice.
+     * </p>
      *
      * @param accountUid the UUID of the account
      * @param savingsGoalUid the UUID of the savings goal
-     * @param amount the amount in minor currency units to transfer
+     * @param amount the currency and amount in minor units to transfer, in the currency of the account
+     * @param transferUid the idempotency key of the transfer
      * @return the unique transfer UID for tracking
      * @throws InvalidAccountDataException if the API response is null or
      * missing transfer UID
      */
-    String transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, long amount);
+    String transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount, UUID transferUid);
 }
@@ -1,14 +1,19 @@
 package com.example.starling.roundup.service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.exception.InvalidAccountDataException;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.SavingsGoal;
@@ -16,12 +21,16 @@ import com.example.starling.roundup.model.SavingsGoalRequest;
 import com.example.starling.roundup.model.SavingsGoalResponse;
 import com.example.starling.roundup.model.SavingsGoalTransferResponse;
 import com.example.starling.roundup.model.TopUpRequest;
+import com.example.starling.roundup.util.CurrencyRounding;
 
 /**
  * Implementation of the GoalService interface.
  * This service manages savings goals, including:
  * - Getting or creating a round-up savings goal
  * - Transferring funds to the savings goal
+ * <p>
+ * Transfers that fail with a 5xx or an I/O error are retried with the same transfer UID, which
+ * Starling applies at most once, up to {@code roundup.transfer.max-attempts} times.
  */
 @Service
 public class GoalServiceImpl implements GoalService {
@@ -31,12 +40,20 @@ public class GoalServiceImpl implements GoalService {
     private static final String GET_SAVINGS_GOALS_PATH = "/api/v2/account/%s/savings-goals";
     private static final String CREATE_SAVINGS_GOAL_PATH = "/api/v2/account/%s/savings-goals";
     private static final String TRANSFER_TO_GOAL_PATH = "/api/v2/account/%s/savings-goals/%s/add-money/%s";
+    private static final long TARGET_MAJOR_UNITS = 1000L;
 
     private final RestTemplate restTemplate;
+    private final RoundUpProperties.Transfer transfer;
     public final String ROUND_UP_SAVINGS_GOAL_NAME = "Round Up Savings";
 
     public GoalServiceImpl(RestTemplate restTemplate) {
+        this(restTemplate, new RoundUpProperties());
+    }
+
+    @Autowired
+    public GoalServiceImpl(RestTemplate restTemplate, RoundUpProperties roundUpProperties) {
         this.restTemplate = restTemplate;
+        this.transfer = roundUpProperties.getTransfer();
     }
 
     /**
@@ -44,7 +61,7 @@ public class GoalServiceImpl implements GoalService {
      * one.
      */
     @Override
-    public SavingsGoal getOrCreateSavingsGoal(UUID accountUid) {
+    public SavingsGoal getOrCreateSavingsGoal(UUID accountUid, String currency) {
         log.debug("Getting or creating savings goal for account: {}", accountUid);
 
         String url = String.format(GET_SAVINGS_GOALS_PATH, accountUid);
@@ -68,24 +85,25 @@ public class GoalServiceImpl implements GoalService {
 
         // none found or list empty, create new savings goal
         log.info("No Round Up Savings goal found, creating a new one for account {}", accountUid);
-        return createNewSavingsGoal(accountUid);
+        return createNewSavingsGoal(accountUid, currency);
     }
 
     /**
      * Creates a new savings goal for the round-up feature.
      *
      * @param accountUid the account to create the savings goal for
+     * @param currency the currency of the account, also that of the goal
      * @return the newly created SavingsGoal
      */
-    private SavingsGoal createNewSavingsGoal(UUID accountUid) {
+    private SavingsGoal createNewSavingsGoal(UUID accountUid, String currency) {
         // Assumption, set a random default target for Round Up Savings Goal. 
         // may need make it configurable, and logic to handle the case when target is achieved, or not set.
         log.debug("Creating new Round Up Savings goal for account: {}", accountUid);
 
         SavingsGoalRequest savingsGoalRequest = new SavingsGoalRequest(
                 ROUND_UP_SAVINGS_GOAL_NAME,
-                "GBP",
-                new CurrencyAndAmount("GBP", 100000L)
+                currency,
+                new CurrencyAndAmount(currency, TARGET_MAJOR_UNITS * CurrencyRounding.unitOf(currency))
         );
 
         String url = String.format(CREATE_SAVINGS_GOAL_PATH, accountUid);
@@ -101,14 +119,38 @@ public class GoalServiceImpl implements GoalService {
     }
 
     /**
-     * {@inheritDoc} Transfers the specified amount to the savings goal.
+     * {@inheritDoc} Transfers the specified amount to the savings goal, retrying 5xx and I/O
+     * failures with the same transfer UID.
      */
     @Override
-    public String transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, long amount) {
-        log.debug("Transferring {} to savings goal {} for account {}", amount, savingsGoalUid, accountUid);
+    public String transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount, UUID transferUid) {
+        Objects.requireNonNull(transferUid, "Transfer UID must not be null");
+        long backoffMillis = transfer.getRetryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return putTransfer(accountUid, savingsGoalUid, amount, transferUid);
+            } catch (DownstreamServerException | ResourceAccessException e) {
+                if (attempt >= transfer.getMaxAttempts()) {
+                    throw e;
+                }
+                log.warn("Transfer {} to savings goal {} failed (attempt {}), retrying: {}",
+                        transferUid, savingsGoalUid, attempt, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private String putTransfer(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount, UUID transferUid) {
+        log.debug("Transferring {} {} to savings goal {} for account {}, transfer ID: {}",
+                amount.minorUnits(), amount.currency(), savingsGoalUid, accountUid, transferUid);
 
-        String transferUid = UUID.randomUUID().toString();
-        TopUpRequest topUpRequest = new TopUpRequest(new CurrencyAndAmount("GBP", amount));
+        TopUpRequest topUpRequest = new TopUpRequest(amount);
 
         String url = String.format(TRANSFER_TO_GOAL_PATH, accountUid, savingsGoalUid, transferUid);
         ResponseEntity<SavingsGoalTransferResponse> response = restTemplate.exchange(
@@ -124,8 +166,8 @@ public class GoalServiceImpl implements GoalService {
             throw new InvalidAccountDataException("Transfer money to saving goal response invalid");
         }
 
-        log.info("Successfully transferred {} to savings goal {} for account {}, transfer ID: {}",
-                amount, savingsGoalUid, accountUid, body.transferUid());
+        log.info("Successfully transferred {} {} to savings goal {} for account {}, transfer ID: {}",
+                amount.minorUnits(), amount.currency(), savingsGoalUid, accountUid, body.transferUid());
         return body.transferUid();
     }
 }
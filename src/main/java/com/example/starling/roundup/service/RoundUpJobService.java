@@ -0,0 +1,26 @@
+package com.example.starling.roundup.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.example.starling.roundup.model.RoundUpJob;
+
+/**
+ * Runs round-ups in the background, so that callers do not hold a connection open for the
+ * whole chain of Starling API calls.
+ */
+public interface RoundUpJobService {
+
+    /**
+     * Queues a round-up of the default account.
+     *
+     * @return the queued job
+     * @throws com.example.starling.roundup.exception.ServiceOverloadedException if the job queue is full
+     */
+    RoundUpJob submit();
+
+    /**
+     * @return the job, or empty if it is unknown or no longer retained
+     */
+    Optional<RoundUpJob> find(UUID jobId);
+}
@@ -0,0 +1,101 @@
+package com.example.starling.roundup.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+import com.example.starling.roundup.model.RoundUpJob;
+import com.example.starling.roundup.model.RoundUpResult;
+import com.example.starling.roundup.util.Utils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs submitted round-ups on the {@code roundUpJobExecutor} workers through
+ * {@link RoundUpService}, and keeps each job for {@code roundup.jobs.retention} after it was last
+ * updated so that it can be polled.
+ * <p>
+ * Jobs live in memory only: they are lost on restart and are not shared between instances.
+ * Queue and worker statistics are published as {@code executor.*} metrics with
+ * {@code name=roundup.jobs}.
+ */
+@Service
+public class RoundUpJobServiceImpl implements RoundUpJobService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundUpJobServiceImpl.class);
+
+    // clients polling a rejected submission should back off for about as long as a round-up takes
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final RoundUpService roundUpService;
+    private final ExecutorService roundUpJobExecutor;
+    private final Cache<UUID, RoundUpJob> jobs;
+
+    public RoundUpJobServiceImpl(
+            RoundUpService roundUpService,
+            RoundUpProperties roundUpProperties,
+            @Qualifier("roundUpJobExecutor") ExecutorService roundUpJobExecutor) {
+        this.roundUpService = roundUpService;
+        this.roundUpJobExecutor = roundUpJobExecutor;
+        RoundUpProperties.Jobs settings = roundUpProperties.getJobs();
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getRetention())
+                .build();
+    }
+
+    @Override
+    public RoundUpJob submit() {
+        RoundUpJob job = RoundUpJob.queued(UUID.randomUUID(), Instant.now());
+        jobs.put(job.jobId(), job);
+        try {
+            roundUpJobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.jobId());
+            log.warn("Rejected round-up job: queue full");
+            throw new ServiceOverloadedException("Too many round-up jobs queued", RETRY_AFTER);
+        }
+        log.debug("Queued round-up job {}", job.jobId());
+        return job;
+    }
+
+    @Override
+    public Optional<RoundUpJob> find(UUID jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void run(RoundUpJob queued) {
+        RoundUpJob running = queued.running(Instant.now());
+        jobs.put(running.jobId(), running);
+        try {
+            RoundUpResult result = roundUpService.roundUpTransactions();
+            jobs.put(running.jobId(), running.succeeded(result, Instant.now()));
+            log.info("Round-up job {} succeeded: {}", running.jobId(), result.outcome());
+        } catch (RuntimeException e) {
+            jobs.put(running.jobId(), running.failed(Utils.errorCode(e), e.getMessage(), Instant.now()));
+            log.warn("Round-up job {} failed: {}", running.jobId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        new ExecutorServiceMetrics(roundUpJobExecutor, "roundup.jobs", List.<Tag>of()).bindTo(registry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.starling.roundup.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the round-up flow:
+ * <ul>
+ *   <li>{@code roundup.runs}: duration of whole round-ups, by outcome</li>
+ *   <li>{@code roundup.stage}: duration of each stage of a round-up, by stage and whether it
+ *       succeeded</li>
+ *   <li>{@code roundup.feed.items}: feed items rounded up per run</li>
+ *   <li>{@code roundup.amount}: round-up amount per run, in minor units</li>
+ * </ul>
+ * In {@code parallel} execution mode the savings goal, feed and balance stages overlap, so their
+ * times add up to more than the run.
+ */
+@Component
+public class RoundUpMetrics {
+
+    private final MeterRegistry registry;
+    private final DistributionSummary feedItems;
+    private final DistributionSummary amounts;
+
+    public RoundUpMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.feedItems = DistributionSummary.builder("roundup.feed.items")
+                .description("Feed items rounded up per run")
+                .baseUnit("items")
+                .register(registry);
+        this.amounts = DistributionSummary.builder("roundup.amount")
+                .description("Round-up amount per run, in minor units")
+                .baseUnit("minor_units")
+                .register(registry);
+    }
+
+    /**
+     * Runs one stage of a round-up and records its duration.
+     */
+    <T> T stage(String stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            Timer.builder("roundup.stage")
+                    .description("Duration of a stage of a round-up")
+                    .tag("stage", stage)
+                    .tag("outcome", succeeded ? "success" : "failure")
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void run(String outcome, long durationNanos) {
+        Timer.builder("roundup.runs")
+                .description("Duration of a round-up")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void feedItems(int count) {
+        feedItems.record(count);
+    }
+
+    void amount(long minorUnits) {
+        amounts.record(minorUnits);
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.starling.roundup.service;
 
+import java.util.UUID;
+
+import com.example.starling.roundup.model.RoundUpResult;
+
 /**
  * Service interface for orchestrating automated round-up operations on user transactions.
  * <p>
@@ -19,8 +23,20 @@ public interface RoundUpService {
      * and performing the transfer to the savings goal.
      * </p>
      *
+     * @return the amount rounded up and the transfer made, if any
      * @throws com.example.starling.roundup.exception.InvalidAccountDataException if account or category data is invalid
      * @throws com.example.starling.roundup.exception.InsufficientBalanceException if balance is insufficient for the transfer
      */
-    void roundUpTransactions();
+    RoundUpResult roundUpTransactions();
+
+    /**
+     * Executes the round-up process for one of the current user's accounts rather than the
+     * default one.
+     *
+     * @param accountUid the account to round up
+     * @return the amount rounded up and the transfer made, if any
+     * @throws com.example.starling.roundup.exception.AccountNotFoundException if the user has no account with this UID
+     * @throws com.example.starling.roundup.exception.InsufficientBalanceException if balance is insufficient for the transfer
+     */
+    RoundUpResult roundUpTransactions(UUID accountUid);
 }
@@ -1,19 +1,42 @@
 package com.example.starling.roundup.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.DownstreamClientException;
 import com.example.starling.roundup.exception.InsufficientBalanceException;
 import com.example.starling.roundup.model.Account;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.RoundUpAmounts;
+import com.example.starling.roundup.model.RoundUpResult;
 import com.example.starling.roundup.model.SavingsGoal;
+import com.example.starling.roundup.store.FeedWatermark;
+import com.example.starling.roundup.store.FeedWatermarkStore;
+import com.example.starling.roundup.store.RoundUpLedger;
+import com.example.starling.roundup.store.RoundUpRecord;
+import com.example.starling.roundup.util.CurrencyRounding;
+import com.example.starling.roundup.util.FailFastScope;
+import com.example.starling.roundup.util.SingleFlight;
+import com.example.starling.roundup.util.StarlingTokenContext;
+import com.example.starling.roundup.util.Utils;
 
 /**
  * Implementation of the RoundUpService interface.
@@ -21,6 +44,40 @@ import com.example.starling.roundup.model.SavingsGoal;
  * 1. Retrieving the user's transactions for the past week
  * 2. Calculating the round-up amount for these transactions
  * 3. Transferring the round-up amount to the user's savings goal
+ * <p>
+ * In {@link RoundUpProperties.Execution.Mode#PARALLEL PARALLEL} mode the savings goal, transaction
+ * feed and balance calls, which only depend on the account, run concurrently on the round-up
+ * executor, so the latency is that of the slowest call rather than the sum of all of them.
+ * The first failing call cancels the others and its exception is rethrown unchanged.
+ * <p>
+ * Concurrent round-ups for the same token join the one already running and share its outcome,
+ * so a burst of requests transfers the round-up once and repeats none of the downstream calls.
+ * <p>
+ * With {@code roundup.watermark.enabled}, the feed is only read from the account's stored
+ * watermark (less the configured overlap) instead of a full week, feed items already rounded up
+ * are skipped, and the watermark is advanced once the round-up has been transferred. A failed or
+ * rejected round-up leaves the watermark where it was, so its transactions are picked up again.
+ * Items left out by the {@code roundup.filter} rules while still in progress (e.g. PENDING) are
+ * not marked as processed, and the watermark does not move past the oldest of them, so they are
+ * read again and rounded up once they settle.
+ * <p>
+ * With {@code roundup.ledger.enabled}, every run that got as far as resolving the account is
+ * appended to the {@link RoundUpLedger} with its outcome, whether it succeeded or failed.
+ * <p>
+ * The transfer UID is derived from the account, savings goal, amount and the feed items covered
+ * (see {@link Utils#roundUpTransferUid}), so repeating a round-up over the same items reuses the
+ * UID and Starling applies it once. With the ledger enabled, the transfer is recorded as
+ * {@link RoundUpRecord.Status#PENDING PENDING} before it is sent. A transfer whose outcome is
+ * unknown (5xx, I/O error or crash) stays pending and is re-sent with the same UID at the start
+ * of the account's next round-up, whose watermark then skips the items it covered.
+ * <p>
+ * Round-ups are added up per currency, each item rounded to the next whole unit of its own
+ * currency, and the total in the account's currency is transferred in that currency to a goal in
+ * the same currency. Totals in other currencies cannot be moved without a conversion, so they are
+ * logged and left out.
+ * <p>
+ * The duration of every run and of each of its stages, the feed items rounded up and the amount
+ * are recorded in {@link RoundUpMetrics}.
  */
 @Service
 public class RoundUpServiceImpl implements RoundUpService {
@@ -30,14 +87,42 @@ public class RoundUpServiceImpl implements RoundUpService {
     private final TransactionFeedItemService transactionFeedItemService;
     private final GoalService goalService;
     private final AccountService accountService;
+    private final RoundUpProperties.Execution execution;
+    private final ExecutorService roundUpExecutor;
+    private final StarlingApiConfig starlingApiConfig;
+    private final boolean coalesceRoundUps;
+    private final boolean streamFeed;
+    private final FeedWatermarkStore watermarkStore;
+    private final Duration watermarkOverlap;
+    private final FeedItemFilter filter;
+    private final RoundUpLedger ledger;
+    private final RoundUpMetrics metrics;
+    private final SingleFlight<String, RoundUpResult> roundUpsInFlight = new SingleFlight<>();
 
     public RoundUpServiceImpl(
             TransactionFeedItemService transactionFeedItemService,
             GoalService goalService,
-            AccountService accountService) {
+            AccountService accountService,
+            RoundUpProperties roundUpProperties,
+            @Qualifier("roundUpExecutor") ExecutorService roundUpExecutor,
+            StarlingApiConfig starlingApiConfig,
+            FeedWatermarkStore watermarkStore,
+            RoundUpLedger ledger,
+            RoundUpMetrics metrics) {
         this.transactionFeedItemService = transactionFeedItemService;
         this.goalService = goalService;
         this.accountService = accountService;
+        this.execution = roundUpProperties.getExecution();
+        this.roundUpExecutor = roundUpExecutor;
+        this.starlingApiConfig = starlingApiConfig;
+        this.coalesceRoundUps = roundUpProperties.getCoalescing().isRoundUps();
+        this.streamFeed = roundUpProperties.getFeed().isStreaming();
+        RoundUpProperties.Watermark watermark = roundUpProperties.getWatermark();
+        this.watermarkStore = watermark.isEnabled() ? watermarkStore : null;
+        this.watermarkOverlap = watermark.getOverlap();
+        this.filter = FeedItemFilter.compile(roundUpProperties.getFilter());
+        this.ledger = roundUpProperties.getLedger().isEnabled() ? ledger : null;
+        this.metrics = metrics;
     }
 
     /**
@@ -53,58 +138,380 @@ public class RoundUpServiceImpl implements RoundUpService {
      * for the transfer
      */
     @Override
-    public void roundUpTransactions() {
+    public RoundUpResult roundUpTransactions() {
+        return roundUp(null);
+    }
+
+    /**
+     * {@inheritDoc} Same flow as {@link #roundUpTransactions()}, for the given account.
+     */
+    @Override
+    public RoundUpResult roundUpTransactions(UUID accountUid) {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        return roundUp(accountUid);
+    }
+
+    private RoundUpResult roundUp(UUID accountUid) {
+        if (!coalesceRoundUps) {
+            return run(accountUid);
+        }
+        String token = StarlingTokenContext.currentOr(starlingApiConfig.getToken());
+        return roundUpsInFlight.execute(accountUid == null ? token : token + "|" + accountUid, () -> run(accountUid));
+    }
+
+    private RoundUpResult run(UUID requestedAccountUid) {
+        RunTrace trace = new RunTrace();
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            RoundUpRecord.Status status = roundUp(trace, requestedAccountUid);
+            outcome = status.name().toLowerCase();
+            recordRun(trace, status, null);
+            return new RoundUpResult(trace.accountUid,
+                    status == RoundUpRecord.Status.TRANSFERRED
+                            ? RoundUpResult.Outcome.TRANSFERRED
+                            : RoundUpResult.Outcome.NOTHING_TO_TRANSFER,
+                    trace.amount,
+                    status == RoundUpRecord.Status.TRANSFERRED ? trace.transferUid : null);
+        } catch (InsufficientBalanceException e) {
+            outcome = "insufficient_balance";
+            recordRun(trace, RoundUpRecord.Status.INSUFFICIENT_BALANCE, e);
+            throw e;
+        } catch (RuntimeException e) {
+            // only a 4xx is a definite rejection; otherwise the transfer may have been applied
+            if (trace.pendingRecorded && !(e instanceof DownstreamClientException)) {
+                log.warn("Outcome of transfer {} unknown, leaving it pending: {}", trace.transferUid, e.getMessage());
+            } else {
+                recordRun(trace, RoundUpRecord.Status.FAILED, e);
+            }
+            throw e;
+        } finally {
+            metrics.run(outcome, System.nanoTime() - start);
+        }
+    }
+
+    private RoundUpRecord.Status roundUp(RunTrace trace, UUID requestedAccountUid) {
         log.info("Starting round-up transaction process");
 
-        // Get default account
-        Account defaultAccount = accountService.getDefaultAccount();
+        // Get default account, unless a specific one was asked for
+        Account defaultAccount = metrics.stage("account", () -> requestedAccountUid == null
+                ? accountService.getDefaultAccount()
+                : accountService.getAccount(requestedAccountUid));
         UUID accountUid = defaultAccount.accountUid();
-        log.debug("Using default account: {}", accountUid);
+        String currency = CurrencyRounding.orDefault(defaultAccount.currency());
+        trace.accountUid = accountUid;
+        log.debug("Using default account: {} ({})", accountUid, currency);
+
+        Set<UUID> recovered = metrics.stage("recovery", () -> completePendingTransfers(accountUid, currency));
 
         // Get default category
-        UUID defaultCategoryUid = accountService.getDefaultCategory(defaultAccount);
+        UUID defaultCategoryUid = metrics.stage("category", () -> accountService.getDefaultCategory(defaultAccount));
         log.debug("Using default category: {}", defaultCategoryUid);
 
-        // Get or create savings goal
-        SavingsGoal savingsGoal = goalService.getOrCreateSavingsGoal(accountUid);
-        log.debug("Using savings goal: {}", savingsGoal.savingsGoalUid());
-
-        // Get transactions for the last week and calculate round up amount
+        // Get savings goal and transactions for the last week
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime weekAgo = now.minus(7, ChronoUnit.DAYS);
-        log.debug("Fetching transactions from {} to {}", weekAgo, now);
+        FeedWatermark watermark = watermarkStore != null ? watermarkStore.find(accountUid).orElse(null) : null;
+        LocalDateTime from = fetchFrom(weekAgo, watermark);
+        log.debug("Fetching transactions from {} to {}", from, now);
+        trace.windowFrom = from;
+        trace.windowTo = now;
 
-        List<FeedItem> feedItems = transactionFeedItemService.getFeedItemsForDateRange(
-                accountUid,
-                defaultCategoryUid,
-                weekAgo,
-                now
-        );
+        FeedQuery feed = new FeedQuery(accountUid, currency, defaultCategoryUid, from, now, watermark, recovered);
+        RoundUpInputs inputs = execution.getMode() == RoundUpProperties.Execution.Mode.PARALLEL
+                ? fetchInputsInParallel(feed)
+                : fetchInputsSequentially(feed);
 
-        log.debug("Found {} transactions for processing", feedItems.size());
+        SavingsGoal savingsGoal = inputs.savingsGoal();
+        log.debug("Using savings goal: {}", savingsGoal.savingsGoalUid());
 
-        long totalRoundUp = transactionFeedItemService.calculateRoundUpAmount(feedItems);
+        FeedRoundUp feedRoundUp = inputs.feedRoundUp();
+        long totalRoundUp = feedRoundUp.total();
         log.info("Calculated total round-up amount: {}", totalRoundUp);
+        trace.savingsGoalUid = UUID.fromString(savingsGoal.savingsGoalUid());
+        trace.itemCount = feedRoundUp.itemCount();
+        trace.feedItemUids = feedRoundUp.feedItemUids();
+        trace.amount = totalRoundUp;
+        metrics.amount(totalRoundUp);
+        if (feedRoundUp.itemCount() != null) {
+            metrics.feedItems(feedRoundUp.itemCount());
+        }
 
         if (totalRoundUp > 0) {
-            CurrencyAndAmount balance = accountService.getEffectiveBalance(accountUid);
+            CurrencyAndAmount balance = inputs.balance().get();
             log.debug("Current account balance: {}", balance.minorUnits());
 
             if (balance.minorUnits() >= totalRoundUp) {
-                log.info("Transferring {} to savings goal {}", totalRoundUp, savingsGoal.savingsGoalUid());
-                goalService.transferToSavingsGoal(
+                UUID transferUid = Utils.roundUpTransferUid(
+                        accountUid, trace.savingsGoalUid, totalRoundUp, feedRoundUp.coverage());
+                trace.transferUid = transferUid.toString();
+                if (ledger != null) {
+                    // must be durable before the transfer is sent, so a failure here aborts the round-up
+                    ledger.append(trace.toRecord(RoundUpRecord.Status.PENDING, null, null));
+                    trace.pendingRecorded = true;
+                }
+                log.info("Transferring {} to savings goal {}, transfer ID: {}",
+                        totalRoundUp, savingsGoal.savingsGoalUid(), transferUid);
+                trace.transferUid = metrics.stage("transfer", () -> goalService.transferToSavingsGoal(
                         accountUid,
                         UUID.fromString(savingsGoal.savingsGoalUid()),
-                        totalRoundUp
-                );
+                        new CurrencyAndAmount(currency, totalRoundUp),
+                        transferUid
+                ));
+                saveWatermark(feedRoundUp.nextWatermark());
                 log.info("Round-up process completed successfully");
+                return RoundUpRecord.Status.TRANSFERRED;
             } else {
                 log.warn("Insufficient balance ({}) to transfer round-up amount ({})",
                         balance.minorUnits(), totalRoundUp);
                 throw new InsufficientBalanceException("Insufficient balance to round up");
             }
         } else {
+            saveWatermark(feedRoundUp.nextWatermark());
             log.info("No round-up amount to transfer");
+            return RoundUpRecord.Status.NOTHING_TO_TRANSFER;
+        }
+    }
+
+    private RoundUpInputs fetchInputsSequentially(FeedQuery feed) {
+        SavingsGoal savingsGoal = metrics.stage("savings_goal",
+                () -> goalService.getOrCreateSavingsGoal(feed.accountUid(), feed.currency()));
+        FeedRoundUp feedRoundUp = metrics.stage("feed", () -> calculateRoundUp(feed));
+        // balance is only fetched when there is something to transfer
+        return new RoundUpInputs(savingsGoal, feedRoundUp,
+                () -> metrics.stage("balance", () -> accountService.getEffectiveBalance(feed.accountUid())));
+    }
+
+    private RoundUpInputs fetchInputsInParallel(FeedQuery feed) {
+        try (FailFastScope scope = new FailFastScope(roundUpExecutor)) {
+            Supplier<SavingsGoal> savingsGoal = scope.fork(
+                    () -> metrics.stage("savings_goal",
+                            () -> goalService.getOrCreateSavingsGoal(feed.accountUid(), feed.currency())));
+            Supplier<FeedRoundUp> feedRoundUp = scope.fork(() -> metrics.stage("feed", () -> calculateRoundUp(feed)));
+            Supplier<CurrencyAndAmount> balance = scope.fork(
+                    () -> metrics.stage("balance", () -> accountService.getEffectiveBalance(feed.accountUid())));
+            scope.join(execution.getTimeout());
+            CurrencyAndAmount fetchedBalance = balance.get();
+            return new RoundUpInputs(savingsGoal.get(), feedRoundUp.get(), () -> fetchedBalance);
+        }
+    }
+
+    private FeedRoundUp calculateRoundUp(FeedQuery feed) {
+        // the streaming path yields only the total, so it cannot track which items were rounded up
+        if (streamFeed && watermarkStore == null) {
+            // keyed by the items read, not the window, whose end moves with every retry
+            RoundUpAmounts roundUps = transactionFeedItemService.calculateRoundUpAmountsByCurrencyForDateRange(
+                    feed.accountUid(), feed.categoryUid(), feed.from(), feed.to());
+            return new FeedRoundUp(accountCurrencyTotal(feed, roundUps.byCurrency()), null, List.of(),
+                    roundUps.coverage(), null);
+        }
+        List<FeedItem> feedItems = transactionFeedItemService.getFeedItemsForDateRange(
+                feed.accountUid(), feed.categoryUid(), feed.from(), feed.to());
+        log.debug("Found {} transactions for processing", feedItems.size());
+        if (watermarkStore == null) {
+            Map<String, Long> roundUps = transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems);
+            return new FeedRoundUp(accountCurrencyTotal(feed, roundUps), feedItems.size(),
+                    feedItemUidsToRecord(feed, feedItems), Utils.feedItemsCoverage(feedItems, feed.from(), feed.to()),
+                    null);
+        }
+        Set<UUID> processed = new HashSet<>(feed.recovered());
+        if (feed.watermark() != null) {
+            processed.addAll(feed.watermark().processedFeedItemUids());
         }
+        List<FeedItem> newItems = feedItems.stream()
+                .filter(item -> item.feedItemUid() == null || !processed.contains(item.feedItemUid()))
+                .toList();
+        log.debug("{} of {} transactions not rounded up yet", newItems.size(), feedItems.size());
+        Map<String, Long> roundUps = transactionFeedItemService.calculateRoundUpAmountsByCurrency(newItems);
+        return new FeedRoundUp(accountCurrencyTotal(feed, roundUps), newItems.size(),
+                feedItemUidsToRecord(feed, newItems), Utils.feedItemsCoverage(newItems, feed.from(), feed.to()),
+                nextWatermark(feed, feedItems));
     }
+
+    /**
+     * @return the round-up total in the account's currency; totals in other currencies are logged
+     */
+    private static long accountCurrencyTotal(FeedQuery feed, Map<String, Long> roundUps) {
+        for (Map.Entry<String, Long> roundUp : roundUps.entrySet()) {
+            if (!roundUp.getKey().equals(feed.currency()) && roundUp.getValue() > 0) {
+                log.warn("Leaving out round-up of {} {} for account {}, which holds {}",
+                        roundUp.getValue(), roundUp.getKey(), feed.accountUid(), feed.currency());
+            }
+        }
+        return roundUps.getOrDefault(feed.currency(), 0L);
+    }
+
+    private LocalDateTime fetchFrom(LocalDateTime weekAgo, FeedWatermark watermark) {
+        if (watermark == null) {
+            return weekAgo;
+        }
+        LocalDateTime resumeFrom = watermark.lastTransactionTime().minus(watermarkOverlap);
+        return resumeFrom.isAfter(weekAgo) ? resumeFrom : weekAgo;
+    }
+
+    /**
+     * Advances the watermark to the latest transaction fetched, but not past the oldest item that
+     * was left out while still in progress or for being in another currency, so the next fetch
+     * returns it again. Only the items within the overlap of the new watermark that were rounded
+     * up or will never be are remembered, since the next fetch cannot return older ones again.
+     */
+    private FeedWatermark nextWatermark(FeedQuery feed, List<FeedItem> feedItems) {
+        FeedWatermark previous = feed.watermark();
+        LocalDateTime latest = null;
+        LocalDateTime oldestUndecided = null;
+        for (FeedItem item : feedItems) {
+            LocalDateTime time = item.transactionTime();
+            if (time == null) {
+                continue;
+            }
+            if (latest == null || time.isAfter(latest)) {
+                latest = time;
+            }
+            if (!isDecided(item, feed.currency()) && (oldestUndecided == null || time.isBefore(oldestUndecided))) {
+                oldestUndecided = time;
+            }
+        }
+        if (oldestUndecided != null && latest.isAfter(oldestUndecided)) {
+            latest = oldestUndecided;
+        }
+        if (previous != null && (latest == null || previous.lastTransactionTime().isAfter(latest))) {
+            latest = previous.lastTransactionTime();
+        }
+        if (latest == null) {
+            return null;
+        }
+        LocalDateTime overlapStart = latest.minus(watermarkOverlap);
+        Set<UUID> processed = new HashSet<>();
+        for (FeedItem item : feedItems) {
+            if (item.feedItemUid() != null && isDecided(item, feed.currency())
+                    && (item.transactionTime() == null || !item.transactionTime().isBefore(overlapStart))) {
+                processed.add(item.feedItemUid());
+            }
+        }
+        return new FeedWatermark(feed.accountUid(), latest, processed);
+    }
+
+    /**
+     * @return true if the item was rounded up, or was left out and will never be rounded up; an
+     *         item in another currency than the account's was left out but not decided
+     */
+    private boolean isDecided(FeedItem item, String currency) {
+        if (filter.test(item)) {
+            return inCurrency(item, currency);
+        }
+        return item.status() == null || !item.status().isInProgress();
+    }
+
+    private static boolean inCurrency(FeedItem item, String currency) {
+        return item.amount() == null || CurrencyRounding.orDefault(item.amount().currency()).equals(currency);
+    }
+
+    private void saveWatermark(FeedWatermark watermark) {
+        if (watermarkStore != null && watermark != null) {
+            watermarkStore.save(watermark);
+        }
+    }
+
+    /**
+     * Re-sends the transfers of the account's runs left pending by a failure or crash, with their
+     * original transfer UIDs, and records their outcome.
+     *
+     * @return the feed items covered by the transfers that have now been applied
+     */
+    private Set<UUID> completePendingTransfers(UUID accountUid, String currency) {
+        if (ledger == null) {
+            return Set.of();
+        }
+        Set<UUID> covered = new HashSet<>();
+        for (RoundUpRecord pending : ledger.findPending(accountUid)) {
+            log.warn("Completing transfer {} of unfinished round-up run {}", pending.transferUid(), pending.runId());
+            try {
+                String transferUid = goalService.transferToSavingsGoal(accountUid, pending.savingsGoalUid(),
+                        new CurrencyAndAmount(currency, pending.amount()), UUID.fromString(pending.transferUid()));
+                ledger.append(resolved(pending, RoundUpRecord.Status.TRANSFERRED, transferUid, null));
+                covered.addAll(pending.feedItemUids());
+            } catch (DownstreamClientException e) {
+                // rejected, so its items are still to be rounded up
+                ledger.append(resolved(pending, RoundUpRecord.Status.FAILED, pending.transferUid(), e.getMessage()));
+            }
+        }
+        return covered;
+    }
+
+    private static RoundUpRecord resolved(RoundUpRecord pending, RoundUpRecord.Status status, String transferUid, String error) {
+        return new RoundUpRecord(pending.runId(), pending.accountUid(), pending.savingsGoalUid(), pending.windowFrom(),
+                pending.windowTo(), pending.itemCount(), pending.feedItemUids(), pending.amount(), transferUid, status,
+                error, pending.startedAt(), Instant.now());
+    }
+
+    // only collected when they are going to be written to the ledger; items in other currencies
+    // were not transferred, so they are left out
+    private List<UUID> feedItemUidsToRecord(FeedQuery feed, List<FeedItem> feedItems) {
+        if (ledger == null) {
+            return List.of();
+        }
+        return feedItems.stream()
+                .filter(item -> inCurrency(item, feed.currency()))
+                .map(FeedItem::feedItemUid)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void recordRun(RunTrace trace, RoundUpRecord.Status status, RuntimeException failure) {
+        if (ledger == null || trace.accountUid == null) {
+            return;
+        }
+        try {
+            ledger.append(trace.toRecord(status, failure != null ? failure.getMessage() : null, Instant.now()));
+        } catch (RuntimeException e) {
+            // the outcome of the round-up stands, only its record is lost
+            log.error("Failed to record round-up run {} in the ledger", trace.runId, e);
+        }
+    }
+
+    /**
+     * What a run has done so far, filled in as it progresses and written to the ledger at the end.
+     */
+    private static final class RunTrace {
+        final UUID runId = UUID.randomUUID();
+        final Instant startedAt = Instant.now();
+        UUID accountUid;
+        UUID savingsGoalUid;
+        LocalDateTime windowFrom;
+        LocalDateTime windowTo;
+        Integer itemCount;
+        List<UUID> feedItemUids;
+        long amount;
+        String transferUid;
+        boolean pendingRecorded;
+
+        RoundUpRecord toRecord(RoundUpRecord.Status status, String error, Instant finishedAt) {
+            return new RoundUpRecord(runId, accountUid, savingsGoalUid, windowFrom, windowTo, itemCount, feedItemUids,
+                    amount, transferUid, status, error, startedAt, finishedAt);
+        }
+    }
+
+    private record FeedQuery(
+            UUID accountUid,
+            String currency,
+            UUID categoryUid,
+            LocalDateTime from,
+            LocalDateTime to,
+            FeedWatermark watermark,
+            Set<UUID> recovered
+    ) {}
+
+    private record FeedRoundUp(
+            long total,
+            Integer itemCount,
+            List<UUID> feedItemUids,
+            String coverage,
+            FeedWatermark nextWatermark
+    ) {}
+
+    private record RoundUpInputs(
+            SavingsGoal savingsGoal,
+            FeedRoundUp feedRoundUp,
+            Supplier<CurrencyAndAmount> balance
+    ) {}
 }
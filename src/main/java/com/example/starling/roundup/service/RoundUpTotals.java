@@ -0,0 +1,84 @@
+package com.example.starling.roundup.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.util.CurrencyRounding;
+import com.example.starling.roundup.util.Utils;
+
+/**
+ * Round-up totals per currency, added up in a single pass over a feed.
+ * <p>
+ * A feed has one or a few currencies, so they are kept in small parallel arrays with the rounding
+ * unit of each looked up once, when the currency is first seen; consecutive items in the same
+ * currency find their slot without a search. Items without a currency count as
+ * {@link CurrencyRounding#DEFAULT_CURRENCY}. Sums use {@link Math#addExact}, like the single total.
+ * <p>
+ * Not thread-safe: a parallel reduction gives each thread its own instance and merges them.
+ */
+final class RoundUpTotals {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] currencies = new String[INITIAL_CAPACITY];
+    private long[] units = new long[INITIAL_CAPACITY];
+    private long[] totals = new long[INITIAL_CAPACITY];
+    private int size;
+    private int last = -1;
+
+    void add(FeedItem item) {
+        Objects.requireNonNull(item.amount(), "Feed item amount must not be null");
+        add(item.amount().currency(), item.amount().minorUnits());
+    }
+
+    /**
+     * Adds the round-up of a transaction amount to the total of its currency.
+     */
+    void add(String currency, long minorUnits) {
+        int slot = slot(CurrencyRounding.orDefault(currency));
+        totals[slot] = Math.addExact(totals[slot], Utils.calculateRoundUp(minorUnits, units[slot]));
+    }
+
+    void merge(RoundUpTotals other) {
+        for (int i = 0; i < other.size; i++) {
+            int slot = slot(other.currencies[i]);
+            totals[slot] = Math.addExact(totals[slot], other.totals[i]);
+        }
+    }
+
+    /**
+     * @return the total of every currency seen, zero totals included, in order of first appearance
+     */
+    Map<String, Long> toMap() {
+        Map<String, Long> amounts = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            amounts.put(currencies[i], totals[i]);
+        }
+        return Collections.unmodifiableMap(amounts);
+    }
+
+    private int slot(String currency) {
+        if (last >= 0 && currencies[last].equals(currency)) {
+            return last;
+        }
+        for (int i = 0; i < size; i++) {
+            if (currencies[i].equals(currency)) {
+                last = i;
+                return i;
+            }
+        }
+        if (size == currencies.length) {
+            currencies = Arrays.copyOf(currencies, size * 2);
+            units = Arrays.copyOf(units, size * 2);
+            totals = Arrays.copyOf(totals, size * 2);
+        }
+        currencies[size] = currency;
+        units[size] = CurrencyRounding.unitOf(currency);
+        last = size;
+        return size++;
+    }
+}
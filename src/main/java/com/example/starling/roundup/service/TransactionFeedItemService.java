@@ -2,9 +2,11 @@ package com.example.starling.roundup.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.RoundUpAmounts;
 
 /**
  * Service interface for fetching transaction feed items and calculating round-up amounts.
@@ -22,10 +24,60 @@ public interface TransactionFeedItemService {
     List<FeedItem> getFeedItemsForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to);
 
     /**
-     * Calculates the total round-up amount from a list of feed items.
+     * Calculates the total round-up amount from a list of feed items, counting only the items the
+     * {@code roundup.filter} rules accept (by default settled outgoing payments). Each item is
+     * rounded up to the next whole unit of its own currency, so the total is only meaningful for a
+     * feed in one currency; see {@link #calculateRoundUpAmountsByCurrency(List)}.
      *
      * @param feedItems list of FeedItem objects
      * @return total round-up amount in minor currency units
      */
     long calculateRoundUpAmount(List<FeedItem> feedItems);
+
+    /**
+     * Calculates the round-up amount of each currency in a list of feed items in one pass, with
+     * the same rules and rounding as {@link #calculateRoundUpAmount(List)}.
+     *
+     * @param feedItems list of FeedItem objects
+     * @return round-up amount in minor units per ISO currency code, in order of first appearance
+     */
+    Map<String, Long> calculateRoundUpAmountsByCurrency(List<FeedItem> feedItems);
+
+    /**
+     * Calculates the total round-up amount of the transactions for the given account and category
+     * between the specified dates. Implementations may fold the amounts while reading the
+     * response instead of building the list of feed items.
+     *
+     * @param accountUUID the UUID of the account
+     * @param categoryId the UUID of the category
+     * @param from the start date-time (inclusive)
+     * @param to the end date-time (inclusive)
+     * @return total round-up amount in minor currency units
+     */
+    default long calculateRoundUpAmountForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to) {
+        return calculateRoundUpAmount(getFeedItemsForDateRange(accountUUID, categoryId, from, to));
+    }
+
+    /**
+     * Calculates the round-up amount of each currency of the transactions for the given account and
+     * category between the specified dates, folding the amounts while reading the response like
+     * {@link #calculateRoundUpAmountForDateRange} where the implementation can, and describes the
+     * feed items they were calculated from.
+     *
+     * @param accountUUID the UUID of the account
+     * @param categoryId the UUID of the category
+     * @param from the start date-time (inclusive)
+     * @param to the end date-time (inclusive)
+     * @return round-up amount in minor units per ISO currency code, with the coverage of the items
+     */
+    default RoundUpAmounts calculateRoundUpAmountsByCurrencyForDateRange(UUID accountUUID, UUID categoryId,
+            LocalDateTime from, LocalDateTime to) {
+        List<FeedItem> feedItems = getFeedItemsForDateRange(accountUUID, categoryId, from, to);
+        FeedCoverage coverage = new FeedCoverage();
+        for (FeedItem item : feedItems) {
+            coverage.add(item.feedItemUid() != null ? item.feedItemUid().toString() : null,
+                    item.transactionTime() != null ? item.transactionTime().toString() : null);
+        }
+        return new RoundUpAmounts(calculateRoundUpAmountsByCurrency(feedItems), coverage.toString());
+    }
 }
@@ -1,18 +1,39 @@
 package com.example.starling.roundup.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.starling.roundup.config.CoalescingGetInterceptor;
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.model.FeedItem;
 import com.example.starling.roundup.model.FeedItems;
+import com.example.starling.roundup.model.RoundUpAmounts;
+import com.example.starling.roundup.util.FailFastScope;
 import com.example.starling.roundup.util.Utils;
 
 /**
@@ -40,14 +61,74 @@ public class TransactionFeedItemServiceImpl implements TransactionFeedItemServic
     private static final Logger log = LoggerFactory.getLogger(TransactionFeedItemServiceImpl.class);
     
     private final RestTemplate restTemplate;
+    private final int parallelThreshold;
+    private final RoundUpProperties.Feed feed;
+    private final Duration fetchTimeout;
+    private final ExecutorService feedWindowExecutor;
+    private final int windowMaxAttempts;
+    private final FeedItemFilter filter;
+    private final ToLongFunction<FeedItem> itemRoundUp;
 
     /**
-     * Constructs a new TransactionFeedItemServiceImpl with the specified RestTemplate.
+     * Constructs a new TransactionFeedItemServiceImpl with the specified RestTemplate and the
+     * default settings.
      * 
      * @param restTemplate the RestTemplate to use for API communication
      */
     public TransactionFeedItemServiceImpl(RestTemplate restTemplate) {
+        this(restTemplate, new RoundUpProperties());
+    }
+
+    /**
+     * Constructs a new TransactionFeedItemServiceImpl with the specified RestTemplate and settings.
+     * Windows of a windowed fetch are fetched one after another on the calling thread.
+     *
+     * @param restTemplate the RestTemplate to use for API communication
+     * @param roundUpProperties supplies the {@code roundup.feed} settings
+     */
+    public TransactionFeedItemServiceImpl(RestTemplate restTemplate, RoundUpProperties roundUpProperties) {
+        this(restTemplate, roundUpProperties, null);
+    }
+
+    /**
+     * Constructs a new TransactionFeedItemServiceImpl with the specified RestTemplate, settings and
+     * executor for concurrent window fetches, retrying each window up to
+     * {@code roundup.feed.window-max-attempts} times.
+     *
+     * @param restTemplate the RestTemplate to use for API communication
+     * @param roundUpProperties supplies the {@code roundup.feed} settings
+     * @param feedWindowExecutor runs the window fetches, or null to fetch them on the calling thread
+     */
+    public TransactionFeedItemServiceImpl(RestTemplate restTemplate, RoundUpProperties roundUpProperties,
+            ExecutorService feedWindowExecutor) {
+        this(restTemplate, roundUpProperties, null, feedWindowExecutor);
+    }
+
+    /**
+     * Constructs a new TransactionFeedItemServiceImpl with the specified RestTemplate, settings and
+     * executor for concurrent window fetches. When the RestTemplate already retries feed requests
+     * ({@code starling.api.resilience} enabled with more than one feed attempt), each window is
+     * fetched once, so that the two retries do not multiply the calls to Starling.
+     *
+     * @param restTemplate the RestTemplate to use for API communication
+     * @param roundUpProperties supplies the {@code roundup.feed} settings
+     * @param starlingApiConfig supplies the {@code starling.api.resilience} settings, or null if the
+     *        RestTemplate does not retry
+     * @param feedWindowExecutor runs the window fetches, or null to fetch them on the calling thread
+     */
+    @Autowired
+    public TransactionFeedItemServiceImpl(RestTemplate restTemplate, RoundUpProperties roundUpProperties,
+            StarlingApiConfig starlingApiConfig, @Qualifier("feedWindowExecutor") ExecutorService feedWindowExecutor) {
         this.restTemplate = restTemplate;
+        this.feed = roundUpProperties.getFeed();
+        this.parallelThreshold = feed.getParallelThreshold();
+        this.fetchTimeout = roundUpProperties.getExecution().getTimeout();
+        this.feedWindowExecutor = feedWindowExecutor;
+        this.windowMaxAttempts = retriesFeedRequests(starlingApiConfig) ? 1 : feed.getWindowMaxAttempts();
+        this.filter = FeedItemFilter.compile(roundUpProperties.getFilter());
+        this.itemRoundUp = filter.acceptsAll()
+                ? Utils::calculateItemRoundUp
+                : item -> filter.test(item) ? Utils.calculateItemRoundUp(item) : 0L;
     }
 
     /**
@@ -71,6 +152,14 @@ public class TransactionFeedItemServiceImpl implements TransactionFeedItemServic
      */
     @Override
     public List<FeedItem> getFeedItemsForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to) {
+        List<TimeWindow> windows = splitIntoWindows(from, to);
+        if (windows.size() > 1) {
+            return fetchWindows(accountUUID, categoryId, windows);
+        }
+        return fetchFeedItems(accountUUID, categoryId, from, to);
+    }
+
+    private List<FeedItem> fetchFeedItems(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to) {
         String url = Utils.buildTransactionUrl(accountUUID, categoryId, from, to);
         log.debug("Fetching transactions for account {} and category {} from {} to {}", accountUUID, categoryId, from, to);
         
@@ -81,18 +170,121 @@ public class TransactionFeedItemServiceImpl implements TransactionFeedItemServic
                 .orElse(Collections.emptyList());
     }
 
+    /**
+     * Splits the range into consecutive windows of {@code roundup.feed.window}; the last one may
+     * be shorter. Returns the whole range as a single window when windowing is off.
+     */
+    List<TimeWindow> splitIntoWindows(LocalDateTime from, LocalDateTime to) {
+        Duration window = feed.getWindow();
+        if (window == null || window.isZero() || window.isNegative() || !from.plus(window).isBefore(to)) {
+            return List.of(new TimeWindow(from, to));
+        }
+        List<TimeWindow> windows = new ArrayList<>();
+        for (LocalDateTime start = from; start.isBefore(to); start = start.plus(window)) {
+            LocalDateTime end = start.plus(window);
+            windows.add(new TimeWindow(start, end.isBefore(to) ? end : to));
+        }
+        return windows;
+    }
+
+    /**
+     * Fetches every window with at most {@code roundup.feed.max-concurrent-windows} in flight and
+     * merges them in window order, keeping the first occurrence of each feedItemUid (an item
+     * exactly on a window boundary is returned by both windows). A failing window is retried on
+     * its own; once it runs out of attempts the whole fetch fails and the other windows are
+     * cancelled.
+     */
+    private List<FeedItem> fetchWindows(UUID accountUUID, UUID categoryId, List<TimeWindow> windows) {
+        log.debug("Fetching transactions for account {} in {} windows", accountUUID, windows.size());
+        AtomicReferenceArray<List<FeedItem>> results = new AtomicReferenceArray<>(windows.size());
+        AtomicInteger nextWindow = new AtomicInteger();
+        // each worker takes the next unfetched window until none are left, bounding the concurrency
+        Runnable worker = () -> {
+            for (int i = nextWindow.getAndIncrement(); i < windows.size(); i = nextWindow.getAndIncrement()) {
+                TimeWindow window = windows.get(i);
+                results.set(i, fetchWindowWithRetry(accountUUID, categoryId, window));
+            }
+        };
+
+        int workers = Math.min(feed.getMaxConcurrentWindows(), windows.size());
+        if (feedWindowExecutor == null || workers == 1) {
+            worker.run();
+        } else {
+            try (FailFastScope scope = new FailFastScope(feedWindowExecutor)) {
+                for (int w = 0; w < workers; w++) {
+                    scope.fork(() -> {
+                        worker.run();
+                        return null;
+                    });
+                }
+                scope.join(fetchTimeout);
+            }
+        }
+
+        Map<UUID, FeedItem> merged = new LinkedHashMap<>();
+        List<FeedItem> withoutUid = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            for (FeedItem item : results.get(i)) {
+                if (item.feedItemUid() == null) {
+                    withoutUid.add(item);
+                } else {
+                    merged.putIfAbsent(item.feedItemUid(), item);
+                }
+            }
+        }
+        List<FeedItem> feedItems = new ArrayList<>(merged.values());
+        feedItems.addAll(withoutUid);
+        return feedItems;
+    }
+
+    private static boolean retriesFeedRequests(StarlingApiConfig starlingApiConfig) {
+        return starlingApiConfig != null
+                && starlingApiConfig.getResilience().isEnabled()
+                && starlingApiConfig.getResilience().getFeed().getMaxAttempts() > 1;
+    }
+
+    private List<FeedItem> fetchWindowWithRetry(UUID accountUUID, UUID categoryId, TimeWindow window) {
+        long backoffMillis = feed.getWindowRetryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return fetchFeedItems(accountUUID, categoryId, window.from(), window.to());
+            } catch (DownstreamServerException | ResourceAccessException e) {
+                if (attempt >= windowMaxAttempts) {
+                    throw e;
+                }
+                log.warn("Fetching transactions from {} to {} failed (attempt {}), retrying: {}",
+                        window.from(), window.to(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    record TimeWindow(LocalDateTime from, LocalDateTime to) {}
+
     /**
      * {@inheritDoc}
      * <p>
      * Implementation details:
      * <ul>
-     *   <li>Uses Java Streams to process each feed item</li>
+     *   <li>Uses Java Streams to process each feed item; lists of at least
+     *       {@code roundup.feed.parallel-threshold} items are reduced in parallel on the common
+     *       fork-join pool</li>
+     *   <li>Sums with {@link Math#addExact}, so both paths give the same exact result and an
+     *       overflow raises {@link ArithmeticException} instead of wrapping</li>
+     *   <li>Skips the items rejected by the {@code roundup.filter} rules in the same pass, see
+     *       {@link FeedItemFilter}</li>
      *   <li>Delegates the individual round-up calculation to Utils.calculateItemRoundUp</li>
      *   <li>Handles empty lists gracefully by returning zero</li>
      * </ul>
      * <p>
-     * The calculation rounds each transaction up to the nearest pound and sums these round-up values.
-     * For example:
+     * The calculation rounds each transaction up to the next whole unit of its currency and sums
+     * these round-up values. For example:
      * <pre>
      *    £2.35 transaction -> round up to £3.00 -> round-up amount = £0.65
      *    £5.00 transaction -> round up to £5.00 -> round-up amount = £0.00
@@ -100,11 +292,77 @@ public class TransactionFeedItemServiceImpl implements TransactionFeedItemServic
      */
     @Override
     public long calculateRoundUpAmount(List<FeedItem> feedItems) {
-        long roundUpAmount = feedItems.stream()
-                .mapToLong(Utils::calculateItemRoundUp)
-                .sum();
-        
-        log.debug("Calculated round-up amount: {} from {} transactions", roundUpAmount, feedItems.size());
+        boolean parallel = feedItems.size() >= parallelThreshold;
+        LongStream roundUps = (parallel ? feedItems.parallelStream() : feedItems.stream())
+                .mapToLong(itemRoundUp);
+        // integer addition is associative, so the parallel reduction equals the sequential one
+        long roundUpAmount = roundUps.reduce(0L, Math::addExact);
+
+        log.debug("Calculated round-up amount: {} from {} transactions{}", roundUpAmount, feedItems.size(),
+                parallel ? " (parallel)" : "");
         return roundUpAmount;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Filters and adds up the items in the same pass, into {@link RoundUpTotals} that look up the
+     * rounding unit of each currency once; lists of at least {@code roundup.feed.parallel-threshold}
+     * items are reduced in parallel, with one set of totals per thread.
+     */
+    @Override
+    public Map<String, Long> calculateRoundUpAmountsByCurrency(List<FeedItem> feedItems) {
+        boolean parallel = feedItems.size() >= parallelThreshold;
+        Stream<FeedItem> items = parallel ? feedItems.parallelStream() : feedItems.stream();
+        if (!filter.acceptsAll()) {
+            items = items.filter(filter::test);
+        }
+        Map<String, Long> roundUpAmounts = items.collect(RoundUpTotals::new, RoundUpTotals::add, RoundUpTotals::merge)
+                .toMap();
+
+        log.debug("Calculated round-up amounts: {} from {} transactions{}", roundUpAmounts, feedItems.size(),
+                parallel ? " (parallel)" : "");
+        return roundUpAmounts;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Streams the response through {@link FeedRoundUpExtractor}, so the feed is never held in
+     * memory as a list of {@link FeedItem}s.
+     */
+    @Override
+    public long calculateRoundUpAmountForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to) {
+        long roundUpAmount = 0;
+        for (long amount : calculateRoundUpAmountsByCurrencyForDateRange(accountUUID, categoryId, from, to)
+                .byCurrency().values()) {
+            roundUpAmount = Math.addExact(roundUpAmount, amount);
+        }
+        return roundUpAmount;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Streams the response through {@link FeedRoundUpExtractor}, as
+     * {@link #calculateRoundUpAmountForDateRange} does. The request is marked with
+     * {@link CoalescingGetInterceptor#STREAMING_HEADER} so that GET coalescing does not buffer the feed.
+     */
+    @Override
+    public RoundUpAmounts calculateRoundUpAmountsByCurrencyForDateRange(UUID accountUUID, UUID categoryId,
+            LocalDateTime from, LocalDateTime to) {
+        String url = Utils.buildTransactionUrl(accountUUID, categoryId, from, to);
+        log.debug("Streaming transactions for account {} and category {} from {} to {}", accountUUID, categoryId, from, to);
+
+        RoundUpAmounts roundUpAmounts = restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    request.getHeaders().set(CoalescingGetInterceptor.STREAMING_HEADER, "true");
+                },
+                new FeedRoundUpExtractor(filter)
+        );
+        return roundUpAmounts != null ? roundUpAmounts : new RoundUpAmounts(Map.of(), new FeedCoverage().toString());
+    }
 }
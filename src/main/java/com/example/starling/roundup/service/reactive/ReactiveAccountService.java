@@ -0,0 +1,43 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.util.UUID;
+
+import com.example.starling.roundup.model.Account;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link com.example.starling.roundup.service.AccountService}.
+ * Errors are signalled through the returned {@link Mono} with the same exceptions as the
+ * blocking service.
+ */
+public interface ReactiveAccountService {
+
+    /**
+     * Retrieves the default account for the current user.
+     *
+     * @return the default Account, or an error with
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if the account data is invalid
+     * or {@link com.example.starling.roundup.exception.AccountNotFoundException} if no account is found
+     */
+    Mono<Account> getDefaultAccount();
+
+    /**
+     * Retrieves the default savings category ID for the specified account.
+     *
+     * @param account the account to retrieve the default category from
+     * @return the UUID of the default category, or an error with
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if it is missing
+     */
+    Mono<UUID> getDefaultCategory(Account account);
+
+    /**
+     * Retrieves the effective balance for the specified account.
+     *
+     * @param accountUid the unique identifier of the account
+     * @return the effective balance, or an error with
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if it cannot be fetched
+     */
+    Mono<CurrencyAndAmount> getEffectiveBalance(UUID accountUid);
+}
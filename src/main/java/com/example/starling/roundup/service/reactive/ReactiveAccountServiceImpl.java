@@ -0,0 +1,94 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.starling.roundup.exception.AccountNotFoundException;
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.Account;
+import com.example.starling.roundup.model.AccountsResponse;
+import com.example.starling.roundup.model.Balance;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient implementation of the ReactiveAccountService interface, following the same
+ * assumptions as {@link com.example.starling.roundup.service.AccountServiceImpl}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAccountServiceImpl.class);
+
+    private static final String GET_ACCOUNTS_PATH = "/api/v2/accounts";
+    private static final String GET_BALANCE_PATH = "/api/v2/accounts/{accountUid}/balance";
+
+    private final WebClient webClient;
+
+    public ReactiveAccountServiceImpl(WebClient starlingWebClient) {
+        this.webClient = starlingWebClient;
+    }
+
+    /**
+     * {@inheritDoc} Uses the first account from the accounts API as the default account.
+     */
+    @Override
+    public Mono<Account> getDefaultAccount() {
+        log.debug("Retrieving default account");
+
+        return webClient.get()
+                .uri(GET_ACCOUNTS_PATH)
+                .retrieve()
+                .bodyToMono(AccountsResponse.class)
+                .flatMap(response -> Mono.justOrEmpty(response.accounts()))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to retrieve valid account data from API");
+                    return new InvalidAccountDataException("Account data not valid");
+                }))
+                .flatMap(accounts -> {
+                    if (accounts.isEmpty()) {
+                        log.error("No accounts found for user");
+                        return Mono.error(new AccountNotFoundException("Account not found"));
+                    }
+                    log.debug("Retrieved default account with ID: {}", accounts.get(0).accountUid());
+                    return Mono.just(accounts.get(0));
+                });
+    }
+
+    /**
+     * {@inheritDoc} Gets the default category from the provided account object.
+     */
+    @Override
+    public Mono<UUID> getDefaultCategory(Account account) {
+        return Mono.justOrEmpty(account.defaultCategory())
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Account {} does not have a default category", account.accountUid());
+                    return new InvalidAccountDataException("Account does not have default category");
+                }));
+    }
+
+    /**
+     * {@inheritDoc} Fetches the account balance from the balance API endpoint.
+     */
+    @Override
+    public Mono<CurrencyAndAmount> getEffectiveBalance(UUID accountUid) {
+        log.debug("Fetching effective balance for account: {}", accountUid);
+
+        return webClient.get()
+                .uri(GET_BALANCE_PATH, accountUid)
+                .retrieve()
+                .bodyToMono(Balance.class)
+                .flatMap(balance -> Mono.justOrEmpty(balance.effectiveBalance()))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to fetch balance for account: {}", accountUid);
+                    return new InvalidAccountDataException("Failed to fetch account balance");
+                }));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.util.UUID;
+
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.SavingsGoal;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link com.example.starling.roundup.service.GoalService}.
+ */
+public interface ReactiveGoalService {
+
+    /**
+     * Retrieves the existing round-up savings goal for the given account, creating it in the given
+     * currency if none exists.
+     *
+     * @param accountUid the UUID of the account
+     * @param currency the ISO currency code of the account, used for a new goal
+     * @return the SavingsGoal for the account, or an error with
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if the response is invalid
+     */
+    Mono<SavingsGoal> getOrCreateSavingsGoal(UUID accountUid, String currency);
+
+    /**
+     * Transfers the specified amount to a savings goal for the account. Starling applies a transfer
+     * UID at most once, so calling this again with the same UID does not move the money twice.
+     *
+     * @param accountUid the UUID of the account
+     * @param savingsGoalUid the UUID of the savings goal
+     * @param amount the currency and amount in minor units to transfer, in the currency of the account
+     * @param transferUid the idempotency key of the transfer
+     * @return the unique transfer UID, or an error with
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if the response is invalid
+     */
+    Mono<String> transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount, UUID transferUid);
+}
@@ -0,0 +1,113 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.SavingsGoal;
+import com.example.starling.roundup.model.SavingsGoalRequest;
+import com.example.starling.roundup.model.SavingsGoalResponse;
+import com.example.starling.roundup.model.SavingsGoalTransferResponse;
+import com.example.starling.roundup.model.TopUpRequest;
+import com.example.starling.roundup.util.CurrencyRounding;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient implementation of the ReactiveGoalService interface, mirroring
+ * {@link com.example.starling.roundup.service.GoalServiceImpl}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+public class ReactiveGoalServiceImpl implements ReactiveGoalService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGoalServiceImpl.class);
+
+    private static final String SAVINGS_GOALS_PATH = "/api/v2/account/{accountUid}/savings-goals";
+    private static final String TRANSFER_TO_GOAL_PATH = "/api/v2/account/{accountUid}/savings-goals/{savingsGoalUid}/add-money/{transferUid}";
+
+    public static final String ROUND_UP_SAVINGS_GOAL_NAME = "Round Up Savings";
+
+    private static final long TARGET_MAJOR_UNITS = 1000L;
+
+    private final WebClient webClient;
+
+    public ReactiveGoalServiceImpl(WebClient starlingWebClient) {
+        this.webClient = starlingWebClient;
+    }
+
+    /**
+     * {@inheritDoc} Finds an existing Round Up Savings goal or creates a new one.
+     */
+    @Override
+    public Mono<SavingsGoal> getOrCreateSavingsGoal(UUID accountUid, String currency) {
+        log.debug("Getting or creating savings goal for account: {}", accountUid);
+
+        return webClient.get()
+                .uri(SAVINGS_GOALS_PATH, accountUid)
+                .retrieve()
+                .bodyToMono(SavingsGoalResponse.class)
+                .flatMap(response -> Mono.justOrEmpty(response.savingsGoalList()))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Received invalid response for savings goals for account: {}", accountUid);
+                    return new InvalidAccountDataException("Get savings goals response invalid");
+                }))
+                .flatMap(savingsGoalList -> savingsGoalList.stream()
+                        .filter(goal -> ROUND_UP_SAVINGS_GOAL_NAME.equals(goal.name()))
+                        .findFirst()
+                        .map(Mono::just)
+                        .orElseGet(() -> {
+                            log.info("No Round Up Savings goal found, creating a new one for account {}", accountUid);
+                            return createNewSavingsGoal(accountUid, currency);
+                        }));
+    }
+
+    private Mono<SavingsGoal> createNewSavingsGoal(UUID accountUid, String currency) {
+        SavingsGoalRequest savingsGoalRequest = new SavingsGoalRequest(
+                ROUND_UP_SAVINGS_GOAL_NAME,
+                currency,
+                new CurrencyAndAmount(currency, TARGET_MAJOR_UNITS * CurrencyRounding.unitOf(currency))
+        );
+
+        return webClient.post()
+                .uri(SAVINGS_GOALS_PATH, accountUid)
+                .bodyValue(savingsGoalRequest)
+                .retrieve()
+                .bodyToMono(SavingsGoal.class)
+                .doOnNext(newGoal -> log.info("Created new Round Up Savings goal: {} for account: {}",
+                        newGoal.savingsGoalUid(), accountUid));
+    }
+
+    /**
+     * {@inheritDoc} Transfers the specified amount to the savings goal under the caller's transfer UID.
+     */
+    @Override
+    public Mono<String> transferToSavingsGoal(UUID accountUid, UUID savingsGoalUid, CurrencyAndAmount amount,
+            UUID transferUid) {
+        Objects.requireNonNull(transferUid, "Transfer UID must not be null");
+        log.debug("Transferring {} {} to savings goal {} for account {}, transfer ID: {}", amount.minorUnits(),
+                amount.currency(), savingsGoalUid, accountUid, transferUid);
+
+        TopUpRequest topUpRequest = new TopUpRequest(amount);
+
+        return webClient.put()
+                .uri(TRANSFER_TO_GOAL_PATH, accountUid, savingsGoalUid, transferUid)
+                .bodyValue(topUpRequest)
+                .retrieve()
+                .bodyToMono(SavingsGoalTransferResponse.class)
+                .flatMap(body -> Mono.justOrEmpty(body.transferUid()))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Transfer to savings goal failed for account: {}, goal: {}", accountUid, savingsGoalUid);
+                    return new InvalidAccountDataException("Transfer money to saving goal response invalid");
+                }))
+                .doOnNext(uid -> log.info("Successfully transferred {} {} to savings goal {} for account {}, transfer ID: {}",
+                        amount.minorUnits(), amount.currency(), savingsGoalUid, accountUid, uid));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.starling.roundup.service.reactive;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link com.example.starling.roundup.service.RoundUpService}.
+ */
+public interface ReactiveRoundUpService {
+
+    /**
+     * Executes the round-up process for the default account.
+     *
+     * @return completes when the round-up is done, or signals
+     * {@link com.example.starling.roundup.exception.InvalidAccountDataException} if account or category data is invalid
+     * and {@link com.example.starling.roundup.exception.InsufficientBalanceException} if balance is insufficient
+     */
+    Mono<Void> roundUpTransactions();
+}
@@ -0,0 +1,106 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InsufficientBalanceException;
+import com.example.starling.roundup.model.Account;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.service.TransactionFeedItemService;
+import com.example.starling.roundup.util.CurrencyRounding;
+import com.example.starling.roundup.util.Utils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking round-up pipeline. Once the default account is known, the savings goal, the
+ * transaction feed and the balance are fetched concurrently; the first error cancels the other
+ * calls. No thread is held while waiting for the Starling API.
+ * <p>
+ * The round-up amount is computed with {@link TransactionFeedItemService#calculateRoundUpAmountsByCurrency},
+ * which does no I/O, so both pipelines share the same calculation, and transferred in the
+ * account's currency. The transfer UID is derived from the account, savings goal, amount and the
+ * feed items covered, as in the blocking pipeline, so a repeated round-up over the same items
+ * reuses it and Starling applies the transfer once.
+ * <p>
+ * The pipeline has no ledger, watermark, goal cache, round-up coalescing or stage metrics. So
+ * that switching clients cannot silently drop the record of pending transfers or re-read what a
+ * watermark skipped, it refuses to start when {@code roundup.ledger.enabled} or
+ * {@code roundup.watermark.enabled} is set.
+ */
+@Service
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+public class ReactiveRoundUpServiceImpl implements ReactiveRoundUpService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRoundUpServiceImpl.class);
+
+    private final ReactiveTransactionFeedItemService transactionFeedItemService;
+    private final ReactiveGoalService goalService;
+    private final ReactiveAccountService accountService;
+    private final TransactionFeedItemService roundUpCalculator;
+
+    public ReactiveRoundUpServiceImpl(
+            ReactiveTransactionFeedItemService transactionFeedItemService,
+            ReactiveGoalService goalService,
+            ReactiveAccountService accountService,
+            TransactionFeedItemService roundUpCalculator,
+            RoundUpProperties roundUpProperties) {
+        if (roundUpProperties.getLedger().isEnabled() || roundUpProperties.getWatermark().isEnabled()) {
+            throw new IllegalStateException("starling.api.client=reactive does not support roundup.ledger.enabled "
+                    + "or roundup.watermark.enabled; use the blocking client or disable them");
+        }
+        this.transactionFeedItemService = transactionFeedItemService;
+        this.goalService = goalService;
+        this.accountService = accountService;
+        this.roundUpCalculator = roundUpCalculator;
+    }
+
+    @Override
+    public Mono<Void> roundUpTransactions() {
+        return accountService.getDefaultAccount()
+                .doOnSubscribe(subscription -> log.info("Starting round-up transaction process"))
+                .flatMap(this::roundUp);
+    }
+
+    private Mono<Void> roundUp(Account account) {
+        UUID accountUid = account.accountUid();
+        String currency = CurrencyRounding.orDefault(account.currency());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime weekAgo = now.minus(7, ChronoUnit.DAYS);
+
+        return accountService.getDefaultCategory(account)
+                .flatMap(categoryUid -> Mono.zip(
+                        goalService.getOrCreateSavingsGoal(accountUid, currency),
+                        transactionFeedItemService.getFeedItemsForDateRange(accountUid, categoryUid, weekAgo, now),
+                        accountService.getEffectiveBalance(accountUid)))
+                .flatMap(inputs -> {
+                    long totalRoundUp = roundUpCalculator.calculateRoundUpAmountsByCurrency(inputs.getT2())
+                            .getOrDefault(currency, 0L);
+                    log.info("Calculated total round-up amount: {}", totalRoundUp);
+                    if (totalRoundUp <= 0) {
+                        log.info("No round-up amount to transfer");
+                        return Mono.empty();
+                    }
+                    long balance = inputs.getT3().minorUnits();
+                    if (balance < totalRoundUp) {
+                        log.warn("Insufficient balance ({}) to transfer round-up amount ({})", balance, totalRoundUp);
+                        return Mono.error(new InsufficientBalanceException("Insufficient balance to round up"));
+                    }
+                    UUID savingsGoalUid = UUID.fromString(inputs.getT1().savingsGoalUid());
+                    UUID transferUid = Utils.roundUpTransferUid(accountUid, savingsGoalUid, totalRoundUp,
+                            Utils.feedItemsCoverage(inputs.getT2(), weekAgo, now));
+                    log.info("Transferring {} to savings goal {}, transfer ID: {}", totalRoundUp, savingsGoalUid, transferUid);
+                    return goalService.transferToSavingsGoal(accountUid, savingsGoalUid,
+                                    new CurrencyAndAmount(currency, totalRoundUp), transferUid)
+                            .doOnNext(uid -> log.info("Round-up process completed successfully"));
+                })
+                .then();
+    }
+}
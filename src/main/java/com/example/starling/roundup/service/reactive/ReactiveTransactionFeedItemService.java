@@ -0,0 +1,28 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.example.starling.roundup.model.FeedItem;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the fetch side of
+ * {@link com.example.starling.roundup.service.TransactionFeedItemService}. The round-up
+ * calculation is CPU-only and stays on the blocking service interface.
+ */
+public interface ReactiveTransactionFeedItemService {
+
+    /**
+     * Retrieves transaction feed items for the given account and category between the specified dates.
+     *
+     * @param accountUUID the UUID of the account
+     * @param categoryId the UUID of the category
+     * @param from the start date-time (inclusive)
+     * @param to the end date-time (inclusive)
+     * @return list of FeedItem objects, or an empty list if none are found or the API returns no body
+     */
+    Mono<List<FeedItem>> getFeedItemsForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to);
+}
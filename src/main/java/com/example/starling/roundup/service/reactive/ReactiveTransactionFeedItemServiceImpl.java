@@ -0,0 +1,49 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.FeedItems;
+import com.example.starling.roundup.util.Utils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient implementation of the ReactiveTransactionFeedItemService interface.
+ *
+ * @see Utils#buildTransactionUrl(UUID, UUID, LocalDateTime, LocalDateTime)
+ */
+@Service
+@ConditionalOnProperty(prefix = "starling.api", name = "client", havingValue = "reactive")
+public class ReactiveTransactionFeedItemServiceImpl implements ReactiveTransactionFeedItemService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTransactionFeedItemServiceImpl.class);
+
+    private final WebClient webClient;
+
+    public ReactiveTransactionFeedItemServiceImpl(WebClient starlingWebClient) {
+        this.webClient = starlingWebClient;
+    }
+
+    @Override
+    public Mono<List<FeedItem>> getFeedItemsForDateRange(UUID accountUUID, UUID categoryId, LocalDateTime from, LocalDateTime to) {
+        String url = Utils.buildTransactionUrl(accountUUID, categoryId, from, to);
+        log.debug("Fetching transactions for account {} and category {} from {} to {}", accountUUID, categoryId, from, to);
+
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(FeedItems.class)
+                .flatMap(feedItems -> Mono.justOrEmpty(feedItems.feedItems()))
+                .defaultIfEmpty(Collections.emptyList());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.starling.roundup.store;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * How far the transaction feed of an account has been rounded up.
+ *
+ * @param accountUid the account the watermark belongs to
+ * @param lastTransactionTime the latest {@code transactionTime} that has been rounded up
+ * @param processedFeedItemUids feed items already rounded up that a later fetch can still return,
+ *        i.e. those close enough to {@code lastTransactionTime} to fall inside the fetch overlap
+ */
+public record FeedWatermark(
+        UUID accountUid,
+        LocalDateTime lastTransactionTime,
+        Set<UUID> processedFeedItemUids
+) {
+
+    public FeedWatermark {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        Objects.requireNonNull(lastTransactionTime, "Last transaction time must not be null");
+        processedFeedItemUids = processedFeedItemUids == null ? Set.of() : Set.copyOf(processedFeedItemUids);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.starling.roundup.store;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persists the {@link FeedWatermark} of each account between round-ups.
+ */
+public interface FeedWatermarkStore {
+
+    /**
+     * Returns the watermark of the given account.
+     *
+     * @param accountUid the UUID of the account
+     * @return the stored watermark, or empty if the account has not been rounded up yet
+     */
+    Optional<FeedWatermark> find(UUID accountUid);
+
+    /**
+     * Stores the watermark of its account, replacing any previous one.
+     *
+     * @param watermark the watermark to store
+     */
+    void save(FeedWatermark watermark);
+}
@@ -0,0 +1,93 @@
+package com.example.starling.roundup.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * FeedWatermarkStore keeping one JSON file per account in {@code roundup.watermark.directory}.
+ * <p>
+ * A watermark is written to a temporary file in the same directory and then moved over the
+ * previous one, so a crash mid-write leaves either the old or the new watermark, never a
+ * partial file. Watermarks are kept in memory once read, and the files are only read again
+ * after a restart.
+ */
+@Component
+public class FileFeedWatermarkStore implements FeedWatermarkStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileFeedWatermarkStore.class);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<UUID, Optional<FeedWatermark>> watermarks = new ConcurrentHashMap<>();
+
+    public FileFeedWatermarkStore(RoundUpProperties roundUpProperties, ObjectMapper objectMapper) {
+        this.directory = roundUpProperties.getWatermark().getDirectory();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Optional<FeedWatermark> find(UUID accountUid) {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        return watermarks.computeIfAbsent(accountUid, this::read);
+    }
+
+    @Override
+    public void save(FeedWatermark watermark) {
+        Objects.requireNonNull(watermark, "Watermark must not be null");
+        Path target = fileOf(watermark.accountUid());
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, watermark.accountUid() + "-", ".tmp");
+            try {
+                objectMapper.writeValue(temp.toFile(), watermark);
+                moveAtomically(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write feed watermark " + target, e);
+        }
+        watermarks.put(watermark.accountUid(), Optional.of(watermark));
+        log.debug("Saved feed watermark {} for account {}", watermark.lastTransactionTime(), watermark.accountUid());
+    }
+
+    private Optional<FeedWatermark> read(UUID accountUid) {
+        Path file = fileOf(accountUid);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), FeedWatermark.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read feed watermark " + file, e);
+        }
+    }
+
+    private Path fileOf(UUID accountUid) {
+        return directory.resolve(accountUid + ".json");
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
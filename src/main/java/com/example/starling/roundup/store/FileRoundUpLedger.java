@@ -0,0 +1,310 @@
+package com.example.starling.roundup.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * RoundUpLedger writing one JSON line per run to segment files in {@code roundup.ledger.directory}.
+ * <p>
+ * Appends only ever write sequentially at the end of the active segment, which is rolled over to
+ * a new file once it reaches {@code roundup.ledger.segment-size}; records are not flushed to disk
+ * on every append unless {@code roundup.ledger.fsync} is set, except
+ * {@link RoundUpRecord.Status#PENDING PENDING} ones, which are always forced so that the transfer
+ * UID they hold survives a host crash once the transfer has been sent. An in-memory index maps each account
+ * to the file position of its records ordered by start time, so a query reads only the matching
+ * lines, and pending runs are tracked until a later record of the same run resolves them. The
+ * index is rebuilt on first use by scanning the memory-mapped segments, and a last line
+ * left incomplete by a crash is cut off before appending resumes.
+ */
+@Component
+public class FileRoundUpLedger implements RoundUpLedger, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FileRoundUpLedger.class);
+
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final byte NEWLINE = '\n';
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    private final ConcurrentMap<UUID, ConcurrentNavigableMap<IndexKey, Location>> index = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, ConcurrentNavigableMap<IndexKey, Location>> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, IndexKey> pendingKeys = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    // guarded by writeLock
+    private FileChannel active;
+    private int activeSegment;
+    private long activeSize;
+
+    public FileRoundUpLedger(RoundUpProperties roundUpProperties, ObjectMapper objectMapper) {
+        RoundUpProperties.Ledger settings = roundUpProperties.getLedger();
+        this.directory = settings.getDirectory();
+        this.segmentSize = settings.getSegmentSize().toBytes();
+        this.fsync = settings.isFsync();
+        this.writer = objectMapper.writerFor(RoundUpRecord.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.reader = objectMapper.readerFor(RoundUpRecord.class);
+    }
+
+    @Override
+    public void append(RoundUpRecord record) {
+        Objects.requireNonNull(record, "Record must not be null");
+        byte[] line = serialize(record);
+        ensureLoaded();
+        writeLock.lock();
+        try {
+            if (active == null) {
+                openSegment(Math.max(activeSegment, 1));
+            }
+            if (activeSize > 0 && activeSize + line.length > segmentSize) {
+                openSegment(activeSegment + 1);
+            }
+            long offset = activeSize;
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            if (fsync || record.status() == RoundUpRecord.Status.PENDING) {
+                active.force(false);
+            }
+            activeSize += line.length;
+            addToIndex(record, new Location(activeSegment, offset, line.length - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to round-up ledger " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<RoundUpRecord> findByAccount(UUID accountUid, Instant from, Instant to) {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        Objects.requireNonNull(from, "From time must not be null");
+        Objects.requireNonNull(to, "To time must not be null");
+        ensureLoaded();
+        ConcurrentNavigableMap<IndexKey, Location> runs = index.get(accountUid);
+        if (runs == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return readAll(runs.subMap(new IndexKey(from, Long.MIN_VALUE), new IndexKey(to, Long.MIN_VALUE)).values());
+    }
+
+    @Override
+    public List<RoundUpRecord> findPending(UUID accountUid) {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        ensureLoaded();
+        ConcurrentNavigableMap<IndexKey, Location> runs = pending.get(accountUid);
+        return runs == null ? List.of() : readAll(runs.values());
+    }
+
+    private List<RoundUpRecord> readAll(Collection<Location> locations) {
+        Map<Integer, FileChannel> channels = new HashMap<>();
+        try {
+            List<RoundUpRecord> records = new ArrayList<>();
+            for (Location location : locations) {
+                FileChannel channel = channels.get(location.segment());
+                if (channel == null) {
+                    channel = FileChannel.open(segmentFile(location.segment()), StandardOpenOption.READ);
+                    channels.put(location.segment(), channel);
+                }
+                records.add(read(channel, location));
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read round-up ledger " + directory, e);
+        } finally {
+            channels.values().forEach(FileRoundUpLedger::closeQuietly);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        writeLock.lock();
+        try {
+            if (active != null) {
+                closeQuietly(active);
+                active = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!loaded) {
+                load();
+                loaded = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load round-up ledger " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Integer> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name, SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length(), 10))
+                    .sorted()
+                    .toList();
+        }
+        long records = 0;
+        for (int segment : segments) {
+            records += scan(segment);
+            activeSegment = segment;
+        }
+        log.info("Loaded {} round-up ledger records from {} segments in {}", records, segments.size(), directory);
+    }
+
+    /**
+     * Indexes every complete line of a segment, and truncates an incomplete last line.
+     */
+    private long scan(int segment) throws IOException {
+        Path file = segmentFile(segment);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Ledger segment too large to map: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long records = 0;
+            int lineStart = 0;
+            for (int i = 0; i < size; i++) {
+                if (mapped.get(i) != NEWLINE) {
+                    continue;
+                }
+                byte[] line = new byte[i - lineStart];
+                mapped.get(lineStart, line);
+                addToIndex(reader.readValue(line), new Location(segment, lineStart, line.length));
+                records++;
+                lineStart = i + 1;
+            }
+            if (lineStart < size) {
+                log.warn("Truncating incomplete record at {} of round-up ledger segment {}", lineStart, file);
+                channel.truncate(lineStart);
+            }
+            return records;
+        }
+    }
+
+    private void openSegment(int segment) throws IOException {
+        if (active != null) {
+            active.close();
+        }
+        Files.createDirectories(directory);
+        active = FileChannel.open(segmentFile(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        activeSegment = segment;
+        activeSize = active.size();
+        active.position(activeSize);
+    }
+
+    private void addToIndex(RoundUpRecord record, Location location) {
+        IndexKey key = new IndexKey(record.startedAt(), sequence.getAndIncrement());
+        index.computeIfAbsent(record.accountUid(), account -> new ConcurrentSkipListMap<>()).put(key, location);
+        if (record.status() == RoundUpRecord.Status.PENDING) {
+            pending.computeIfAbsent(record.accountUid(), account -> new ConcurrentSkipListMap<>()).put(key, location);
+            pendingKeys.put(record.runId(), key);
+        } else {
+            IndexKey pendingKey = pendingKeys.remove(record.runId());
+            if (pendingKey != null) {
+                pending.get(record.accountUid()).remove(pendingKey);
+            }
+        }
+    }
+
+    private RoundUpRecord read(FileChannel channel, Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        long position = location.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of round-up ledger segment " + location.segment());
+            }
+        }
+        return reader.readValue(buffer.array());
+    }
+
+    private byte[] serialize(RoundUpRecord record) {
+        try {
+            byte[] json = writer.writeValueAsBytes(record);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = NEWLINE;
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialise round-up record " + record.runId(), e);
+        }
+    }
+
+    private Path segmentFile(int segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close round-up ledger segment", e);
+        }
+    }
+
+    // start time first, then append order for runs starting at the same instant
+    private record IndexKey(Instant startedAt, long sequence) implements Comparable<IndexKey> {
+        @Override
+        public int compareTo(IndexKey other) {
+            int byTime = startedAt.compareTo(other.startedAt);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private record Location(int segment, long offset, int length) {}
+}
@@ -0,0 +1,40 @@
+package com.example.starling.roundup.store;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only record of every round-up run, kept locally so that runs can be audited and
+ * replayed without calling the Starling API again.
+ */
+public interface RoundUpLedger {
+
+    /**
+     * Appends a run to the ledger. Records are never updated or removed. A
+     * {@link RoundUpRecord.Status#PENDING PENDING} record is durable when this returns, since the
+     * transfer it announces is sent next.
+     *
+     * @param record the run to record
+     */
+    void append(RoundUpRecord record);
+
+    /**
+     * Returns the runs of an account that started in the given interval, oldest first.
+     *
+     * @param accountUid the UUID of the account
+     * @param from the earliest start time (inclusive)
+     * @param to the latest start time (exclusive)
+     * @return the matching runs, or an empty list if there are none
+     */
+    List<RoundUpRecord> findByAccount(UUID accountUid, Instant from, Instant to);
+
+    /**
+     * Returns the {@link RoundUpRecord.Status#PENDING PENDING} records of an account that no later
+     * record of the same run has resolved, i.e. transfers whose outcome is unknown.
+     *
+     * @param accountUid the UUID of the account
+     * @return the unresolved runs, oldest first
+     */
+    List<RoundUpRecord> findPending(UUID accountUid);
+}
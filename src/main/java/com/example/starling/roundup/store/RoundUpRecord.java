@@ -0,0 +1,61 @@
+package com.example.starling.roundup.store;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One round-up run as recorded in the {@link RoundUpLedger}.
+ *
+ * @param runId unique id of the run
+ * @param accountUid the account that was rounded up
+ * @param savingsGoalUid the savings goal transferred to, null if the run failed before resolving it
+ * @param windowFrom start of the feed range that was read (inclusive)
+ * @param windowTo end of the feed range that was read (inclusive)
+ * @param itemCount number of feed items rounded up, null when the feed was summed while streaming
+ * @param feedItemUids UIDs of the feed items rounded up, empty when not known
+ * @param amount the round-up amount in minor units
+ * @param transferUid the transfer UID returned by Starling, null if nothing was transferred
+ * @param status outcome of the run
+ * @param error message of the failure, null unless the run failed
+ * @param startedAt when the run started
+ * @param finishedAt when the run finished, null while it is pending
+ */
+public record RoundUpRecord(
+        UUID runId,
+        UUID accountUid,
+        UUID savingsGoalUid,
+        LocalDateTime windowFrom,
+        LocalDateTime windowTo,
+        Integer itemCount,
+        List<UUID> feedItemUids,
+        long amount,
+        String transferUid,
+        Status status,
+        String error,
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    /**
+     * Outcome of a round-up run.
+     */
+    public enum Status {
+        // transfer about to be sent; followed by another record of the same run once its outcome is known
+        PENDING,
+        TRANSFERRED,
+        NOTHING_TO_TRANSFER,
+        INSUFFICIENT_BALANCE,
+        FAILED
+    }
+
+    public RoundUpRecord {
+        Objects.requireNonNull(runId, "Run id must not be null");
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        Objects.requireNonNull(status, "Status must not be null");
+        Objects.requireNonNull(startedAt, "Start time must not be null");
+        feedItemUids = feedItemUids == null ? List.of() : List.copyOf(feedItemUids);
+    }
+}
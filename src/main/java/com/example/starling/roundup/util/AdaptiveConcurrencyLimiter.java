@@ -0,0 +1,236 @@
+package com.example.starling.roundup.util;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to the observed latency of the calls it admits.
+ * <p>
+ * The limit follows the gradient algorithm of Netflix's {@code Gradient2Limit}: a long-term
+ * average of the latency is compared with the recent latency, and the limit shrinks as the
+ * recent latency rises above the long-term one (a queue is building up somewhere downstream),
+ * then grows back by a small headroom once it recovers. Dropped calls (timeouts, overload
+ * responses) shrink the limit multiplicatively. The limit never leaves
+ * {@code [minLimit, maxLimit]}.
+ * <pre>
+ * AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(Duration.ofMillis(50));
+ * if (permit == null) {
+ *     reject();
+ * }
+ * try {
+ *     call();
+ *     permit.success();
+ * } catch (TimeoutException e) {
+ *     permit.dropped();
+ * }
+ * </pre>
+ * Callers over the limit wait up to the given time for a slot; no more callers wait than the
+ * limit itself, so the queue stays short.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    // weight of each sample in the recent latency
+    private static final int SHORT_WINDOW = 10;
+    // weight of each sample in the long-term latency, after a warm-up of SHORT_WINDOW samples
+    private static final int LONG_WINDOW = 600;
+    // share of each new estimate taken into the limit
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // guarded by lock
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long samples;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param initialLimit limit before any latency has been observed
+     * @param minLimit lowest the limit can fall
+     * @param maxLimit highest the limit can grow
+     * @param rttTolerance how far the recent latency may rise above the long-term latency
+     *        before the limit starts to shrink, e.g. 1.5 for 50%
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        this(initialLimit, minLimit, maxLimit, rttTolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (rttTolerance < 1.0) {
+            throw new IllegalArgumentException("RTT tolerance must be at least 1.0");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Admits a call if fewer calls than the limit are in flight, waiting up to {@code maxWait}
+     * for one to complete otherwise.
+     *
+     * @return the permit of the admitted call, to be completed exactly once, or {@code null} if
+     *         the call is rejected
+     */
+    public Permit tryAcquire(Duration maxWait) {
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            if (inFlight >= currentLimit()) {
+                if (remaining <= 0 || waiting >= currentLimit()) {
+                    return null;
+                }
+                waiting++;
+                try {
+                    while (inFlight >= currentLimit()) {
+                        if (remaining <= 0) {
+                            return null;
+                        }
+                        remaining = slotFreed.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                } finally {
+                    waiting--;
+                }
+            }
+            inFlight++;
+            return new Permit(nanoClock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of admitted calls not completed yet
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void complete(long rttNanos, boolean dropped, boolean sample) {
+        lock.lock();
+        try {
+            int inFlightAtStart = inFlight;
+            inFlight--;
+            if (sample) {
+                update(rttNanos, inFlightAtStart, dropped);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * DROP_BACKOFF);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        samples++;
+        shortRtt = samples == 1 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        long longWindow = Math.min(samples, LONG_WINDOW);
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / longWindow;
+
+        // after a long stretch of high latency the long-term average has caught up with it;
+        // let it fall back quickly once the latency recovers
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // too few calls in flight to tell anything about the limit
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double headroom = Math.max(4, Math.log10(limit));
+        double estimate = limit * gradient + headroom;
+        limit = clamp(limit * (1 - SMOOTHING) + estimate * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /**
+     * Slot of one admitted call.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean completed;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * The call completed normally; its latency is used to adjust the limit.
+         */
+        public void success() {
+            complete(false, true);
+        }
+
+        /**
+         * The call timed out or was rejected as overloaded; the limit is reduced.
+         */
+        public void dropped() {
+            complete(true, true);
+        }
+
+        /**
+         * The call failed for a reason unrelated to load; the slot is released without
+         * adjusting the limit.
+         */
+        public void ignore() {
+            complete(false, false);
+        }
+
+        private void complete(boolean dropped, boolean sample) {
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+            }
+            AdaptiveConcurrencyLimiter.this.complete(nanoClock.getAsLong() - startNanos, dropped, sample);
+        }
+    }
+}
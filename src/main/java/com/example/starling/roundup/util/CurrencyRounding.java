@@ -0,0 +1,79 @@
+package com.example.starling.roundup.util;
+
+import java.util.Currency;
+
+/**
+ * Rounding unit of every ISO 4217 currency: the number of minor units in one major unit, e.g. 100
+ * for GBP and EUR, 1000 for KWD and 1 for JPY, whose amounts are already whole units.
+ * <p>
+ * The table is built once from {@link Currency#getAvailableCurrencies()} and indexed by the three
+ * letters of the code, so a lookup is an array read: the round-up of a feed item never calls
+ * {@link Currency#getInstance} or hashes its currency code. Currencies that are unknown or have
+ * no minor unit (such as XAU) round to 100 minor units, as the service did before it knew about
+ * currencies.
+ */
+public final class CurrencyRounding {
+
+    /**
+     * Currency assumed for accounts and amounts that do not name one.
+     */
+    public static final String DEFAULT_CURRENCY = "GBP";
+
+    private static final long DEFAULT_UNIT = 100L;
+    private static final int LETTERS = 26;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    // rounding unit per code, indexed by its letters in base 26; 0 where no currency is known
+    private static final long[] UNITS = buildUnits();
+
+    private CurrencyRounding() {
+        throw new AssertionError("CurrencyRounding class should not be instantiated");
+    }
+
+    /**
+     * @param currency an ISO 4217 code, may be null
+     * @return the minor units of one major unit of the currency, 100 if it is null or unknown
+     */
+    public static long unitOf(String currency) {
+        int index = index(currency);
+        if (index < 0) {
+            return DEFAULT_UNIT;
+        }
+        long unit = UNITS[index];
+        return unit != 0 ? unit : DEFAULT_UNIT;
+    }
+
+    /**
+     * @return the currency, or {@link #DEFAULT_CURRENCY} if it is null
+     */
+    public static String orDefault(String currency) {
+        return currency != null ? currency : DEFAULT_CURRENCY;
+    }
+
+    private static int index(String currency) {
+        if (currency == null || currency.length() != 3) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = currency.charAt(i) - 'A';
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+            index = index * LETTERS + letter;
+        }
+        return index;
+    }
+
+    private static long[] buildUnits() {
+        long[] units = new long[LETTERS * LETTERS * LETTERS];
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int index = index(currency.getCurrencyCode());
+            int digits = currency.getDefaultFractionDigits();
+            if (index >= 0 && digits >= 0 && digits < POWERS_OF_TEN.length) {
+                units[index] = POWERS_OF_TEN[digits];
+            }
+        }
+        return units;
+    }
+}
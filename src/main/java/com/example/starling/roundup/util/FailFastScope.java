@@ -0,0 +1,138 @@
+package com.example.starling.roundup.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a group of independent tasks concurrently and waits for all of them, cancelling the
+ * remaining tasks as soon as one fails.
+ * <p>
+ * Modelled on {@code StructuredTaskScope.ShutdownOnFailure}, which is still a preview API on
+ * Java 21:
+ * <pre>
+ * try (FailFastScope scope = new FailFastScope(executor)) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; callA());
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; callB());
+ *     scope.join(timeout);
+ *     use(a.get(), b.get());
+ * }
+ * </pre>
+ * The first failure is rethrown from {@link #join(Duration)} unchanged when it is a
+ * {@link RuntimeException}, so callers see the same exceptions as with sequential calls.
+ * <p>
+ * Instances are not thread-safe and must be used by the thread that created them.
+ */
+public final class FailFastScope implements AutoCloseable {
+
+    private final ExecutorCompletionService<Object> completionService;
+    private final List<Future<Object>> futures = new ArrayList<>();
+    private boolean joined;
+
+    public FailFastScope(ExecutorService executor) {
+        this.completionService = new ExecutorCompletionService<>(Objects.requireNonNull(executor, "Executor must not be null"));
+    }
+
+    /**
+     * Starts a task in the scope.
+     *
+     * @param task the task to run
+     * @return a supplier of the task result, only valid after a successful {@link #join(Duration)}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> fork(Callable<? extends T> task) {
+        Objects.requireNonNull(task, "Task must not be null");
+        if (joined) {
+            throw new IllegalStateException("Scope already joined");
+        }
+        Future<Object> future = completionService.submit((Callable<Object>) task);
+        futures.add(future);
+        return () -> {
+            if (!joined) {
+                throw new IllegalStateException("Scope not joined");
+            }
+            return (T) getNow(future);
+        };
+    }
+
+    /**
+     * Waits for all forked tasks to complete, or for the first one to fail.
+     *
+     * @param timeout maximum time to wait for all tasks
+     * @throws RuntimeException the first task failure, or {@link ScopeTimeoutException} on timeout
+     */
+    public void join(Duration timeout) {
+        joined = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Object> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    cancelAll();
+                    throw new ScopeTimeoutException("Tasks did not complete within " + timeout);
+                }
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    cancelAll();
+                    throw unwrap(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for tasks");
+        }
+    }
+
+    /**
+     * Cancels any task still running.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * Thrown when the forked tasks do not all complete in time.
+     */
+    public static class ScopeTimeoutException extends RuntimeException {
+        public ScopeTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private static Object getNow(Future<Object> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.starling.roundup.util;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one execution.
+ * <p>
+ * The first caller for a key runs the supplier on its own thread; callers arriving while it is
+ * in flight wait for it and receive the same result or the same {@link RuntimeException}. Nothing
+ * is cached: once the call completes the next caller for the key starts a new execution.
+ * <pre>
+ * SingleFlight&lt;String, Account&gt; flights = new SingleFlight&lt;&gt;();
+ * Account account = flights.execute(token, () -&gt; fetchAccount(token));
+ * </pre>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the supplier, or joins the execution already in flight for the key.
+     *
+     * @param key identifies calls that can share a result
+     * @param supplier the call to run if none is in flight
+     * @return the result of the shared execution
+     * @throws RuntimeException the exception thrown by the shared execution
+     */
+    public V execute(K key, Supplier<? extends V> supplier) {
+        Objects.requireNonNull(key, "Key must not be null");
+        Objects.requireNonNull(supplier, "Supplier must not be null");
+
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            V result = supplier.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return the number of keys with an execution in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
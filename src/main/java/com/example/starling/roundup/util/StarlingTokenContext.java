@@ -0,0 +1,121 @@
+package com.example.starling.roundup.util;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Starling API token that calls made on the current thread are authorised with, when it is not
+ * the configured {@code starling.api.token}.
+ * <p>
+ * Batch round-ups run for many tokens in one process: each account pipeline runs inside
+ * {@link #callWith(String, Supplier)}, and the RestTemplate sends the token of the context
+ * instead of the configured one. Executors wrapped with {@link #propagating(ExecutorService)}
+ * carry the token of the submitting thread over to their tasks, so the concurrent calls of a
+ * round-up use the same token as the round-up itself.
+ */
+public final class StarlingTokenContext {
+
+    private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
+
+    private StarlingTokenContext() {
+    }
+
+    /**
+     * @return the token of the current thread, or {@code null} if none is set
+     */
+    public static String current() {
+        return TOKEN.get();
+    }
+
+    /**
+     * @return the token of the current thread, or {@code fallback} if none is set
+     */
+    public static String currentOr(String fallback) {
+        String token = TOKEN.get();
+        return token != null ? token : fallback;
+    }
+
+    /**
+     * Runs the action with the token set on the current thread, restoring the previous token
+     * afterwards.
+     */
+    public static <T> T callWith(String token, Supplier<? extends T> action) {
+        Objects.requireNonNull(token, "Token must not be null");
+        String previous = TOKEN.get();
+        TOKEN.set(token);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                TOKEN.set(previous);
+            } else {
+                TOKEN.remove();
+            }
+        }
+    }
+
+    /**
+     * @return a task that runs {@code task} with the token of the calling thread, if any
+     */
+    public static Runnable wrap(Runnable task) {
+        String token = TOKEN.get();
+        if (token == null) {
+            return task;
+        }
+        return () -> callWith(token, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return an executor that runs every task with the token of the thread submitting it;
+     *         shutting it down shuts down {@code executor}
+     */
+    public static ExecutorService propagating(ExecutorService executor) {
+        return new PropagatingExecutorService(Objects.requireNonNull(executor, "Executor must not be null"));
+    }
+
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
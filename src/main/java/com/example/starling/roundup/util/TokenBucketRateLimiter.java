@@ -0,0 +1,67 @@
+package com.example.starling.roundup.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter: tokens are added at {@code permitsPerSecond} up to {@code burst},
+ * and each permit takes one.
+ * <p>
+ * A caller finding the bucket empty reserves the next token anyway and sleeps until it is due,
+ * so waiting callers are served in order of arrival at the configured rate, and an idle period
+ * lets up to {@code burst} permits through at once.
+ */
+public final class TokenBucketRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerNano;
+    private final int burst;
+    private final LongSupplier nanoClock;
+
+    // guarded by this; negative while permits are reserved ahead of the refill
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond sustained rate of permits
+     * @param burst most permits handed out at once after an idle period, also the initial permits
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.permitsPerNano = permitsPerSecond / NANOS_PER_SECOND;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit, sleeping until it is due.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a permit without waiting for it.
+     *
+     * @return how long until the permit is due, 0 if it can be used at once
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.starling.roundup.util;
 
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -69,30 +72,189 @@ public final class Utils {
 
     /**
      * Calculates the round-up amount for a transaction, which is the difference between
-     * the transaction amount and the next whole pound (100 pence).
+     * the transaction amount and the next whole unit of its currency, e.g. the next whole pound
+     * (100 pence) for GBP or the next whole dinar (1000 fils) for KWD.
      * <p>
      * Examples:
      * <ul>
      *   <li>£4.50 (450 pence) rounds up to £5.00 (500 pence), so the round-up is 50 pence.</li>
      *   <li>£5.00 (500 pence) is already a whole pound, so the round-up is 0 pence.</li>
      *   <li>£0.01 (1 penny) rounds up to £1.00 (100 pence), so the round-up is 99 pence.</li>
+     *   <li>KWD 1.250 (1250 fils) rounds up to KWD 2.000, so the round-up is 750 fils.</li>
+     *   <li>¥450 is already a whole yen, so the round-up is 0.</li>
      * </ul>
      * 
      * @param item the feed item containing the transaction, must not be null
-     * @return the round-up amount in minor units (pence)
+     * @return the round-up amount in minor units of the item's currency
      * @throws NullPointerException if item is null
+     * @see CurrencyRounding#unitOf(String)
      */
     public static long calculateItemRoundUp(FeedItem item) {
         Objects.requireNonNull(item, "Feed item must not be null");
         Objects.requireNonNull(item.amount(), "Feed item amount must not be null");
         
-        long minorUnits = item.amount().minorUnits();
+        return calculateRoundUp(item.amount().minorUnits(), CurrencyRounding.unitOf(item.amount().currency()));
+    }
+
+    /**
+     * Calculates the round-up amount for a GBP transaction amount in minor units, as
+     * {@link #calculateItemRoundUp(FeedItem)} does for a feed item.
+     *
+     * @param minorUnits the transaction amount in minor units (pence)
+     * @return the round-up amount in minor units, zero for non-positive amounts
+     */
+    public static long calculateRoundUp(long minorUnits) {
+        return calculateRoundUp(minorUnits, PENCE_PER_POUND);
+    }
+
+    /**
+     * Calculates the round-up amount for a transaction amount in minor units to the next multiple
+     * of {@code roundingUnit}.
+     *
+     * @param minorUnits the transaction amount in minor units
+     * @param roundingUnit minor units per major unit of the currency, see {@link CurrencyRounding#unitOf(String)}
+     * @return the round-up amount in minor units, zero for non-positive amounts
+     */
+    public static long calculateRoundUp(long minorUnits, long roundingUnit) {
         // Only process positive (outgoing) transactions
         if (minorUnits <= 0) {
             return 0L;
         }
-        
-        long roundUpToNearestPound = ((minorUnits + PENCE_PER_POUND - 1) / PENCE_PER_POUND) * PENCE_PER_POUND;
-        return roundUpToNearestPound - minorUnits;
+
+        long roundUpToNearestUnit = ((minorUnits + roundingUnit - 1) / roundingUnit) * roundingUnit;
+        return roundUpToNearestUnit - minorUnits;
+    }
+
+    /**
+     * Sums the round-up amounts of transaction amounts in one currency held in a primitive array,
+     * giving the same result as {@link #calculateRoundUp(long, long)} summed over every element.
+     * <p>
+     * Works on unboxed values in a single loop with no per-item objects, for callers that already
+     * hold the amounts as {@code long}s.
+     *
+     * @param minorUnits transaction amounts in minor units, must not be null
+     * @param roundingUnit minor units per major unit of the currency, see {@link CurrencyRounding#unitOf(String)}
+     * @return the total round-up amount in minor units
+     * @throws NullPointerException if minorUnits is null
+     */
+    public static long sumRoundUps(long[] minorUnits, long roundingUnit) {
+        Objects.requireNonNull(minorUnits, "Amounts must not be null");
+        return sumRoundUps(minorUnits, 0, minorUnits.length, roundingUnit);
+    }
+
+    /**
+     * Sums the round-up amounts of {@code minorUnits[fromIndex]} (inclusive) to
+     * {@code minorUnits[toIndex]} (exclusive).
+     *
+     * @param minorUnits transaction amounts in minor units, must not be null
+     * @param fromIndex the first index to include
+     * @param toIndex the index after the last one to include
+     * @param roundingUnit minor units per major unit of the currency
+     * @return the total round-up amount in minor units
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public static long sumRoundUps(long[] minorUnits, int fromIndex, int toIndex, long roundingUnit) {
+        Objects.requireNonNull(minorUnits, "Amounts must not be null");
+        Objects.checkFromToIndex(fromIndex, toIndex, minorUnits.length);
+        long total = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            long amount = minorUnits[i];
+            // (unit - amount % unit) % unit is the round-up of a positive amount; the select compiles to a conditional move
+            long roundUp = (roundingUnit - amount % roundingUnit) % roundingUnit;
+            total += amount > 0 ? roundUp : 0L;
+        }
+        return total;
+    }
+
+    /**
+     * Sums the round-up amounts of the remaining elements of a buffer, which may be direct
+     * (off-heap) or memory-mapped. The buffer position is not changed.
+     *
+     * @param minorUnits transaction amounts in minor units, must not be null
+     * @param roundingUnit minor units per major unit of the currency
+     * @return the total round-up amount in minor units
+     * @throws NullPointerException if minorUnits is null
+     */
+    public static long sumRoundUps(LongBuffer minorUnits, long roundingUnit) {
+        Objects.requireNonNull(minorUnits, "Amounts must not be null");
+        if (minorUnits.hasArray()) {
+            int offset = minorUnits.arrayOffset();
+            return sumRoundUps(minorUnits.array(), offset + minorUnits.position(), offset + minorUnits.limit(),
+                    roundingUnit);
+        }
+        long total = 0;
+        for (int i = minorUnits.position(), limit = minorUnits.limit(); i < limit; i++) {
+            long amount = minorUnits.get(i);
+            long roundUp = (roundingUnit - amount % roundingUnit) % roundingUnit;
+            total += amount > 0 ? roundUp : 0L;
+        }
+        return total;
+    }
+
+    /**
+     * Derives the transfer UID of a round-up from what it covers, so that repeating the same
+     * round-up, whether retried in-process, by a client or after a restart, yields the same UID
+     * and Starling applies the transfer only once.
+     *
+     * @param accountUid the account, must not be null
+     * @param savingsGoalUid the savings goal, must not be null
+     * @param amount the round-up amount in minor units
+     * @param coverage a description of the feed items the round-up covers, must not be null
+     * @return a name-based (version 3) UUID
+     * @throws NullPointerException if any reference parameter is null
+     */
+    public static UUID roundUpTransferUid(UUID accountUid, UUID savingsGoalUid, long amount, String coverage) {
+        Objects.requireNonNull(accountUid, "Account UUID must not be null");
+        Objects.requireNonNull(savingsGoalUid, "Savings goal UUID must not be null");
+        Objects.requireNonNull(coverage, "Coverage must not be null");
+        String name = "roundup|" + accountUid + "|" + savingsGoalUid + "|" + amount + "|" + coverage;
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Describes the feed items a round-up covers by count, first and last transaction time and an
+     * order-independent digest of their UIDs, without holding on to the UIDs themselves. Used as
+     * the coverage of {@link #roundUpTransferUid} by both round-up pipelines.
+     *
+     * @param feedItems the items rounded up, must not be null
+     * @param from start of the fetched range, used when no item has a transaction time
+     * @param to end of the fetched range, used when no item has a transaction time
+     * @return the coverage, the same for the same items in any order
+     * @throws NullPointerException if feedItems is null
+     */
+    public static String feedItemsCoverage(List<FeedItem> feedItems, LocalDateTime from, LocalDateTime to) {
+        Objects.requireNonNull(feedItems, "Feed items must not be null");
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        long digest = 0;
+        for (FeedItem item : feedItems) {
+            LocalDateTime time = item.transactionTime();
+            if (time != null) {
+                first = first == null || time.isBefore(first) ? time : first;
+                last = last == null || time.isAfter(last) ? time : last;
+            }
+            if (item.feedItemUid() != null) {
+                digest += item.feedItemUid().getMostSignificantBits() * 31 + item.feedItemUid().getLeastSignificantBits();
+            }
+        }
+        return "items|" + feedItems.size()
+                + "|" + (first != null ? first : from)
+                + "|" + (last != null ? last : to)
+                + "|" + Long.toHexString(digest);
+    }
+
+    /**
+     * Names the kind of a failure for reports, from the exception type: e.g.
+     * {@code InsufficientBalanceException} becomes {@code InsufficientBalance}, like the codes of
+     * the round-up endpoint's error responses.
+     *
+     * @param failure the failure, must not be null
+     * @return the simple class name without its {@code Exception} suffix
+     * @throws NullPointerException if failure is null
+     */
+    public static String errorCode(Throwable failure) {
+        Objects.requireNonNull(failure, "Failure must not be null");
+        String name = failure.getClass().getSimpleName();
+        return name.endsWith("Exception") ? name.substring(0, name.length() - "Exception".length()) : name;
     }
 }
@@ -0,0 +1,46 @@
+package com.example.starling.roundup.batch;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class BatchEntryTest {
+
+    private static final UUID ACCOUNT_UID = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @Test
+    void parse_tokenAndOptionalAccount() {
+        assertEquals(new BatchEntry(1, "token", null), BatchEntry.parse(1, " token "));
+        assertEquals(new BatchEntry(2, "token", ACCOUNT_UID), BatchEntry.parse(2, "token, " + ACCOUNT_UID));
+        assertEquals(new BatchEntry(3, "token", null), BatchEntry.parse(3, "token,"));
+    }
+
+    @Test
+    void parse_skipsBlankAndCommentLines() {
+        assertNull(BatchEntry.parse(1, "   "));
+        assertNull(BatchEntry.parse(2, "# token,accountUid"));
+    }
+
+    @Test
+    void parse_rejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> BatchEntry.parse(1, "token,not-a-uuid"));
+        assertThrows(IllegalArgumentException.class, () -> BatchEntry.parse(2, ",%s".formatted(ACCOUNT_UID)));
+        assertThrows(IllegalArgumentException.class, () -> BatchEntry.parse(3, "token,%s,extra".formatted(ACCOUNT_UID)));
+    }
+
+    @Test
+    void key_identifiesEntryWithoutRevealingToken() {
+        BatchEntry entry = new BatchEntry(1, "secret-token", ACCOUNT_UID);
+
+        assertEquals(entry.key(), new BatchEntry(7, "secret-token", ACCOUNT_UID).key());
+        assertNotEquals(entry.key(), new BatchEntry(1, "secret-token", null).key());
+        assertNotEquals(entry.key(), new BatchEntry(1, "other-token", ACCOUNT_UID).key());
+        assertFalse(entry.key().contains("secret-token"));
+        assertFalse(entry.toString().contains("secret-token"));
+    }
+}
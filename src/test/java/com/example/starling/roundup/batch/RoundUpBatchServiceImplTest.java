@@ -0,0 +1,234 @@
+package com.example.starling.roundup.batch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InsufficientBalanceException;
+import com.example.starling.roundup.exception.InvalidBatchRequestException;
+import com.example.starling.roundup.model.RoundUpResult;
+import com.example.starling.roundup.service.RoundUpService;
+import com.example.starling.roundup.util.StarlingTokenContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class RoundUpBatchServiceImplTest {
+
+    private static final UUID ACCOUNT_UID = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private RoundUpService roundUpService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<String, String> tokensSeen = new ConcurrentHashMap<>();
+    private RoundUpProperties roundUpProperties;
+
+    @BeforeEach
+    void setUp() {
+        roundUpProperties = new RoundUpProperties();
+        roundUpProperties.getBatch().setDirectory(directory);
+        roundUpProperties.getBatch().setParallelism(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_roundsUpEachDistinctEntryWithItsOwnToken() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), """
+                # token[,accountUid]
+                token-a
+                token-a,%s
+
+                token-b
+                token-b
+                """.formatted(ACCOUNT_UID));
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+        when(roundUpService.roundUpTransactions(ACCOUNT_UID)).thenAnswer(invocation -> transferred(ACCOUNT_UID.toString()));
+
+        BatchReport report = service().run("customers.csv", "batch-1");
+
+        assertEquals(BatchReport.Status.COMPLETED, report.status());
+        assertEquals(3, report.entries());
+        assertEquals(3, report.succeeded());
+        assertEquals(3, report.transferred());
+        assertEquals(300, report.totalAmount());
+        assertEquals(0, report.failed());
+        assertEquals("token-a", tokensSeen.get(ACCOUNT_UID.toString()));
+        verify(roundUpService, times(2)).roundUpTransactions();
+        assertTrue(Files.exists(directory.resolve("batch-1.report.json")));
+    }
+
+    @Test
+    void run_countsFailuresByCode_andResumeRetriesOnlyThem() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "token-a\ntoken-b\ntoken-c\n");
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> {
+            if ("token-b".equals(StarlingTokenContext.current())) {
+                throw new InsufficientBalanceException("Insufficient balance to round up");
+            }
+            return transferred("default");
+        });
+
+        BatchReport first = service().run("customers.csv", "batch-1");
+
+        assertEquals(2, first.succeeded());
+        assertEquals(1, first.failed());
+        assertEquals(Map.of("InsufficientBalance", 1), first.failuresByCode());
+
+        doAnswer(invocation -> transferred("default")).when(roundUpService).roundUpTransactions();
+        BatchReport resumed = service().run("customers.csv", "batch-1");
+
+        assertEquals(2, resumed.resumed());
+        assertEquals(3, resumed.succeeded());
+        assertEquals(0, resumed.failed());
+        assertEquals(300, resumed.totalAmount());
+        // three calls in the first run, only the failed entry again on resume
+        verify(roundUpService, times(4)).roundUpTransactions();
+    }
+
+    @Test
+    void run_waitsOnPacerBeforeEachEntry() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "token-a\ntoken-b\ntoken-c\n");
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+        Set<Integer> paced = ConcurrentHashMap.newKeySet();
+
+        BatchReport report = service().run("customers.csv", "batch-1", entry -> paced.add(entry.line()));
+
+        assertEquals(Set.of(1, 2, 3), paced);
+        assertEquals(3, report.succeeded());
+    }
+
+    @Test
+    void run_checkpointWriteFails_reportsAborted() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "token-a\ntoken-b\n");
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+        ObjectMapper failingCheckpoint = new ObjectMapper() {
+            @Override
+            public String writeValueAsString(Object value) throws JsonProcessingException {
+                throw new JsonMappingException(null, "No space left on device");
+            }
+        }.findAndRegisterModules();
+        RoundUpBatchServiceImpl service = new RoundUpBatchServiceImpl(roundUpService, roundUpProperties, executor, failingCheckpoint);
+
+        BatchReport report = service.run("customers.csv", "batch-1");
+
+        assertEquals(BatchReport.Status.ABORTED, report.status());
+        assertEquals(0, report.processed());
+        assertEquals(BatchReport.Status.ABORTED, service().find("batch-1").orElseThrow().status());
+    }
+
+    @Test
+    void run_interruptedWhileWaitingOnPacer_reportsInterrupted() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "token-a\ntoken-b\ntoken-c\n");
+        lenient().when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+
+        BatchReport report = service().run("customers.csv", "batch-1", entry -> {
+            if (entry.line() == 2) {
+                throw new InterruptedException();
+            }
+        });
+
+        assertEquals(BatchReport.Status.INTERRUPTED, report.status());
+        assertTrue(report.processed() < report.entries());
+        assertEquals(BatchReport.Status.INTERRUPTED, service().find("batch-1").orElseThrow().status());
+    }
+
+    @Test
+    void run_neverWritesTokens() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "secret-token\n");
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+
+        service().run("customers.csv", "batch-1");
+
+        assertFalse(Files.readString(directory.resolve("batch-1.checkpoint.jsonl")).contains("secret-token"));
+        assertFalse(Files.readString(directory.resolve("batch-1.report.json")).contains("secret-token"));
+    }
+
+    @Test
+    void start_runsInBackground_andReportIsFoundAfterRestart() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), "token-a\n");
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> transferred("default"));
+        RoundUpBatchServiceImpl service = service();
+
+        BatchReport started = service.start("customers.csv", null);
+
+        assertTrue(started.batchId().startsWith("customers-"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.find(started.batchId()).orElseThrow().status() != BatchReport.Status.COMPLETED) {
+            assertTrue(System.currentTimeMillis() < deadline, "batch did not complete");
+            Thread.sleep(10);
+        }
+        BatchReport reloaded = service().find(started.batchId()).orElseThrow();
+        assertEquals(1, reloaded.succeeded());
+        assertTrue(service().find("unknown").isEmpty());
+    }
+
+    @Test
+    void run_rejectsInvalidRequests() throws Exception {
+        Files.writeString(directory.resolve("malformed.csv"), "token-a,not-a-uuid\n");
+        RoundUpBatchServiceImpl service = service();
+
+        assertThrows(InvalidBatchRequestException.class, () -> service.run("../customers.csv", "batch-1"));
+        assertThrows(InvalidBatchRequestException.class, () -> service.run("missing.csv", "batch-1"));
+        assertThrows(InvalidBatchRequestException.class, () -> service.run("malformed.csv", "batch-1"));
+        Files.writeString(directory.resolve("customers.csv"), "token-a\n");
+        assertThrows(InvalidBatchRequestException.class, () -> service.run("customers.csv", "../batch"));
+        verify(roundUpService, times(0)).roundUpTransactions(any());
+    }
+
+    @Test
+    void partition_keepsEntriesOfATokenTogether_andBalancesPartitions() {
+        List<BatchEntry> entries = List.of(
+                new BatchEntry(1, "a", null), new BatchEntry(2, "a", UUID.randomUUID()), new BatchEntry(3, "a", UUID.randomUUID()),
+                new BatchEntry(4, "b", null), new BatchEntry(5, "c", null), new BatchEntry(6, "d", null));
+
+        List<List<BatchEntry>> partitions = RoundUpBatchServiceImpl.partition(entries, 2);
+
+        assertEquals(2, partitions.size());
+        assertEquals(Set.of(3), Set.copyOf(partitions.stream().map(List::size).toList()));
+        assertTrue(partitions.stream().anyMatch(partition -> partition.stream().allMatch(entry -> entry.token().equals("a"))));
+        assertEquals(1, RoundUpBatchServiceImpl.partition(entries.subList(0, 3), 8).size());
+    }
+
+    private RoundUpBatchServiceImpl service() {
+        return new RoundUpBatchServiceImpl(roundUpService, roundUpProperties, executor, objectMapper);
+    }
+
+    private RoundUpResult transferred(String account) {
+        tokensSeen.put(account, StarlingTokenContext.current());
+        return new RoundUpResult(UUID.randomUUID(), RoundUpResult.Outcome.TRANSFERRED, 100, UUID.randomUUID().toString());
+    }
+}
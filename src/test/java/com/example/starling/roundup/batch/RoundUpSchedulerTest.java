@@ -0,0 +1,127 @@
+package com.example.starling.roundup.batch;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InvalidBatchRequestException;
+
+@ExtendWith(MockitoExtension.class)
+class RoundUpSchedulerTest {
+
+    private static final Instant FIRE_TIME = Instant.parse("2026-03-02T02:00:00Z");
+    private static final String BATCH_ID = "scheduled-20260302T0200";
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private RoundUpBatchService roundUpBatchService;
+
+    private RoundUpProperties roundUpProperties;
+
+    @BeforeEach
+    void setUp() {
+        roundUpProperties = new RoundUpProperties();
+        RoundUpProperties.Schedule schedule = roundUpProperties.getSchedule();
+        schedule.setZone(ZoneOffset.UTC);
+        schedule.setJitter(Duration.ZERO);
+        schedule.setPermitsPerSecond(1_000);
+        schedule.setLockFile(directory.resolve("schedule.lock"));
+    }
+
+    @Test
+    void run_dispatchesRegisteredAccountsThroughPacer_andReportsBacklogWhileRunning() throws Exception {
+        RoundUpScheduler scheduler = new RoundUpScheduler(roundUpBatchService, roundUpProperties);
+        AtomicInteger backlogSeen = new AtomicInteger(-1);
+        when(roundUpBatchService.find(BATCH_ID)).thenReturn(Optional.of(report(BatchReport.Status.RUNNING, 10, 4)));
+        when(roundUpBatchService.run(eq("registered-accounts.csv"), eq(BATCH_ID), any())).thenAnswer(invocation -> {
+            BatchPacer pacer = invocation.getArgument(2);
+            for (int i = 0; i < 20; i++) {
+                pacer.awaitTurn(new BatchEntry(i + 1, "token", null));
+            }
+            backlogSeen.set(scheduler.getBacklog());
+            assertTrue(scheduler.getLag().compareTo(Duration.ZERO) > 0);
+            return report(BatchReport.Status.COMPLETED, 10, 10);
+        });
+
+        Optional<BatchReport> report = scheduler.run(FIRE_TIME);
+
+        assertEquals(BatchReport.Status.COMPLETED, report.orElseThrow().status());
+        assertEquals(6, backlogSeen.get());
+        assertEquals(0, scheduler.getBacklog());
+        assertEquals(Duration.ZERO, scheduler.getLag());
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.COMPLETED));
+    }
+
+    @Test
+    void run_skips_whenLockIsHeld() throws Exception {
+        RoundUpScheduler scheduler = new RoundUpScheduler(roundUpBatchService, roundUpProperties);
+
+        try (FileChannel channel = FileChannel.open(directory.resolve("schedule.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            assertTrue(scheduler.run(FIRE_TIME).isEmpty());
+        }
+
+        verify(roundUpBatchService, never()).run(anyString(), anyString(), any());
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.SKIPPED));
+    }
+
+    @Test
+    void run_countsFailure_andReleasesLock() {
+        RoundUpScheduler scheduler = new RoundUpScheduler(roundUpBatchService, roundUpProperties);
+        when(roundUpBatchService.run(anyString(), anyString(), any()))
+                .thenThrow(new InvalidBatchRequestException("Batch input not found: registered-accounts.csv"))
+                .thenReturn(report(BatchReport.Status.COMPLETED, 0, 0));
+
+        assertTrue(scheduler.run(FIRE_TIME).isEmpty());
+        assertTrue(scheduler.run(FIRE_TIME).isPresent());
+
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.FAILED));
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.COMPLETED));
+    }
+
+    @Test
+    void run_countsOutcomeFromReportStatus() {
+        RoundUpScheduler scheduler = new RoundUpScheduler(roundUpBatchService, roundUpProperties);
+        when(roundUpBatchService.run(anyString(), anyString(), any()))
+                .thenReturn(report(BatchReport.Status.ABORTED, 10, 3))
+                .thenReturn(report(BatchReport.Status.INTERRUPTED, 10, 7));
+
+        assertEquals(BatchReport.Status.ABORTED, scheduler.run(FIRE_TIME).orElseThrow().status());
+        assertEquals(BatchReport.Status.INTERRUPTED, scheduler.run(FIRE_TIME).orElseThrow().status());
+
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.FAILED));
+        assertEquals(1, scheduler.getRuns(RoundUpScheduler.Outcome.INTERRUPTED));
+        assertEquals(0, scheduler.getRuns(RoundUpScheduler.Outcome.COMPLETED));
+    }
+
+    private static BatchReport report(BatchReport.Status status, int entries, int processed) {
+        return new BatchReport(BATCH_ID, "registered-accounts.csv", status, entries, 0, processed, processed, processed,
+                0, processed * 100L, Map.of(), FIRE_TIME, status != BatchReport.Status.RUNNING ? FIRE_TIME : null, 1.0);
+    }
+}
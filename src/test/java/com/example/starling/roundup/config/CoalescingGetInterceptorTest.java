@@ -0,0 +1,150 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class CoalescingGetInterceptorTest {
+
+    private final CoalescingGetInterceptor interceptor = new CoalescingGetInterceptor();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void intercept_concurrentIdenticalGets_sendOneRequest() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution = (request, body) -> {
+            executions.incrementAndGet();
+            sent.countDown();
+            awaitQuietly(release);
+            return new MockClientHttpResponse("{\"accounts\":[]}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+        AtomicReference<String> firstBody = new AtomicReference<>();
+        AtomicReference<String> secondBody = new AtomicReference<>();
+
+        Thread first = send(get("/api/v2/accounts", "Bearer a"), execution, firstBody);
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        Thread second = send(get("/api/v2/accounts", "Bearer a"), execution, secondBody);
+        while (second.isAlive() && second.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertEquals(1, executions.get());
+        assertEquals("{\"accounts\":[]}", firstBody.get());
+        assertEquals("{\"accounts\":[]}", secondBody.get());
+    }
+
+    @Test
+    void intercept_differentTokens_notShared() throws Exception {
+        ClientHttpRequestExecution execution = countingExecution();
+
+        read(interceptor.intercept(get("/api/v2/accounts", "Bearer a"), new byte[0], execution));
+        read(interceptor.intercept(get("/api/v2/accounts", "Bearer b"), new byte[0], execution));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void intercept_nonGet_passedThrough() throws Exception {
+        ClientHttpRequestExecution execution = countingExecution();
+        MockClientHttpRequest put = new MockClientHttpRequest(HttpMethod.PUT, URI.create("/api/v2/account/a/savings-goals/g/add-money/t"));
+
+        ClientHttpResponse response = interceptor.intercept(put, new byte[0], execution);
+
+        assertTrue(response instanceof MockClientHttpResponse);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void intercept_streamingGet_bodyNotBuffered() throws Exception {
+        MockClientHttpResponse feed = new MockClientHttpResponse(new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("streamed feed body was read by the interceptor");
+            }
+        }, HttpStatus.OK);
+        AtomicReference<HttpHeaders> sentHeaders = new AtomicReference<>();
+        ClientHttpRequestExecution execution = (request, body) -> {
+            executions.incrementAndGet();
+            sentHeaders.set(request.getHeaders());
+            return feed;
+        };
+        MockClientHttpRequest request = get("/api/v2/feed/account/a/category/c/transactions-between", "Bearer a");
+        request.getHeaders().set(CoalescingGetInterceptor.STREAMING_HEADER, "true");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], execution);
+
+        assertSame(feed, response);
+        assertEquals(1, executions.get());
+        assertFalse(sentHeaders.get().containsKey(CoalescingGetInterceptor.STREAMING_HEADER));
+    }
+
+    @Test
+    void intercept_errorResponse_bufferedForEachCaller() throws Exception {
+        ClientHttpRequestExecution execution = (request, body) ->
+                new MockClientHttpResponse("down".getBytes(StandardCharsets.UTF_8), HttpStatus.SERVICE_UNAVAILABLE);
+
+        ClientHttpResponse response = interceptor.intercept(get("/api/v2/accounts", "Bearer a"), new byte[0], execution);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("down", read(response));
+    }
+
+    private ClientHttpRequestExecution countingExecution() {
+        return (request, body) -> {
+            executions.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+    }
+
+    private Thread send(MockClientHttpRequest request, ClientHttpRequestExecution execution, AtomicReference<String> body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.set(read(interceptor.intercept(request, new byte[0], execution)));
+            } catch (IOException e) {
+                body.set(e.toString());
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static MockClientHttpRequest get(String path, String authorization) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(path));
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    private static String read(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.example.starling.roundup.exception.DownstreamUnavailableException;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+class ResilienceInterceptorTest {
+
+    private static final String ACCOUNTS = "/api/v2/accounts";
+    private static final String ADD_MONEY = "/api/v2/account/a/savings-goals/g/add-money/t";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ResilienceInterceptor interceptor;
+
+    ResilienceInterceptorTest() {
+        StarlingApiConfig config = new StarlingApiConfig();
+        StarlingApiConfig.Resilience resilience = config.getResilience();
+        resilience.setRetryBackoff(Duration.ofMillis(1));
+        resilience.setSlidingWindowSize(4);
+        resilience.setMinimumNumberOfCalls(4);
+        resilience.setBulkheadMaxWait(Duration.ZERO);
+        resilience.getAccounts().setMaxConcurrentCalls(1);
+        ResilienceConfig resilienceConfig = new ResilienceConfig(config);
+        circuitBreakers = resilienceConfig.starlingCircuitBreakers();
+        interceptor = new ResilienceInterceptor(circuitBreakers, resilienceConfig.starlingBulkheads(),
+                resilienceConfig.starlingRetries());
+    }
+
+    @Test
+    void intercept_getServerError_retriedUntilSuccess() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution)) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void intercept_getServerErrorOnEveryAttempt_returnsLastResponse() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.BAD_GATEWAY, HttpStatus.BAD_GATEWAY, HttpStatus.INTERNAL_SERVER_ERROR);
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution)) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        }
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void intercept_getIoError_retried() throws Exception {
+        ClientHttpRequestExecution execution = (request, body) -> {
+            if (executions.incrementAndGet() == 1) {
+                throw new IOException("connection reset");
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution)) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void intercept_clientError_notRetried() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.NOT_FOUND, HttpStatus.OK);
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution)) {
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, circuitBreakers.circuitBreaker("accounts").getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void intercept_transferServerError_notRetried() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.PUT, ADD_MONEY), new byte[0], execution)) {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void intercept_failureRateReached_opensCircuitAndRejectsWithoutSending() throws Exception {
+        ClientHttpRequestExecution execution = (request, body) -> {
+            executions.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+        };
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(request(HttpMethod.PUT, ADD_MONEY), new byte[0], execution).close();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("add-money").getState());
+
+        DownstreamUnavailableException ex = assertThrows(DownstreamUnavailableException.class,
+                () -> interceptor.intercept(request(HttpMethod.PUT, ADD_MONEY), new byte[0], execution));
+
+        assertEquals(4, executions.get());
+        assertEquals(Duration.ofSeconds(10), ex.getRetryAfter());
+        // other endpoints are not affected
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("accounts").getState());
+    }
+
+    @Test
+    void intercept_bulkheadFull_rejectsUntilResponseClosed() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.OK, HttpStatus.OK);
+        ClientHttpResponse open = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution);
+
+        assertThrows(DownstreamUnavailableException.class,
+                () -> interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution));
+
+        open.close();
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, ACCOUNTS), new byte[0], execution)) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void intercept_otherUri_passedThrough() throws Exception {
+        ClientHttpRequestExecution execution = respondWith(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, "/api/v2/identity/token"), new byte[0], execution)) {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void endpointOf_classifiesStarlingPaths() {
+        assertEquals(StarlingEndpoint.ACCOUNTS, StarlingEndpoint.of(URI.create("https://api.example.com/api/v2/accounts")));
+        assertEquals(StarlingEndpoint.BALANCE, StarlingEndpoint.of(URI.create("/api/v2/accounts/a/balance")));
+        assertEquals(StarlingEndpoint.SAVINGS_GOALS, StarlingEndpoint.of(URI.create("/api/v2/account/a/savings-goals")));
+        assertEquals(StarlingEndpoint.ADD_MONEY, StarlingEndpoint.of(URI.create(ADD_MONEY)));
+        assertEquals(StarlingEndpoint.FEED, StarlingEndpoint.of(URI.create(
+                "/api/v2/feed/account/a/category/c/transactions-between?minTransactionTimestamp=x")));
+        assertNull(StarlingEndpoint.of(URI.create("/api/v2/identity/token")));
+    }
+
+    private ClientHttpRequestExecution respondWith(HttpStatus... statuses) {
+        Deque<HttpStatus> remaining = new ArrayDeque<>(List.of(statuses));
+        return (request, body) -> {
+            executions.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], remaining.size() > 1 ? remaining.poll() : remaining.peek());
+        };
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path) {
+        return new MockClientHttpRequest(method, URI.create(path));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.starling.roundup.config;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StarlingMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StarlingMetricsInterceptor interceptor = new StarlingMetricsInterceptor(registry);
+
+    @Test
+    void intercept_timesRequestByEndpointStatusAndOutcome() throws Exception {
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, "/api/v2/accounts"), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK))) {
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+        try (ClientHttpResponse response = interceptor.intercept(
+                request(HttpMethod.PUT, "/api/v2/account/a/savings-goals/g/add-money/t"), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY))) {
+            assertEquals(HttpStatus.BAD_GATEWAY, response.getStatusCode());
+        }
+
+        assertEquals(1, registry.get("starling.api.requests")
+                .tags("endpoint", StarlingEndpoint.ACCOUNTS.id(), "method", "GET", "status", "200", "outcome", "SUCCESS")
+                .timer().count());
+        assertEquals(1, registry.get("starling.api.requests")
+                .tags("endpoint", StarlingEndpoint.ADD_MONEY.id(), "method", "PUT", "status", "502", "outcome", "SERVER_ERROR")
+                .timer().count());
+    }
+
+    @Test
+    void intercept_ioError_timedAsUnknownOutcome() {
+        assertThrows(IOException.class, () -> interceptor.intercept(request(HttpMethod.GET, "/api/v2/accounts"), new byte[0],
+                (request, body) -> {
+                    throw new IOException("connection reset");
+                }));
+
+        assertEquals(1, registry.get("starling.api.requests")
+                .tags("endpoint", StarlingEndpoint.ACCOUNTS.id(), "status", "IO_ERROR", "outcome", "UNKNOWN")
+                .timer().count());
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path) {
+        return new MockClientHttpRequest(method, URI.create("http://localhost" + path));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.starling.roundup.controller;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+
+import jakarta.servlet.DispatcherType;
+
+class AdmissionControlInterceptorTest {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    AdmissionControlInterceptorTest() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getAdmission().setInitialLimit(4);
+        properties.getAdmission().setMinLimit(2);
+        properties.getAdmission().setMaxQueueWait(Duration.ZERO);
+        interceptor = new AdmissionControlInterceptor(properties);
+    }
+
+    @Test
+    void preHandle_limitReached_throwsServiceOverloaded() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), this));
+        }
+
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), this));
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+    }
+
+    @Test
+    void preHandle_asyncDispatch_keepsPermitUntilCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, this);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, this);
+        assertEquals(1, interceptor.getLimiter().getInFlight());
+
+        interceptor.afterCompletion(request, response, this, null);
+        assertEquals(0, interceptor.getLimiter().getInFlight());
+    }
+
+    @Test
+    void afterCompletion_serviceUnavailable_shrinksLimit() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, this);
+        response.setStatus(503);
+
+        interceptor.afterCompletion(request, response, this, null);
+
+        assertEquals(3, interceptor.getLimiter().getLimit());
+        assertEquals(0, interceptor.getLimiter().getInFlight());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.starling.roundup.controller;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.starling.roundup.batch.BatchReport;
+import com.example.starling.roundup.batch.RoundUpBatchService;
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InvalidBatchRequestException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(RoundUpBatchController.class)
+@Import({RoundUpProperties.class, SimpleMeterRegistry.class})
+class RoundUpBatchControllerTest {
+
+    private static final Instant STARTED = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RoundUpBatchService roundUpBatchService;
+
+    @Test
+    void start_ShouldReturn202WithReportLocation() throws Exception {
+        when(roundUpBatchService.start("customers.csv", "march")).thenReturn(report(BatchReport.Status.RUNNING, null));
+
+        mockMvc.perform(post("/api/v2/feed/roundup/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"input\":\"customers.csv\",\"batchId\":\"march\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/v2/feed/roundup/batches/march"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void start_ShouldReturn400_WhenInputMissing() throws Exception {
+        when(roundUpBatchService.start("missing.csv", null))
+                .thenThrow(new InvalidBatchRequestException("Batch input not found: missing.csv"));
+
+        mockMvc.perform(post("/api/v2/feed/roundup/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"input\":\"missing.csv\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("InvalidBatchRequest"));
+    }
+
+    @Test
+    void find_ShouldReturnReport_OrNotFound() throws Exception {
+        when(roundUpBatchService.find("march")).thenReturn(Optional.of(report(BatchReport.Status.COMPLETED, STARTED.plusSeconds(30))));
+        when(roundUpBatchService.find("april")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v2/feed/roundup/batches/{batchId}", "march"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(9))
+                .andExpect(jsonPath("$.failuresByCode.InsufficientBalance").value(1));
+        mockMvc.perform(get("/api/v2/feed/roundup/batches/{batchId}", "april"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static BatchReport report(BatchReport.Status status, Instant finishedAt) {
+        return new BatchReport("march", "customers.csv", status, 10, 0, 10, 9, 8, 1, 1234,
+                Map.of("InsufficientBalance", 1), STARTED, finishedAt, 2.5);
+    }
+}
@@ -24,6 +24,8 @@ import com.example.starling.roundup.model.FeedItem;
 import com.example.starling.roundup.model.FeedItems;
 import com.example.starling.roundup.model.SavingsGoal;
 import com.example.starling.roundup.model.SavingsGoalResponse;
+import com.example.starling.roundup.service.CachingAccountService;
+import com.example.starling.roundup.service.CachingGoalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -47,6 +49,12 @@ class RoundUpControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CachingAccountService cachingAccountService;
+
+    @Autowired
+    private CachingGoalService cachingGoalService;
+
     private UUID accountUid;
     private UUID categoryUid;
     private UUID savingsGoalUid;
@@ -56,6 +64,8 @@ class RoundUpControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        cachingAccountService.invalidateAll();
+        cachingGoalService.invalidateAll();
         accountUid = UUID.randomUUID();
         categoryUid = UUID.randomUUID();
         savingsGoalUid = UUID.randomUUID();
@@ -67,12 +77,12 @@ class RoundUpControllerIntegrationTest {
             categoryUid,
             new CurrencyAndAmount("GBP", 450L),
             new CurrencyAndAmount("GBP", 450L),
-            "OUT",
+            FeedItem.Direction.OUT,
             LocalDateTime.now(),
             LocalDateTime.now(),
             LocalDateTime.now(),
-            "FASTER_PAYMENTS_OUT",
-            "SETTLED"
+            FeedItem.Source.FASTER_PAYMENTS_OUT,
+            FeedItem.Status.SETTLED
         );
         savingsGoal = new SavingsGoal(
             savingsGoalUid.toString(),
@@ -1,5 +1,7 @@
 package com.example.starling.roundup.controller;
 
+import java.time.Duration;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -7,39 +9,51 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.starling.roundup.config.RoundUpProperties;
 import com.example.starling.roundup.exception.DownstreamClientException;
 import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.exception.InsufficientBalanceException;
 import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+import com.example.starling.roundup.model.RoundUpResult;
 import com.example.starling.roundup.service.RoundUpService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @WebMvcTest(RoundUpController.class)
+@Import({RoundUpProperties.class, SimpleMeterRegistry.class})
 class RoundUpControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    private static final RoundUpResult RESULT =
+            new RoundUpResult(UUID.randomUUID(), RoundUpResult.Outcome.TRANSFERRED, 158, UUID.randomUUID().toString());
+
     @MockBean
     private RoundUpService roundUpService;
 
     @Test
     void roundUpTransactions_ShouldReturnOk() throws Exception {
         // Given
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When & Then
         mockMvc.perform(post("/api/v2/feed/roundup")
@@ -119,6 +133,20 @@ class RoundUpControllerTest {
         verify(roundUpService).roundUpTransactions();
     }
 
+    @Test
+    void roundUpTransactions_ShouldReturn503WithRetryAfter_WhenOverloaded() throws Exception {
+        // Given
+        doThrow(new ServiceOverloadedException("Too many round-ups in progress, limit is 20", Duration.ofSeconds(2)))
+                .when(roundUpService).roundUpTransactions();
+
+        // When & Then
+        mockMvc.perform(post("/api/v2/feed/roundup")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.code").value("ServiceOverloaded"));
+    }
+
     @Test
     void roundUpTransactions_ShouldHandleConcurrentRequests() throws Exception {
         // Given
@@ -128,7 +156,7 @@ class RoundUpControllerTest {
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger errorCount = new AtomicInteger(0);
 
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When
         for (int i = 0; i < numberOfThreads; i++) {
@@ -160,7 +188,7 @@ class RoundUpControllerTest {
     void roundUpTransactions_ShouldHandleMultipleRequests() throws Exception {
         // Given
         int requestCount = 10;
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When
         for (int i = 0; i < requestCount; i++) {
@@ -181,7 +209,7 @@ class RoundUpControllerTest {
     void roundUpTransactions_ShouldHandleDifferentCurrencies() throws Exception {
         // Given
         String[] currencies = {"GBP", "EUR", "USD", "JPY"};
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When & Then
         for (String currency : currencies) {
@@ -197,7 +225,7 @@ class RoundUpControllerTest {
     @Test
     void roundUpTransactions_ShouldHandleLargeAmounts() throws Exception {
         // Given
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When & Then
         mockMvc.perform(post("/api/v2/feed/roundup")
@@ -211,7 +239,7 @@ class RoundUpControllerTest {
     @Test
     void roundUpTransactions_ShouldHandleZeroAmountTransactions() throws Exception {
         // Given
-        doNothing().when(roundUpService).roundUpTransactions();
+        when(roundUpService.roundUpTransactions()).thenReturn(RESULT);
 
         // When & Then
         mockMvc.perform(post("/api/v2/feed/roundup")
@@ -0,0 +1,90 @@
+package com.example.starling.roundup.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+import com.example.starling.roundup.model.RoundUpJob;
+import com.example.starling.roundup.model.RoundUpResult;
+import com.example.starling.roundup.service.RoundUpJobService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(RoundUpJobController.class)
+@Import({RoundUpProperties.class, SimpleMeterRegistry.class})
+class RoundUpJobControllerTest {
+
+    private static final Instant SUBMITTED = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RoundUpJobService roundUpJobService;
+
+    @Test
+    void submit_ShouldReturn202WithJobLocation() throws Exception {
+        RoundUpJob job = RoundUpJob.queued(UUID.randomUUID(), SUBMITTED);
+        when(roundUpJobService.submit()).thenReturn(job);
+
+        mockMvc.perform(post("/api/v2/feed/roundup/jobs"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "http://localhost/api/v2/feed/roundup/jobs/" + job.jobId()))
+                .andExpect(jsonPath("$.jobId").value(job.jobId().toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void submit_ShouldReturn503_WhenQueueFull() throws Exception {
+        when(roundUpJobService.submit())
+                .thenThrow(new ServiceOverloadedException("Too many round-up jobs queued", Duration.ofSeconds(5)));
+
+        mockMvc.perform(post("/api/v2/feed/roundup/jobs"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    @Test
+    void find_ShouldReturnAmountAndTransferUid_WhenSucceeded() throws Exception {
+        UUID transferUid = UUID.randomUUID();
+        RoundUpJob job = RoundUpJob.queued(UUID.randomUUID(), SUBMITTED)
+                .running(SUBMITTED.plusMillis(5))
+                .succeeded(new RoundUpResult(UUID.randomUUID(), RoundUpResult.Outcome.TRANSFERRED, 158,
+                        transferUid.toString()), SUBMITTED.plusSeconds(1));
+        when(roundUpJobService.find(job.jobId())).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/api/v2/feed/roundup/jobs/{jobId}", job.jobId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.amount").value(158))
+                .andExpect(jsonPath("$.result.transferUid").value(transferUid.toString()));
+    }
+
+    @Test
+    void find_ShouldReturn404_WhenUnknown() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(roundUpJobService.find(jobId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v2/feed/roundup/jobs/{jobId}", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("JobNotFound"));
+    }
+}
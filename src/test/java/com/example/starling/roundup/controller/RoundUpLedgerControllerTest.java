@@ -0,0 +1,65 @@
+package com.example.starling.roundup.controller;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.store.RoundUpLedger;
+import com.example.starling.roundup.store.RoundUpRecord;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(RoundUpLedgerController.class)
+@Import({RoundUpProperties.class, SimpleMeterRegistry.class})
+class RoundUpLedgerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RoundUpLedger roundUpLedger;
+
+    @Test
+    void findRuns_ShouldReturnRecordedRunsInInterval() throws Exception {
+        UUID accountUid = UUID.randomUUID();
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-03-02T00:00:00Z");
+        RoundUpRecord run = new RoundUpRecord(UUID.randomUUID(), accountUid, null, null, null, null, null, 0L,
+                null, RoundUpRecord.Status.NOTHING_TO_TRANSFER, null, from.plusSeconds(60), from.plusSeconds(61));
+        when(roundUpLedger.findByAccount(accountUid, from, to)).thenReturn(List.of(run));
+
+        mockMvc.perform(get("/api/v2/feed/roundup/ledger/{accountUid}", accountUid)
+                .param("from", from.toString())
+                .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].runId").value(run.runId().toString()))
+                .andExpect(jsonPath("$[0].status").value("NOTHING_TO_TRANSFER"));
+    }
+
+    @Test
+    void findRuns_ShouldDefaultToAllRunsUntilNow() throws Exception {
+        UUID accountUid = UUID.randomUUID();
+        when(roundUpLedger.findByAccount(eq(accountUid), eq(Instant.EPOCH), any(Instant.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v2/feed/roundup/ledger/{accountUid}", accountUid))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(roundUpLedger).findByAccount(eq(accountUid), eq(Instant.EPOCH), any(Instant.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.starling.roundup.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed feeds generated by {@link FeedCorpusGenerator}, kept on disk so that benchmarks
+ * and load tests replay the same large feeds without generating them on every run.
+ * <p>
+ * A feed is written once per {@link FeedCorpusSpec#fileName() spec} and read back through a
+ * memory-mapped file, inflated into a single array that is then served from memory. A 1M-item
+ * feed is about 65 MB compressed and 650 MB as JSON.
+ */
+public final class FeedCorpus {
+
+    /**
+     * Default location of the corpus, cleared by {@code mvn clean}.
+     */
+    public static final Path DEFAULT_DIRECTORY = Path.of("target", "feed-corpus");
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private FeedCorpus() {
+    }
+
+    /**
+     * @return the feed of the spec as UTF-8 JSON, generated into the directory first if needed
+     */
+    public static byte[] load(FeedCorpusSpec spec, Path directory) throws IOException {
+        return read(ensure(spec, directory));
+    }
+
+    /**
+     * Generates the feed of the spec into the directory unless it is already there.
+     *
+     * @return the compressed feed file
+     */
+    public static Path ensure(FeedCorpusSpec spec, Path directory) throws IOException {
+        Path file = directory.resolve(spec.fileName());
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, spec.fileName(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), BUFFER_SIZE)) {
+                FeedCorpusGenerator.write(spec, out);
+            }
+            // atomic, so that a concurrent or interrupted run never reads a partial feed
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return file;
+    }
+
+    /**
+     * Reads a compressed feed file, e.g. one written by {@link #ensure(FeedCorpusSpec, Path)}.
+     *
+     * @return the feed as UTF-8 JSON
+     */
+    public static byte[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try (InputStream in = new GZIPInputStream(new ByteBufferInputStream(mapped), BUFFER_SIZE)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.starling.roundup.corpus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Generates a Starling transactions-between response ({@code {"feedItems": [...]}}) with the size
+ * and mix of a {@link FeedCorpusSpec}.
+ * <p>
+ * Items carry the fields the Starling API sends, not only the ones the service reads, so that
+ * parsing costs what it costs on real feeds. Amounts are log-normal: small card payments, larger
+ * direct debits and transfers out, and larger still payments in. Items are ordered newest first,
+ * as Starling returns them, and pending items have no settlement time. The JSON is written as it is
+ * generated, so a million-item feed needs no more memory than its output.
+ */
+public final class FeedCorpusGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final String[] SPENDING_CATEGORIES = {
+            "GROCERIES", "EATING_OUT", "TRANSPORT", "SHOPPING", "ENTERTAINMENT", "BILLS_AND_SERVICES", "GENERAL"};
+    private static final String[] CARD_SUB_TYPES = {"CONTACTLESS", "CHIP_AND_PIN", "ONLINE", "APPLE_PAY"};
+    private static final int MERCHANTS = 500;
+
+    private FeedCorpusGenerator() {
+    }
+
+    /**
+     * Writes the feed of the spec as UTF-8 JSON. The stream is not closed.
+     */
+    public static void write(FeedCorpusSpec spec, OutputStream out) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        UUID categoryUid = uuid(random);
+        long[] ageMillis = transactionAges(spec, random);
+
+        try (JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("feedItems");
+            for (int i = 0; i < spec.items(); i++) {
+                writeItem(json, spec, random, categoryUid, spec.end().minusNanos(ageMillis[i] * 1_000_000));
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * @return the feed of the spec as UTF-8 JSON
+     */
+    public static byte[] toBytes(FeedCorpusSpec spec) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, spec.items() * 700));
+        try {
+            write(spec, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeItem(JsonGenerator json, FeedCorpusSpec spec, SplittableRandom random, UUID categoryUid,
+            LocalDateTime transactionTime) throws IOException {
+        boolean out = random.nextDouble() < spec.outRatio();
+        String currency = pick(spec.currencies(), random);
+        String status = pick(spec.statuses(), random);
+        // 80% of spend is by card, the rest direct debits and transfers
+        boolean card = out && random.nextInt(10) < 8;
+        String source = out ? (card ? "MASTER_CARD" : random.nextBoolean() ? "DIRECT_DEBIT" : "FASTER_PAYMENTS_OUT")
+                : "FASTER_PAYMENTS_IN";
+        long minorUnits = card ? logNormal(random, 850, 1.0)
+                : out ? logNormal(random, 5_000, 1.0)
+                : logNormal(random, 20_000, 1.2);
+        int merchant = random.nextInt(MERCHANTS);
+        String time = TIMESTAMP.format(transactionTime);
+
+        json.writeStartObject();
+        json.writeStringField("feedItemUid", uuid(random).toString());
+        json.writeStringField("categoryUid", categoryUid.toString());
+        writeAmount(json, "amount", currency, minorUnits);
+        writeAmount(json, "sourceAmount", currency, minorUnits);
+        json.writeStringField("direction", out ? "OUT" : "IN");
+        json.writeStringField("updatedAt", time);
+        json.writeStringField("transactionTime", time);
+        if (!"PENDING".equals(status)) {
+            json.writeStringField("settlementTime", time);
+        }
+        json.writeStringField("source", source);
+        if (card) {
+            json.writeStringField("sourceSubType", CARD_SUB_TYPES[random.nextInt(CARD_SUB_TYPES.length)]);
+        }
+        json.writeStringField("status", status);
+        json.writeStringField("counterPartyType", card ? "MERCHANT" : "PAYEE");
+        json.writeStringField("counterPartyUid", new UUID(0x4000L | merchant, 0x8000000000000000L | merchant).toString());
+        json.writeStringField("counterPartyName", (card ? "Merchant " : "Payee ") + merchant);
+        json.writeStringField("reference", card ? "CARD PAYMENT " + merchant : "REF" + random.nextInt(1_000_000));
+        json.writeStringField("country", "GBP".equals(currency) ? "GB" : "EUR".equals(currency) ? "FR" : "US");
+        json.writeStringField("spendingCategory",
+                out ? SPENDING_CATEGORIES[merchant % SPENDING_CATEGORIES.length] : "INCOME");
+        json.writeBooleanField("hasAttachment", false);
+        json.writeBooleanField("hasReceipt", false);
+        json.writeEndObject();
+    }
+
+    private static void writeAmount(JsonGenerator json, String field, String currency, long minorUnits)
+            throws IOException {
+        json.writeObjectFieldStart(field);
+        json.writeStringField("currency", currency);
+        json.writeNumberField("minorUnits", minorUnits);
+        json.writeEndObject();
+    }
+
+    /**
+     * @return the age of each transaction, in milliseconds before the end of the spec, youngest first
+     */
+    private static long[] transactionAges(FeedCorpusSpec spec, SplittableRandom random) {
+        long spreadMillis = spec.spread().toMillis();
+        long[] ages = new long[spec.items()];
+        for (int i = 0; i < ages.length; i++) {
+            ages[i] = spreadMillis == 0 ? 0 : random.nextLong(spreadMillis + 1);
+        }
+        Arrays.sort(ages);
+        return ages;
+    }
+
+    private static long logNormal(SplittableRandom random, long median, double sigma) {
+        return Math.max(1, Math.min(10_000_000, Math.round(median * Math.exp(sigma * random.nextGaussian()))));
+    }
+
+    private static String pick(Map<String, Double> weights, SplittableRandom random) {
+        double total = 0;
+        for (double weight : weights.values()) {
+            total += weight;
+        }
+        double draw = random.nextDouble() * total;
+        String last = null;
+        for (Map.Entry<String, Double> entry : weights.entrySet()) {
+            draw -= entry.getValue();
+            last = entry.getKey();
+            if (draw < 0) {
+                break;
+            }
+        }
+        return last;
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        // version 4, variant 2, like UUID.randomUUID() but from the seeded generator
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.starling.roundup.corpus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Shape of a synthetic transaction feed generated by {@link FeedCorpusGenerator}.
+ *
+ * @param items number of feed items
+ * @param currencies relative weight of each currency of the item amounts
+ * @param outRatio fraction of the items that are outgoing ({@code OUT}), the rest are {@code IN}
+ * @param statuses relative weight of each item status
+ * @param spread time range the transaction times are spread over, ending at {@code end}
+ * @param end latest transaction time
+ * @param seed seed of the random generator, equal specs always generate the same feed
+ */
+public record FeedCorpusSpec(
+        int items,
+        Map<String, Double> currencies,
+        double outRatio,
+        Map<String, Double> statuses,
+        Duration spread,
+        LocalDateTime end,
+        long seed
+) {
+
+    public FeedCorpusSpec {
+        if (items < 0) {
+            throw new IllegalArgumentException("Items must not be negative: " + items);
+        }
+        if (outRatio < 0 || outRatio > 1) {
+            throw new IllegalArgumentException("OUT ratio must be between 0 and 1: " + outRatio);
+        }
+        if (spread.isNegative()) {
+            throw new IllegalArgumentException("Spread must not be negative: " + spread);
+        }
+        currencies = weights("currency", currencies);
+        statuses = weights("status", statuses);
+        Objects.requireNonNull(end, "End must not be null");
+    }
+
+    /**
+     * A week of a personal account: mostly sterling card spend, some foreign currency, and a small
+     * share of pending and declined transactions.
+     */
+    public static FeedCorpusSpec of(int items) {
+        return new FeedCorpusSpec(
+                items,
+                Map.of("GBP", 0.95, "EUR", 0.03, "USD", 0.02),
+                0.85,
+                Map.of("SETTLED", 0.93, "PENDING", 0.05, "DECLINED", 0.02),
+                Duration.ofDays(7),
+                LocalDateTime.of(2026, 3, 2, 10, 0),
+                42L);
+    }
+
+    public FeedCorpusSpec withItems(int items) {
+        return new FeedCorpusSpec(items, currencies, outRatio, statuses, spread, end, seed);
+    }
+
+    public FeedCorpusSpec withCurrencies(Map<String, Double> currencies) {
+        return new FeedCorpusSpec(items, currencies, outRatio, statuses, spread, end, seed);
+    }
+
+    public FeedCorpusSpec withOutRatio(double outRatio) {
+        return new FeedCorpusSpec(items, currencies, outRatio, statuses, spread, end, seed);
+    }
+
+    public FeedCorpusSpec withStatuses(Map<String, Double> statuses) {
+        return new FeedCorpusSpec(items, currencies, outRatio, statuses, spread, end, seed);
+    }
+
+    public FeedCorpusSpec withSpread(Duration spread) {
+        return new FeedCorpusSpec(items, currencies, outRatio, statuses, spread, end, seed);
+    }
+
+    /**
+     * Parses weights written as {@code GBP:0.9,EUR:0.1}.
+     */
+    public static Map<String, Double> parseWeights(String value) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Weights must be <name>:<weight>,...: " + value);
+            }
+            weights.put(parts[0].trim(), Double.valueOf(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * @return a file name that differs for every spec, so that corpora of different specs can share
+     *         a directory
+     */
+    public String fileName() {
+        return String.format("feed-%d-%08x.json.gz", items,
+                Objects.hash(currencies, outRatio, statuses, spread, end, seed));
+    }
+
+    private static Map<String, Double> weights(String name, Map<String, Double> weights) {
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + name + " is needed");
+        }
+        weights.forEach((key, weight) -> {
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("Weight of " + name + " " + key + " must be positive: " + weight);
+            }
+        });
+        // sorted, so that the same spec draws the same values whatever the order it was given in
+        return Collections.unmodifiableMap(new TreeMap<>(weights));
+    }
+}
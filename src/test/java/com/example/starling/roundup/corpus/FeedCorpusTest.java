@@ -0,0 +1,86 @@
+package com.example.starling.roundup.corpus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.FeedItems;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FeedCorpusTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void load_generatesFeedWithTheMixOfTheSpec() throws Exception {
+        FeedCorpusSpec spec = FeedCorpusSpec.of(5_000)
+                .withCurrencies(Map.of("GBP", 0.8, "EUR", 0.2))
+                .withOutRatio(0.7)
+                .withStatuses(Map.of("SETTLED", 0.9, "PENDING", 0.1))
+                .withSpread(Duration.ofDays(30));
+
+        List<FeedItem> items = objectMapper.readValue(FeedCorpus.load(spec, tempDir), FeedItems.class).feedItems();
+
+        assertEquals(5_000, items.size());
+        assertShare(0.8, items, item -> "GBP".equals(item.amount().currency()));
+        assertShare(0.7, items, item -> item.direction() == FeedItem.Direction.OUT);
+        assertShare(0.1, items, item -> item.status() == FeedItem.Status.PENDING);
+        assertTrue(items.stream().filter(item -> item.status() == FeedItem.Status.PENDING)
+                .allMatch(item -> item.settlementTime() == null));
+        LocalDateTime earliest = spec.end().minus(spec.spread());
+        for (int i = 0; i < items.size(); i++) {
+            LocalDateTime time = items.get(i).transactionTime();
+            assertTrue(!time.isBefore(earliest) && !time.isAfter(spec.end()), "Out of spread: " + time);
+            assertTrue(i == 0 || !time.isAfter(items.get(i - 1).transactionTime()), "Not newest first at " + i);
+            assertTrue(items.get(i).amount().minorUnits() > 0);
+        }
+    }
+
+    @Test
+    void load_sameSpec_generatesSameFeedOnceAndReusesFile() throws Exception {
+        FeedCorpusSpec spec = FeedCorpusSpec.of(100);
+        Path file = FeedCorpus.ensure(spec, tempDir);
+        FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(file, written);
+
+        byte[] loaded = FeedCorpus.load(spec, tempDir);
+
+        assertEquals(written, Files.getLastModifiedTime(file));
+        assertArrayEquals(FeedCorpusGenerator.toBytes(spec), loaded);
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void fileName_differsWithSpec() {
+        FeedCorpusSpec spec = FeedCorpusSpec.of(100);
+
+        assertEquals(spec.fileName(), FeedCorpusSpec.of(100).fileName());
+        assertNotEquals(spec.fileName(), spec.withOutRatio(0.5).fileName());
+        assertNotEquals(spec.fileName(), spec.withItems(101).fileName());
+        assertEquals(spec.fileName(), spec.withCurrencies(FeedCorpusSpec.parseWeights("USD:0.02,GBP:0.95,EUR:0.03")).fileName());
+    }
+
+    private static void assertShare(double expected, List<FeedItem> items, Predicate<FeedItem> predicate) {
+        double share = (double) items.stream().filter(predicate).count() / items.size();
+        assertEquals(expected, share, 0.03, "Share");
+    }
+}
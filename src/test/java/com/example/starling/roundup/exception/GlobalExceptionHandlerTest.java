@@ -2,15 +2,22 @@ package com.example.starling.roundup.exception;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.example.starling.roundup.util.FailFastScope;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 public class GlobalExceptionHandlerTest {
-    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
 
     @Test
     void handleDownstreamClientError() {
@@ -33,6 +40,8 @@ public class GlobalExceptionHandlerTest {
         InsufficientBalanceException ex = new InsufficientBalanceException("Insufficient funds");
         ResponseEntity<Object> resp = handler.handleInsufficientBalance(ex);
         assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, resp.getStatusCode());
+        assertEquals(1, meterRegistry.get("roundup.errors")
+                .tags("exception", "InsufficientBalanceException", "status", "422").counter().count());
         @SuppressWarnings("unchecked")
         Map<String, Object> body = (Map<String, Object>) resp.getBody();
         assertNotNull(body.get("timestamp"));
@@ -53,4 +62,51 @@ public class GlobalExceptionHandlerTest {
         assertEquals("InvalidAccountData", body.get("code"));
         assertEquals("bad data", body.get("message"));
     }
+
+    @Test
+    void handleDownstreamTimeout() {
+        FailFastScope.ScopeTimeoutException ex = new FailFastScope.ScopeTimeoutException("timed out");
+        ResponseEntity<Object> resp = handler.handleDownstreamTimeout(ex);
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, resp.getStatusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = (Map<String, Object>) resp.getBody();
+        assertNotNull(body.get("timestamp"));
+        assertEquals("DownstreamTimeout", body.get("code"));
+        assertEquals("timed out", body.get("message"));
+    }
+
+    @Test
+    void handleDownstreamUnavailable() {
+        DownstreamUnavailableException ex = new DownstreamUnavailableException("circuit open", Duration.ofSeconds(10));
+        ResponseEntity<Object> resp = handler.handleDownstreamUnavailable(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resp.getStatusCode());
+        assertEquals("10", resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = (Map<String, Object>) resp.getBody();
+        assertEquals("DownstreamUnavailable", body.get("code"));
+        assertEquals("circuit open", body.get("message"));
+    }
+
+    @Test
+    void handleServiceOverloaded() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("too many round-ups", Duration.ofMillis(500));
+        ResponseEntity<Object> resp = handler.handleServiceOverloaded(ex);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resp.getStatusCode());
+        assertEquals("1", resp.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = (Map<String, Object>) resp.getBody();
+        assertEquals("ServiceOverloaded", body.get("code"));
+        assertEquals("too many round-ups", body.get("message"));
+    }
+
+    @Test
+    void handleInvalidBatchRequest() {
+        InvalidBatchRequestException ex = new InvalidBatchRequestException("Batch input not found: customers.csv");
+        ResponseEntity<Object> resp = handler.handleInvalidBatchRequest(ex);
+        assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = (Map<String, Object>) resp.getBody();
+        assertEquals("InvalidBatchRequest", body.get("code"));
+        assertEquals("Batch input not found: customers.csv", body.get("message"));
+    }
 }
@@ -84,6 +84,34 @@ class AccountServiceImplTest {
         assertEquals("Account data not valid", exception.getMessage());
     }
 
+    @Test
+    void getAccount_Success() {
+        // Given
+        Account first = new Account(UUID.randomUUID(), UUID.randomUUID(), "PRIMARY", "GBP");
+        Account second = new Account(accountUid, defaultCategoryId, "ADDITIONAL", "EUR");
+        when(restTemplate.getForObject(eq("/api/v2/accounts"), eq(AccountsResponse.class)))
+                .thenReturn(new AccountsResponse(List.of(first, second)));
+
+        // When
+        Account result = accountService.getAccount(accountUid);
+
+        // Then
+        assertEquals(second, result);
+    }
+
+    @Test
+    void getAccount_ThrowsException_WhenAccountNotListed() {
+        // Given
+        Account other = new Account(UUID.randomUUID(), defaultCategoryId, "PRIMARY", "GBP");
+        when(restTemplate.getForObject(eq("/api/v2/accounts"), eq(AccountsResponse.class)))
+                .thenReturn(new AccountsResponse(List.of(other)));
+
+        // When/Then
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> accountService.getAccount(accountUid));
+        assertEquals("Account not found", exception.getMessage());
+    }
+
     @Test
     void getDefaultCategory_Success() {
         // Given
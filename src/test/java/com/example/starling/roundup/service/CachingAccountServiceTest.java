@@ -0,0 +1,141 @@
+package com.example.starling.roundup.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.AccountNotFoundException;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.model.Account;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountServiceTest {
+
+    @Mock
+    private AccountServiceImpl delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final StarlingApiConfig starlingApiConfig = new StarlingApiConfig();
+    private final RoundUpProperties properties = new RoundUpProperties();
+    private final Account account = new Account(UUID.randomUUID(), UUID.randomUUID(), "PRIMARY", "GBP");
+
+    @BeforeEach
+    void setUp() {
+        starlingApiConfig.setToken("token-a");
+        properties.getAccountCache().setTtl(Duration.ofMinutes(10));
+        properties.getAccountCache().setRefreshAfter(Duration.ofMinutes(5));
+    }
+
+    private CachingAccountService cachingService() {
+        return new CachingAccountService(delegate, starlingApiConfig, properties, nanos::get);
+    }
+
+    @Test
+    void getDefaultAccount_cachedPerToken() {
+        when(delegate.getDefaultAccount()).thenReturn(account);
+        CachingAccountService service = cachingService();
+
+        assertSame(account, service.getDefaultAccount());
+        assertSame(account, service.getDefaultAccount());
+        verify(delegate, times(1)).getDefaultAccount();
+
+        starlingApiConfig.setToken("token-b");
+        service.getDefaultAccount();
+        verify(delegate, times(2)).getDefaultAccount();
+    }
+
+    @Test
+    void getDefaultAccount_reloadsAfterTtl() {
+        properties.getAccountCache().setRefreshAfter(Duration.ofMinutes(10));
+        when(delegate.getDefaultAccount()).thenReturn(account);
+        CachingAccountService service = cachingService();
+
+        service.getDefaultAccount();
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        service.getDefaultAccount();
+
+        verify(delegate, times(2)).getDefaultAccount();
+    }
+
+    @Test
+    void getDefaultAccount_refreshesAheadOfExpiry() {
+        Account updated = new Account(account.accountUid(), UUID.randomUUID(), "PRIMARY", "GBP");
+        when(delegate.getDefaultAccount()).thenReturn(account, updated);
+        CachingAccountService service = cachingService();
+
+        service.getDefaultAccount();
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        // triggers a background reload; the entry has not expired yet
+        service.getDefaultAccount();
+
+        verify(delegate, timeout(1000).times(2)).getDefaultAccount();
+    }
+
+    @Test
+    void getDefaultAccount_failuresAreNotCached() {
+        when(delegate.getDefaultAccount())
+                .thenThrow(new AccountNotFoundException("Account not found"))
+                .thenReturn(account);
+        CachingAccountService service = cachingService();
+
+        assertThrows(AccountNotFoundException.class, service::getDefaultAccount);
+        assertSame(account, service.getDefaultAccount());
+    }
+
+    @Test
+    void getEffectiveBalance_clientError_invalidatesCachedAccount() {
+        when(delegate.getDefaultAccount()).thenReturn(account);
+        when(delegate.getEffectiveBalance(account.accountUid()))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 404, body: "));
+        CachingAccountService service = cachingService();
+
+        service.getDefaultAccount();
+        assertThrows(DownstreamClientException.class, () -> service.getEffectiveBalance(account.accountUid()));
+        service.getDefaultAccount();
+
+        verify(delegate, times(2)).getDefaultAccount();
+    }
+
+    @Test
+    void disabled_alwaysDelegates() {
+        properties.getAccountCache().setEnabled(false);
+        when(delegate.getDefaultAccount()).thenReturn(account);
+        CachingAccountService service = cachingService();
+
+        service.getDefaultAccount();
+        service.getDefaultAccount();
+
+        verify(delegate, times(2)).getDefaultAccount();
+    }
+
+    @Test
+    void bindTo_publishesHitAndMissCounts() {
+        when(delegate.getDefaultAccount()).thenReturn(account);
+        CachingAccountService service = cachingService();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+
+        service.getDefaultAccount();
+        service.getDefaultAccount();
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", CachingAccountService.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", CachingAccountService.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.starling.roundup.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.exception.DownstreamServerException;
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.SavingsGoal;
+
+@ExtendWith(MockitoExtension.class)
+class CachingGoalServiceTest {
+
+    @Mock
+    private GoalServiceImpl delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final RoundUpProperties properties = new RoundUpProperties();
+    private final UUID accountUid = UUID.randomUUID();
+    private final SavingsGoal goal = new SavingsGoal(UUID.randomUUID().toString(), "Round Up Savings", "GBP",
+            new CurrencyAndAmount("GBP", 0L));
+
+    private CachingGoalService goalService;
+
+    @BeforeEach
+    void setUp() {
+        properties.getGoalCache().setNegativeTtl(Duration.ofSeconds(30));
+        goalService = new CachingGoalService(delegate, properties, nanos::get);
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_cachedPerAccount() {
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP")).thenReturn(goal);
+
+        assertSame(goal, goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+        assertSame(goal, goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+
+        verify(delegate, times(1)).getOrCreateSavingsGoal(accountUid, "GBP");
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_concurrentCallers_shareOneLookup() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP")).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return goal;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SavingsGoal> first = executor.submit(() -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+            lookupStarted.await(5, TimeUnit.SECONDS);
+            Future<SavingsGoal> second = executor.submit(() -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+            release.countDown();
+
+            assertSame(goal, first.get(5, TimeUnit.SECONDS));
+            assertSame(goal, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(delegate, times(1)).getOrCreateSavingsGoal(accountUid, "GBP");
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_invalidData_negativeCachedUntilTtl() {
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenThrow(new InvalidAccountDataException("Get savings goals response invalid"))
+                .thenReturn(goal);
+
+        InvalidAccountDataException first = assertThrows(InvalidAccountDataException.class,
+                () -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+        InvalidAccountDataException cached = assertThrows(InvalidAccountDataException.class,
+                () -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+        verify(delegate, times(1)).getOrCreateSavingsGoal(accountUid, "GBP");
+        assertNotSame(first, cached);
+        assertEquals(first.getMessage(), cached.getMessage());
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertSame(goal, goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_notFound_negativeCachedWithNewException() {
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 404, body: ", 404));
+
+        DownstreamClientException first = assertThrows(DownstreamClientException.class,
+                () -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+        DownstreamClientException cached = assertThrows(DownstreamClientException.class,
+                () -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+
+        verify(delegate, times(1)).getOrCreateSavingsGoal(accountUid, "GBP");
+        assertNotSame(first, cached);
+        assertEquals(404, cached.getStatusCode());
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_otherClientError_notNegativeCached() {
+        // depend on the caller's token or on the moment, not on the account
+        for (int status : new int[] {400, 401, 403, 429}) {
+            UUID account = UUID.randomUUID();
+            when(delegate.getOrCreateSavingsGoal(account, "GBP"))
+                    .thenThrow(new DownstreamClientException("Downstream 4xx error: " + status + ", body: ", status))
+                    .thenReturn(goal);
+
+            assertThrows(DownstreamClientException.class, () -> goalService.getOrCreateSavingsGoal(account, "GBP"));
+            assertSame(goal, goalService.getOrCreateSavingsGoal(account, "GBP"), "status " + status);
+        }
+    }
+
+    @Test
+    void getOrCreateSavingsGoal_serverError_notNegativeCached() {
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503, body: "))
+                .thenReturn(goal);
+
+        assertThrows(DownstreamServerException.class, () -> goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+        assertSame(goal, goalService.getOrCreateSavingsGoal(accountUid, "GBP"));
+    }
+
+    @Test
+    void transferToSavingsGoal_notFound_invalidatesCachedGoal() {
+        UUID goalUid = UUID.fromString(goal.savingsGoalUid());
+        UUID transferUid = UUID.randomUUID();
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP")).thenReturn(goal);
+        when(delegate.transferToSavingsGoal(accountUid, goalUid, new CurrencyAndAmount("GBP", 50L), transferUid))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 404, body: ", 404));
+
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+        assertThrows(DownstreamClientException.class, () -> goalService.transferToSavingsGoal(accountUid, goalUid, new CurrencyAndAmount("GBP", 50L), transferUid));
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+
+        verify(delegate, times(2)).getOrCreateSavingsGoal(accountUid, "GBP");
+    }
+
+    @Test
+    void transferToSavingsGoal_otherClientError_keepsCachedGoal() {
+        UUID goalUid = UUID.fromString(goal.savingsGoalUid());
+        UUID transferUid = UUID.randomUUID();
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP")).thenReturn(goal);
+        when(delegate.transferToSavingsGoal(accountUid, goalUid, new CurrencyAndAmount("GBP", 50L), transferUid))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 400, body: ", 400));
+
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+        assertThrows(DownstreamClientException.class, () -> goalService.transferToSavingsGoal(accountUid, goalUid, new CurrencyAndAmount("GBP", 50L), transferUid));
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+
+        verify(delegate, times(1)).getOrCreateSavingsGoal(accountUid, "GBP");
+    }
+
+    @Test
+    void disabled_alwaysDelegates() {
+        properties.getGoalCache().setEnabled(false);
+        goalService = new CachingGoalService(delegate, properties, nanos::get);
+        when(delegate.getOrCreateSavingsGoal(accountUid, "GBP")).thenReturn(goal);
+
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+        goalService.getOrCreateSavingsGoal(accountUid, "GBP");
+
+        verify(delegate, times(2)).getOrCreateSavingsGoal(accountUid, "GBP");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.starling.roundup.service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.model.FeedItem.Direction;
+import com.example.starling.roundup.model.FeedItem.Source;
+import com.example.starling.roundup.model.FeedItem.Status;
+
+class FeedItemFilterTest {
+
+    @Test
+    void defaultRules_acceptOnlySettledOutgoingPaymentsOtherThanInternalTransfers() {
+        FeedItemFilter filter = FeedItemFilter.compile(new RoundUpProperties().getFilter());
+
+        assertTrue(filter.test(Direction.OUT, Status.SETTLED, Source.MASTER_CARD, "GBP"));
+        assertTrue(filter.test(Direction.OUT, Status.SETTLED, Source.OTHER, "EUR"));
+        assertFalse(filter.test(Direction.IN, Status.SETTLED, Source.FASTER_PAYMENTS_IN, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.PENDING, Source.MASTER_CARD, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.DECLINED, Source.MASTER_CARD, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.REVERSED, Source.MASTER_CARD, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.SETTLED, Source.INTERNAL_TRANSFER, "GBP"));
+        // missing fields read as UNKNOWN
+        assertFalse(filter.test(null, Status.SETTLED, Source.MASTER_CARD, "GBP"));
+        assertFalse(filter.test(Direction.OUT, null, Source.MASTER_CARD, "GBP"));
+        assertTrue(filter.test(Direction.OUT, Status.SETTLED, null, null));
+    }
+
+    @Test
+    void configuredRules_matchDirectionsStatusesSourcesAndCurrencies() {
+        RoundUpProperties.Filter rules = new RoundUpProperties().getFilter();
+        rules.setDirections(EnumSet.of(Direction.OUT, Direction.IN));
+        rules.setStatuses(EnumSet.of(Status.SETTLED, Status.PENDING));
+        rules.setExcludedSources(EnumSet.of(Source.DIRECT_DEBIT));
+        rules.setCurrencies(Set.of("GBP"));
+
+        FeedItemFilter filter = FeedItemFilter.compile(rules);
+
+        assertTrue(filter.test(Direction.IN, Status.PENDING, Source.INTERNAL_TRANSFER, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.SETTLED, Source.DIRECT_DEBIT, "GBP"));
+        assertFalse(filter.test(Direction.OUT, Status.SETTLED, Source.MASTER_CARD, "EUR"));
+        assertFalse(filter.test(Direction.OUT, Status.SETTLED, Source.MASTER_CARD, null));
+        assertFalse(filter.acceptsAll());
+    }
+
+    @Test
+    void disabled_acceptsEveryItem() {
+        RoundUpProperties.Filter rules = new RoundUpProperties().getFilter();
+        rules.setEnabled(false);
+
+        FeedItemFilter filter = FeedItemFilter.compile(rules);
+
+        assertSame(FeedItemFilter.ACCEPT_ALL, filter);
+        assertTrue(filter.acceptsAll());
+        assertTrue(filter.test(Direction.IN, Status.DECLINED, Source.INTERNAL_TRANSFER, "XXX"));
+    }
+
+    @Test
+    void enumLookups_mapUnknownValuesToFallbacks() {
+        assertSame(Direction.OUT, Direction.of("OUT"));
+        assertSame(Direction.UNKNOWN, Direction.of("SIDEWAYS"));
+        assertSame(Status.UNKNOWN, Status.of(null));
+        assertSame(Source.OTHER, Source.of("SOME_NEW_SCHEME"));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.starling.roundup.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.corpus.FeedCorpusGenerator;
+import com.example.starling.roundup.corpus.FeedCorpusSpec;
+import com.example.starling.roundup.exception.InvalidAccountDataException;
+import com.example.starling.roundup.model.FeedItems;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class FeedRoundUpExtractorTest {
+
+    private final FeedRoundUpExtractor extractor = new FeedRoundUpExtractor();
+
+    @Test
+    void extractData_matchesNonStreamingCalculation() throws IOException {
+        byte[] body;
+        try (InputStream in = getClass().getResourceAsStream("/wiremock/__files/transactions.json")) {
+            body = in.readAllBytes();
+        }
+        JsonMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        long expected = new TransactionFeedItemServiceImpl(null)
+                .calculateRoundUpAmount(mapper.readValue(body, FeedItems.class).feedItems());
+
+        assertEquals(expected, extract(body));
+    }
+
+    @Test
+    void extractData_sumsEveryItemAndSkipsOtherFields() throws IOException {
+        String json = """
+                {
+                  "cursor": {"next": [1, 2, {"deep": true}]},
+                  "feedItems": [
+                    {"feedItemUid": "a", "amount": {"currency": "GBP", "minorUnits": 435}, "tags": [{"x": 1}]},
+                    {"sourceAmount": {"minorUnits": 999}, "amount": {"minorUnits": 520, "currency": "GBP"}},
+                    {"amount": {"currency": "GBP", "minorUnits": 87}, "status": "SETTLED"},
+                    {"amount": {"currency": "GBP", "minorUnits": 300}}
+                  ],
+                  "trailing": "ignored"
+                }
+                """;
+
+        // 65 + 80 + 13 + 0
+        assertEquals(158L, extract(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void extractData_withFilter_skipsRejectedItems() throws IOException {
+        String json = """
+                {
+                  "feedItems": [
+                    {"amount": {"currency": "GBP", "minorUnits": 435}, "direction": "OUT", "status": "SETTLED", "source": "MASTER_CARD"},
+                    {"amount": {"currency": "GBP", "minorUnits": 435}, "direction": "IN", "status": "SETTLED", "source": "FASTER_PAYMENTS_IN"},
+                    {"amount": {"currency": "GBP", "minorUnits": 435}, "direction": "OUT", "status": "DECLINED", "source": "MASTER_CARD"},
+                    {"amount": {"currency": "GBP", "minorUnits": 435}, "direction": "OUT", "status": "SETTLED", "source": "INTERNAL_TRANSFER"},
+                    {"source": "SOME_NEW_SCHEME", "status": "SETTLED", "direction": "OUT", "amount": {"minorUnits": 520, "currency": "GBP"}}
+                  ]
+                }
+                """;
+        FeedRoundUpExtractor filtering = new FeedRoundUpExtractor(FeedItemFilter.compile(new RoundUpProperties().getFilter()));
+
+        // 65 + 80
+        assertEquals(Map.of("GBP", 145L), filtering.extractData(
+                new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)).byCurrency());
+    }
+
+    @Test
+    void extractData_withFilter_matchesNonStreamingCalculationOverMixedFeed() throws IOException {
+        byte[] body = FeedCorpusGenerator.toBytes(FeedCorpusSpec.of(5_000));
+        RoundUpProperties properties = new RoundUpProperties();
+        FeedRoundUpExtractor filtering = new FeedRoundUpExtractor(FeedItemFilter.compile(properties.getFilter()));
+        JsonMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        Map<String, Long> expected = new TransactionFeedItemServiceImpl(null, properties)
+                .calculateRoundUpAmountsByCurrency(mapper.readValue(body, FeedItems.class).feedItems());
+
+        assertEquals(expected, filtering.extractData(new MockClientHttpResponse(body, HttpStatus.OK)).byCurrency());
+        assertTrue(expected.get("GBP")
+                < extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK)).byCurrency().get("GBP"));
+    }
+
+    @Test
+    void extractData_roundsEachCurrencyToItsOwnUnit() throws IOException {
+        String json = """
+                {
+                  "feedItems": [
+                    {"amount": {"currency": "GBP", "minorUnits": 435}},
+                    {"amount": {"minorUnits": 1250, "currency": "KWD"}},
+                    {"amount": {"currency": "JPY", "minorUnits": 450}},
+                    {"amount": {"currency": "EUR", "minorUnits": 199}},
+                    {"amount": {"currency": "GBP", "minorUnits": 520}}
+                  ]
+                }
+                """;
+
+        Map<String, Long> roundUps = extractor.extractData(
+                new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)).byCurrency();
+
+        assertEquals(Map.of("GBP", 145L, "KWD", 750L, "JPY", 0L, "EUR", 1L), roundUps);
+        assertEquals(List.of("GBP", "KWD", "JPY", "EUR"), List.copyOf(roundUps.keySet()));
+    }
+
+    @Test
+    void extractData_sameItems_sameCoverageWhateverTheOrder() throws IOException {
+        String first = """
+                {
+                  "feedItems": [
+                    {"feedItemUid": "11111111-1111-1111-1111-111111111111", "transactionTime": "2025-03-01T10:00:00.000Z",
+                     "amount": {"currency": "GBP", "minorUnits": 435}, "direction": "OUT", "status": "SETTLED"},
+                    {"feedItemUid": "22222222-2222-2222-2222-222222222222", "transactionTime": "2025-03-02T10:00:00.000Z",
+                     "amount": {"currency": "GBP", "minorUnits": 520}, "direction": "OUT", "status": "SETTLED"}
+                  ]
+                }
+                """;
+        String reordered = """
+                {
+                  "feedItems": [
+                    {"amount": {"currency": "GBP", "minorUnits": 520}, "direction": "OUT", "status": "SETTLED",
+                     "transactionTime": "2025-03-02T10:00:00.000Z", "feedItemUid": "22222222-2222-2222-2222-222222222222"},
+                    {"amount": {"currency": "GBP", "minorUnits": 250}, "direction": "IN", "status": "SETTLED",
+                     "transactionTime": "2025-03-03T10:00:00.000Z", "feedItemUid": "33333333-3333-3333-3333-333333333333"},
+                    {"feedItemUid": "11111111-1111-1111-1111-111111111111", "transactionTime": "2025-03-01T10:00:00.000Z",
+                     "amount": {"currency": "GBP", "minorUnits": 435}, "direction": "OUT", "status": "SETTLED"}
+                  ]
+                }
+                """;
+        String another = first.replace("22222222-2222", "44444444-4444");
+        FeedRoundUpExtractor filtering = new FeedRoundUpExtractor(FeedItemFilter.compile(new RoundUpProperties().getFilter()));
+
+        String coverage = filtering.extractData(
+                new MockClientHttpResponse(first.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)).coverage();
+
+        // the incoming payment is not rounded up, so it does not change the coverage
+        assertEquals(coverage, filtering.extractData(
+                new MockClientHttpResponse(reordered.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)).coverage());
+        assertNotEquals(coverage, filtering.extractData(
+                new MockClientHttpResponse(another.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)).coverage());
+    }
+
+    @Test
+    void extractData_emptyBodyOrFeed_returnsZero() throws IOException {
+        assertEquals(0L, extract(new byte[0]));
+        assertEquals(0L, extract("{\"feedItems\": []}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0L, extract("{\"feedItems\": null}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void extractData_itemWithoutAmount_throwsException() {
+        byte[] json = "{\"feedItems\": [{\"feedItemUid\": \"a\"}]}".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(InvalidAccountDataException.class, () -> extract(json));
+    }
+
+    private long extract(byte[] body) throws IOException {
+        return extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK)).byCurrency().values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+}
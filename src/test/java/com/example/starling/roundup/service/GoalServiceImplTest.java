@@ -1,5 +1,6 @@
 package com.example.starling.roundup.service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -15,6 +16,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -23,12 +25,16 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.exception.InvalidAccountDataException;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.SavingsGoal;
 import com.example.starling.roundup.model.SavingsGoalRequest;
 import com.example.starling.roundup.model.SavingsGoalResponse;
 import com.example.starling.roundup.model.SavingsGoalTransferResponse;
+import com.example.starling.roundup.model.TopUpRequest;
 
 @ExtendWith(MockitoExtension.class)
 class GoalServiceImplTest {
@@ -52,7 +58,7 @@ class GoalServiceImplTest {
         when(restTemplate.getForObject("/api/v2/account/" + accountUid + "/savings-goals", SavingsGoalResponse.class))
                 .thenReturn(response);
 
-        SavingsGoal result = goalService.getOrCreateSavingsGoal(accountUid);
+        SavingsGoal result = goalService.getOrCreateSavingsGoal(accountUid, "GBP");
 
         assertEquals(existingGoal, result);
         verify(restTemplate, never()).postForObject(anyString(), any(SavingsGoalRequest.class), eq(SavingsGoal.class));
@@ -73,17 +79,38 @@ class GoalServiceImplTest {
         when(restTemplate.postForObject("/api/v2/account/" + accountUid + "/savings-goals", savingsGoalRequest, SavingsGoal.class))
                 .thenReturn(newGoal);
 
-        SavingsGoal result = goalService.getOrCreateSavingsGoal(accountUid);
+        SavingsGoal result = goalService.getOrCreateSavingsGoal(accountUid, "GBP");
 
         assertEquals(newGoal, result);
     }
 
+    @Test
+    void getOrCreateSavingsGoal_noExistingGoal_createsNewInAccountCurrency() {
+        UUID accountUid = UUID.randomUUID();
+        // 1000 whole units of each currency
+        SavingsGoalRequest euroRequest = new SavingsGoalRequest(
+                goalService.ROUND_UP_SAVINGS_GOAL_NAME, "EUR", new CurrencyAndAmount("EUR", 100000L));
+        SavingsGoalRequest dinarRequest = new SavingsGoalRequest(
+                goalService.ROUND_UP_SAVINGS_GOAL_NAME, "KWD", new CurrencyAndAmount("KWD", 1000000L));
+        SavingsGoal newGoal = new SavingsGoal("new-uid", goalService.ROUND_UP_SAVINGS_GOAL_NAME, "EUR", new CurrencyAndAmount("EUR", 1000L));
+        when(restTemplate.getForObject("/api/v2/account/" + accountUid + "/savings-goals", SavingsGoalResponse.class))
+                .thenReturn(new SavingsGoalResponse(Collections.emptyList()));
+        when(restTemplate.postForObject(eq("/api/v2/account/" + accountUid + "/savings-goals"), any(SavingsGoalRequest.class), eq(SavingsGoal.class)))
+                .thenReturn(newGoal);
+
+        goalService.getOrCreateSavingsGoal(accountUid, "EUR");
+        goalService.getOrCreateSavingsGoal(accountUid, "KWD");
+
+        verify(restTemplate).postForObject("/api/v2/account/" + accountUid + "/savings-goals", euroRequest, SavingsGoal.class);
+        verify(restTemplate).postForObject("/api/v2/account/" + accountUid + "/savings-goals", dinarRequest, SavingsGoal.class);
+    }
+
     @Test
     void getOrCreateSavingsGoal_nullResponse_throwsException() {
         when(restTemplate.getForObject(anyString(), eq(SavingsGoalResponse.class))).thenReturn(null);
 
         InvalidAccountDataException exception = assertThrows(InvalidAccountDataException.class, ()
-                -> goalService.getOrCreateSavingsGoal(UUID.randomUUID())
+                -> goalService.getOrCreateSavingsGoal(UUID.randomUUID(), "GBP")
         );
         assertNotNull(exception);
     }
@@ -94,7 +121,7 @@ class GoalServiceImplTest {
         when(restTemplate.getForObject(anyString(), eq(SavingsGoalResponse.class))).thenReturn(response);
 
         InvalidAccountDataException exception = assertThrows(InvalidAccountDataException.class, ()
-                -> goalService.getOrCreateSavingsGoal(UUID.randomUUID())
+                -> goalService.getOrCreateSavingsGoal(UUID.randomUUID(), "GBP")
         );
         assertNotNull(exception);
     }
@@ -106,11 +133,25 @@ class GoalServiceImplTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class)))
                 .thenReturn(responseEntity);
 
-        String result = goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), 500L);
+        String result = goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("GBP", 500L), UUID.randomUUID());
 
         assertEquals("transfer-uid", result);
     }
 
+    @Test
+    void transferToSavingsGoal_sendsAmountInItsCurrency() {
+        ResponseEntity<SavingsGoalTransferResponse> responseEntity
+                = ResponseEntity.ok(new SavingsGoalTransferResponse(true, "transfer-uid"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class)))
+                .thenReturn(responseEntity);
+
+        goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("EUR", 145L), UUID.randomUUID());
+
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.PUT),
+                eq(new HttpEntity<>(new TopUpRequest(new CurrencyAndAmount("EUR", 145L)))),
+                eq(SavingsGoalTransferResponse.class));
+    }
+
     @Test
     void transferToSavingsGoal_nullBody_throwsException() {
         ResponseEntity<SavingsGoalTransferResponse> responseEntity = ResponseEntity.ok(null);
@@ -118,7 +159,7 @@ class GoalServiceImplTest {
                 .thenReturn(responseEntity);
 
         InvalidAccountDataException exception = assertThrows(InvalidAccountDataException.class, ()
-                -> goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), 200L)
+                -> goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("GBP", 200L), UUID.randomUUID())
         );
         assertNotNull(exception);
     }
@@ -131,8 +172,53 @@ class GoalServiceImplTest {
                 .thenReturn(responseEntity);
 
         InvalidAccountDataException exception = assertThrows(InvalidAccountDataException.class, ()
-                -> goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), 300L)
+                -> goalService.transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("GBP", 300L), UUID.randomUUID())
         );
         assertNotNull(exception);
     }
+
+    private GoalServiceImpl retryingGoalService() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getTransfer().setMaxAttempts(3);
+        properties.getTransfer().setRetryBackoff(Duration.ofMillis(1));
+        return new GoalServiceImpl(restTemplate, properties);
+    }
+
+    @Test
+    void transferToSavingsGoal_serverError_retriesWithSameTransferUid() {
+        UUID accountUid = UUID.randomUUID();
+        UUID goalUid = UUID.randomUUID();
+        UUID transferUid = UUID.randomUUID();
+        String url = "/api/v2/account/" + accountUid + "/savings-goals/" + goalUid + "/add-money/" + transferUid;
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class)))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503"))
+                .thenReturn(ResponseEntity.ok(new SavingsGoalTransferResponse(true, transferUid.toString())));
+
+        String result = retryingGoalService().transferToSavingsGoal(accountUid, goalUid, new CurrencyAndAmount("GBP", 500L), transferUid);
+
+        assertEquals(transferUid.toString(), result);
+        verify(restTemplate, times(2)).exchange(eq(url), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class));
+    }
+
+    @Test
+    void transferToSavingsGoal_serverErrorOnEveryAttempt_throwsAfterMaxAttempts() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class)))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503"));
+
+        assertThrows(DownstreamServerException.class,
+                () -> retryingGoalService().transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("GBP", 500L), UUID.randomUUID()));
+
+        verify(restTemplate, times(3)).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class));
+    }
+
+    @Test
+    void transferToSavingsGoal_clientError_notRetried() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class)))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 400", 400));
+
+        assertThrows(DownstreamClientException.class,
+                () -> retryingGoalService().transferToSavingsGoal(UUID.randomUUID(), UUID.randomUUID(), new CurrencyAndAmount("GBP", 500L), UUID.randomUUID()));
+
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(SavingsGoalTransferResponse.class));
+    }
 }
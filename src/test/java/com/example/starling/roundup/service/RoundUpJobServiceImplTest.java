@@ -0,0 +1,97 @@
+package com.example.starling.roundup.service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.InsufficientBalanceException;
+import com.example.starling.roundup.exception.ServiceOverloadedException;
+import com.example.starling.roundup.model.RoundUpJob;
+import com.example.starling.roundup.model.RoundUpResult;
+
+@ExtendWith(MockitoExtension.class)
+class RoundUpJobServiceImplTest {
+
+    @Mock
+    private RoundUpService roundUpService;
+
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_roundUpSucceeds_jobReportsResult() throws Exception {
+        RoundUpResult result = new RoundUpResult(UUID.randomUUID(), RoundUpResult.Outcome.TRANSFERRED, 158, "transfer");
+        when(roundUpService.roundUpTransactions()).thenReturn(result);
+        RoundUpJobServiceImpl service = new RoundUpJobServiceImpl(roundUpService, new RoundUpProperties(), executor);
+
+        RoundUpJob job = service.submit();
+
+        assertEquals(RoundUpJob.Status.QUEUED, job.status());
+        RoundUpJob finished = awaitFinished(service, job.jobId());
+        assertEquals(RoundUpJob.Status.SUCCEEDED, finished.status());
+        assertEquals(result, finished.result());
+        assertTrue(!finished.finishedAt().isBefore(finished.startedAt()));
+    }
+
+    @Test
+    void submit_roundUpFails_jobReportsError() throws Exception {
+        when(roundUpService.roundUpTransactions()).thenThrow(new InsufficientBalanceException("Insufficient balance to round up"));
+        RoundUpJobServiceImpl service = new RoundUpJobServiceImpl(roundUpService, new RoundUpProperties(), executor);
+
+        RoundUpJob finished = awaitFinished(service, service.submit().jobId());
+
+        assertEquals(RoundUpJob.Status.FAILED, finished.status());
+        assertEquals("InsufficientBalance", finished.errorCode());
+        assertEquals("Insufficient balance to round up", finished.error());
+        assertNull(finished.result());
+    }
+
+    @Test
+    void submit_queueFull_rejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(roundUpService.roundUpTransactions()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new RoundUpResult(UUID.randomUUID(), RoundUpResult.Outcome.NOTHING_TO_TRANSFER, 0, null);
+        });
+        RoundUpJobServiceImpl service = new RoundUpJobServiceImpl(roundUpService, new RoundUpProperties(), executor);
+        RoundUpJob running = service.submit();
+        RoundUpJob queued = service.submit();
+
+        assertThrows(ServiceOverloadedException.class, service::submit);
+
+        release.countDown();
+        assertEquals(RoundUpJob.Status.SUCCEEDED, awaitFinished(service, running.jobId()).status());
+        assertEquals(RoundUpJob.Status.SUCCEEDED, awaitFinished(service, queued.jobId()).status());
+    }
+
+    private static RoundUpJob awaitFinished(RoundUpJobService service, UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            RoundUpJob job = service.find(jobId).orElseThrow();
+            if (job.status() == RoundUpJob.Status.SUCCEEDED || job.status() == RoundUpJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+}
@@ -1,30 +1,60 @@
 package com.example.starling.roundup.service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.exception.InsufficientBalanceException;
 import com.example.starling.roundup.model.Account;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.RoundUpAmounts;
+import com.example.starling.roundup.model.RoundUpResult;
 import com.example.starling.roundup.model.SavingsGoal;
+import com.example.starling.roundup.store.FeedWatermark;
+import com.example.starling.roundup.store.FeedWatermarkStore;
+import com.example.starling.roundup.store.RoundUpLedger;
+import com.example.starling.roundup.store.RoundUpRecord;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class RoundUpServiceImplTest {
@@ -38,11 +68,62 @@ class RoundUpServiceImplTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private FeedWatermarkStore watermarkStore;
+
+    @Mock
+    private RoundUpLedger ledger;
+
     private RoundUpServiceImpl roundUpService;
 
+    private ExecutorService executor;
+
+    private StarlingApiConfig starlingApiConfig;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RoundUpMetrics metrics = new RoundUpMetrics(meterRegistry);
+
     @BeforeEach
     void setUp() {
-        roundUpService = new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService);
+        executor = Executors.newFixedThreadPool(3);
+        starlingApiConfig = new StarlingApiConfig();
+        starlingApiConfig.setToken("test-token");
+        roundUpService = new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService,
+                new RoundUpProperties(), executor, starlingApiConfig, watermarkStore, ledger, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private RoundUpServiceImpl parallelRoundUpService() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getExecution().setMode(RoundUpProperties.Execution.Mode.PARALLEL);
+        properties.getExecution().setTimeout(Duration.ofSeconds(5));
+        return new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService, properties, executor,
+                starlingApiConfig, watermarkStore, ledger, metrics);
+    }
+
+    private RoundUpServiceImpl watermarkRoundUpService() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getWatermark().setEnabled(true);
+        properties.getWatermark().setOverlap(Duration.ofMinutes(5));
+        return new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService, properties, executor,
+                starlingApiConfig, watermarkStore, ledger, metrics);
+    }
+
+    private RoundUpServiceImpl ledgerRoundUpService() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getLedger().setEnabled(true);
+        return new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService, properties, executor,
+                starlingApiConfig, watermarkStore, ledger, metrics);
+    }
+
+    private static FeedItem feedItem(UUID feedItemUid, long minorUnits, LocalDateTime transactionTime) {
+        return new FeedItem(feedItemUid, null, new CurrencyAndAmount("GBP", minorUnits), null, FeedItem.Direction.OUT,
+                transactionTime, transactionTime, null, null, FeedItem.Status.SETTLED);
     }
 
     @Test
@@ -58,16 +139,17 @@ class RoundUpServiceImplTest {
                 .thenReturn(account);
         when(accountService.getDefaultCategory(account))
                 .thenReturn(defaultCategory);
-        when(goalService.getOrCreateSavingsGoal(accountUid))
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
                 .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", amount));
         when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(feedItems);
-        when(transactionFeedItemService.calculateRoundUpAmount(feedItems))
-                .thenReturn(0L);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 0L));
 
-        roundUpService.roundUpTransactions();
+        RoundUpResult result = roundUpService.roundUpTransactions();
 
-        verify(goalService, never()).transferToSavingsGoal(any(), any(), anyLong());
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+        assertEquals(new RoundUpResult(accountUid, RoundUpResult.Outcome.NOTHING_TO_TRANSFER, 0, null), result);
     }
 
     @Test
@@ -84,18 +166,58 @@ class RoundUpServiceImplTest {
                 .thenReturn(account);
         when(accountService.getDefaultCategory(account))
                 .thenReturn(defaultCategory);
-        when(goalService.getOrCreateSavingsGoal(accountUid))
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
                 .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
         when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(feedItems);
-        when(transactionFeedItemService.calculateRoundUpAmount(feedItems))
-                .thenReturn(roundUpAmount);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", roundUpAmount));
         when(accountService.getEffectiveBalance(accountUid))
                 .thenReturn(balance);
+        when(goalService.transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class)))
+                .thenReturn("transfer-1");
 
-        roundUpService.roundUpTransactions();
+        RoundUpResult result = roundUpService.roundUpTransactions();
+
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class));
+        assertEquals(new RoundUpResult(accountUid, RoundUpResult.Outcome.TRANSFERRED, roundUpAmount, "transfer-1"), result);
+        assertEquals(1, meterRegistry.get("roundup.runs").tag("outcome", "transferred").timer().count());
+        for (String stage : List.of("account", "category", "savings_goal", "feed", "balance", "transfer")) {
+            assertEquals(1, meterRegistry.get("roundup.stage").tags("stage", stage, "outcome", "success").timer().count(), stage);
+        }
+        assertEquals(1, meterRegistry.get("roundup.feed.items").summary().totalAmount());
+        assertEquals(roundUpAmount, meterRegistry.get("roundup.amount").summary().totalAmount());
+    }
+
+    @Test
+    void roundUpTransactions_euroAccount_transfersEuroTotalOnly() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "EUR");
+        String savingsGoalId = UUID.randomUUID().toString();
+        List<FeedItem> feedItems = Collections.singletonList(mock(FeedItem.class));
+        CurrencyAndAmount balance = new CurrencyAndAmount("EUR", 10_000L);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "EUR"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "EUR", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        // a currency the account does not hold cannot be moved without a conversion
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("EUR", 145L, "GBP", 99L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+        when(goalService.transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("EUR", 145L)), any(UUID.class)))
+                .thenReturn("transfer-1");
+
+        RoundUpResult result = roundUpService.roundUpTransactions();
 
-        verify(goalService).transferToSavingsGoal(accountUid, UUID.fromString(savingsGoalId), roundUpAmount);
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("EUR", 145L)), any(UUID.class));
+        assertEquals(new RoundUpResult(accountUid, RoundUpResult.Outcome.TRANSFERRED, 145L, "transfer-1"), result);
     }
 
     @Test
@@ -112,18 +234,643 @@ class RoundUpServiceImplTest {
                 .thenReturn(account);
         when(accountService.getDefaultCategory(account))
                 .thenReturn(defaultCategory);
-        when(goalService.getOrCreateSavingsGoal(accountUid))
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
                 .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
         when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(feedItems);
-        when(transactionFeedItemService.calculateRoundUpAmount(feedItems))
-                .thenReturn(roundUpAmount);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", roundUpAmount));
         when(accountService.getEffectiveBalance(accountUid))
                 .thenReturn(balance);
 
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> roundUpService.roundUpTransactions());
         assertEquals("Insufficient balance to round up", exception.getMessage());
 
-        verify(goalService, never()).transferToSavingsGoal(any(), any(), anyLong());
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+        assertEquals(1, meterRegistry.get("roundup.runs").tag("outcome", "insufficient_balance").timer().count());
+    }
+
+    @Test
+    void roundUpTransactions_streamingFeed_transfersWithoutBuildingFeedItems() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        long roundUpAmount = 100L;
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", roundUpAmount + 50);
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFeed().setStreaming(true);
+        RoundUpServiceImpl streamingService = new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService,
+                properties, executor, starlingApiConfig, watermarkStore, ledger, metrics);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrencyForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(new RoundUpAmounts(Map.of("GBP", roundUpAmount), "feed|1"));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        streamingService.roundUpTransactions();
+
+        verify(transactionFeedItemService, never()).getFeedItemsForDateRange(any(), any(), any(), any());
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class));
+    }
+
+    @Test
+    void roundUpTransactions_streamingFeed_repeatedOverSameItems_reusesTransferUid() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFeed().setStreaming(true);
+        RoundUpServiceImpl streamingService = new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService,
+                properties, executor, starlingApiConfig, watermarkStore, ledger, metrics);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<UUID> transferUid = ArgumentCaptor.forClass(UUID.class);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrencyForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), to.capture()))
+                .thenReturn(new RoundUpAmounts(Map.of("GBP", 145L), "feed|2|2025-03-01T10:00:00Z|2025-03-02T10:00:00Z|3f"));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        // When the round-up is repeated later over the same feed items
+        streamingService.roundUpTransactions();
+        streamingService.roundUpTransactions();
+
+        // Then
+        assertNotEquals(to.getAllValues().get(0), to.getAllValues().get(1));
+        verify(goalService, times(2)).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)),
+                eq(new CurrencyAndAmount("GBP", 145L)), transferUid.capture());
+        assertEquals(transferUid.getAllValues().get(0), transferUid.getAllValues().get(1));
+    }
+
+    @Test
+    void roundUpTransactions_parallelMode_transfersToSavingsGoal() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        long roundUpAmount = 100L;
+        List<FeedItem> feedItems = Collections.singletonList(mock(FeedItem.class));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", roundUpAmount + 50);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", roundUpAmount));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        parallelRoundUpService().roundUpTransactions();
+
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class));
+    }
+
+    @Test
+    void roundUpTransactions_parallelMode_runsIndependentCallsConcurrently() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 0L);
+        // each call only completes once all three are in flight
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenAnswer(invocation -> awaitAll(allStarted, new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance)));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> awaitAll(allStarted, Collections.emptyList()));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenAnswer(invocation -> awaitAll(allStarted, balance));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(Collections.emptyList()))
+                .thenReturn(Map.of("GBP", 0L));
+
+        parallelRoundUpService().roundUpTransactions();
+
+        assertEquals(0L, allStarted.getCount());
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+    }
+
+    @Test
+    void roundUpTransactions_parallelMode_firstFailureCancelsOthersAndPropagates() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        CountDownLatch feedStarted = new CountDownLatch(1);
+        CountDownLatch feedInterrupted = new CountDownLatch(1);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenAnswer(invocation -> {
+                    // fail only once the feed call is in flight so that it has to be interrupted
+                    feedStarted.await(5, TimeUnit.SECONDS);
+                    throw new DownstreamServerException("Downstream 5xx error: 503");
+                });
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    feedStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        feedInterrupted.countDown();
+                    }
+                    return Collections.emptyList();
+                });
+        // may be cancelled before it starts
+        lenient().when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(new CurrencyAndAmount("GBP", 0L));
+
+        DownstreamServerException exception = assertThrows(DownstreamServerException.class,
+                () -> parallelRoundUpService().roundUpTransactions());
+        assertEquals("Downstream 5xx error: 503", exception.getMessage());
+
+        assertTrue(awaitQuietly(feedInterrupted));
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+    }
+
+    @Test
+    void roundUpTransactions_concurrentCallsForSameToken_shareOneExecution() throws Exception {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        List<FeedItem> feedItems = Collections.singletonList(mock(FeedItem.class));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 500L);
+        CountDownLatch accountRequested = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(accountService.getDefaultAccount())
+                .thenAnswer(invocation -> {
+                    accountRequested.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return account;
+                });
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 100L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        Thread first = new Thread(roundUpService::roundUpTransactions);
+        first.start();
+        assertTrue(accountRequested.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(roundUpService::roundUpTransactions);
+        second.start();
+        // the second call parks on the running round-up
+        while (second.getState() != Thread.State.WAITING && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        verify(accountService, times(1)).getDefaultAccount();
+        verify(goalService, times(1)).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 100L)), any(UUID.class));
+    }
+
+    @Test
+    void roundUpTransactions_watermarkEnabled_firstRunReadsWeekAndSavesWatermark() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        LocalDateTime latest = LocalDateTime.now().minusHours(1);
+        FeedItem older = feedItem(UUID.randomUUID(), 450L, latest.minusDays(2));
+        FeedItem newest = feedItem(UUID.randomUUID(), 120L, latest);
+        List<FeedItem> feedItems = List.of(older, newest);
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        when(watermarkStore.find(accountUid)).thenReturn(Optional.empty());
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), from.capture(), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 130L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        watermarkRoundUpService().roundUpTransactions();
+
+        assertTrue(from.getValue().isBefore(LocalDateTime.now().minusDays(6)));
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 130L)), any(UUID.class));
+        // only the item inside the overlap of the new watermark is remembered
+        verify(watermarkStore).save(new FeedWatermark(accountUid, latest, Set.of(newest.feedItemUid())));
+    }
+
+    @Test
+    void roundUpTransactions_watermarkEnabled_roundsUpOnlyNewItems() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        LocalDateTime watermarkTime = LocalDateTime.now().minusHours(2);
+        FeedItem processed = feedItem(UUID.randomUUID(), 120L, watermarkTime);
+        FeedItem newItem = feedItem(UUID.randomUUID(), 250L, watermarkTime.plusMinutes(30));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+
+        when(watermarkStore.find(accountUid))
+                .thenReturn(Optional.of(new FeedWatermark(accountUid, watermarkTime, Set.of(processed.feedItemUid()))));
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), eq(watermarkTime.minusMinutes(5)), any(LocalDateTime.class)))
+                .thenReturn(List.of(processed, newItem));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(List.of(newItem)))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        watermarkRoundUpService().roundUpTransactions();
+
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 50L)), any(UUID.class));
+        verify(watermarkStore).save(new FeedWatermark(accountUid, newItem.transactionTime(), Set.of(newItem.feedItemUid())));
+    }
+
+    @Test
+    void roundUpTransactions_watermarkEnabled_pendingItemRoundedUpOnceSettled() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        LocalDateTime start = LocalDateTime.now().minusHours(3);
+        FeedItem settled = feedItem(UUID.randomUUID(), 120L, start);
+        FeedItem later = feedItem(UUID.randomUUID(), 470L, start.plusMinutes(20));
+        FeedItem pending = new FeedItem(UUID.randomUUID(), null, new CurrencyAndAmount("GBP", 250L), null,
+                FeedItem.Direction.OUT, start.plusMinutes(10), start.plusMinutes(10), null, null, FeedItem.Status.PENDING);
+        FeedItem nowSettled = feedItem(pending.feedItemUid(), 250L, pending.transactionTime());
+        List<FeedItem> firstFeed = List.of(settled, pending, later);
+        List<FeedItem> secondFeed = List.of(nowSettled, later);
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        AtomicReference<FeedWatermark> stored = new AtomicReference<>();
+
+        when(watermarkStore.find(accountUid)).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        doAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return null;
+        }).when(watermarkStore).save(any(FeedWatermark.class));
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(firstFeed, secondFeed);
+        // the filter leaves out the pending item on the first run
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(firstFeed))
+                .thenReturn(Map.of("GBP", 110L));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(List.of(nowSettled)))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        // When
+        RoundUpServiceImpl service = watermarkRoundUpService();
+        service.roundUpTransactions();
+
+        // Then the watermark stops at the pending item and does not remember it
+        assertEquals(new FeedWatermark(accountUid, pending.transactionTime(), Set.of(later.feedItemUid())), stored.get());
+
+        // When
+        service.roundUpTransactions();
+
+        // Then the settled item is rounded up on the next run
+        verify(transactionFeedItemService).getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory),
+                eq(pending.transactionTime().minusMinutes(5)), any(LocalDateTime.class));
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 50L)), any(UUID.class));
+        assertEquals(new FeedWatermark(accountUid, later.transactionTime(), Set.of(later.feedItemUid())), stored.get());
+    }
+
+    @Test
+    void roundUpTransactions_watermarkEnabled_foreignCurrencyItemNotMarkedSeen() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        LocalDateTime start = LocalDateTime.now().minusHours(3);
+        FeedItem earlier = feedItem(UUID.randomUUID(), 120L, start);
+        FeedItem euro = new FeedItem(UUID.randomUUID(), null, new CurrencyAndAmount("EUR", 250L), null,
+                FeedItem.Direction.OUT, start.plusMinutes(10), start.plusMinutes(10), null, null, FeedItem.Status.SETTLED);
+        FeedItem later = feedItem(UUID.randomUUID(), 470L, start.plusMinutes(20));
+        List<FeedItem> feedItems = List.of(earlier, euro, later);
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+
+        when(watermarkStore.find(accountUid)).thenReturn(Optional.empty());
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 110L, "EUR", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        // When
+        watermarkRoundUpService().roundUpTransactions();
+
+        // Then only the GBP round-up is transferred, and the watermark stops at the EUR item without remembering it
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 110L)), any(UUID.class));
+        verify(watermarkStore).save(new FeedWatermark(accountUid, euro.transactionTime(), Set.of(later.feedItemUid())));
+    }
+
+    @Test
+    void roundUpTransactions_watermarkEnabled_insufficientBalance_keepsWatermark() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        List<FeedItem> feedItems = List.of(feedItem(UUID.randomUUID(), 450L, LocalDateTime.now().minusHours(1)));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 10L);
+
+        when(watermarkStore.find(accountUid)).thenReturn(Optional.empty());
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        assertThrows(InsufficientBalanceException.class, () -> watermarkRoundUpService().roundUpTransactions());
+
+        verify(watermarkStore, never()).save(any());
+    }
+
+    @Test
+    void roundUpTransactions_ledgerEnabled_recordsTransferredRun() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        FeedItem item = feedItem(UUID.randomUUID(), 450L, LocalDateTime.now().minusHours(1));
+        List<FeedItem> feedItems = List.of(item);
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        ArgumentCaptor<RoundUpRecord> recorded = ArgumentCaptor.forClass(RoundUpRecord.class);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+        when(goalService.transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 50L)), any(UUID.class)))
+                .thenReturn("transfer-1");
+
+        ledgerRoundUpService().roundUpTransactions();
+
+        verify(ledger, times(2)).append(recorded.capture());
+        RoundUpRecord pending = recorded.getAllValues().get(0);
+        RoundUpRecord run = recorded.getAllValues().get(1);
+        assertEquals(RoundUpRecord.Status.PENDING, pending.status());
+        assertEquals(run.runId(), pending.runId());
+        assertNull(pending.finishedAt());
+        assertEquals(accountUid, run.accountUid());
+        assertEquals(UUID.fromString(savingsGoalId), run.savingsGoalUid());
+        assertEquals(RoundUpRecord.Status.TRANSFERRED, run.status());
+        assertEquals(50L, run.amount());
+        assertEquals("transfer-1", run.transferUid());
+        assertEquals(1, run.itemCount());
+        assertEquals(List.of(item.feedItemUid()), run.feedItemUids());
+        assertTrue(run.windowFrom().isBefore(run.windowTo()));
+        assertTrue(!run.finishedAt().isBefore(run.startedAt()));
+    }
+
+    @Test
+    void roundUpTransactions_ledgerEnabled_recordsFailedRunAndRethrows() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        ArgumentCaptor<RoundUpRecord> recorded = ArgumentCaptor.forClass(RoundUpRecord.class);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503"));
+
+        assertThrows(DownstreamServerException.class, () -> ledgerRoundUpService().roundUpTransactions());
+
+        verify(ledger).append(recorded.capture());
+        assertEquals(RoundUpRecord.Status.FAILED, recorded.getValue().status());
+        assertEquals("Downstream 5xx error: 503", recorded.getValue().error());
+        assertEquals(null, recorded.getValue().transferUid());
+    }
+
+    @Test
+    void roundUpTransactions_sameItemsTwice_reusesTransferUid() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        List<FeedItem> feedItems = List.of(feedItem(UUID.randomUUID(), 450L, LocalDateTime.now().minusHours(1)));
+        List<FeedItem> moreFeedItems = List.of(feedItems.get(0), feedItem(UUID.randomUUID(), 150L, LocalDateTime.now().minusMinutes(1)));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        ArgumentCaptor<UUID> transferUids = ArgumentCaptor.forClass(UUID.class);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems, feedItems, moreFeedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(any()))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+
+        roundUpService.roundUpTransactions();
+        roundUpService.roundUpTransactions();
+        roundUpService.roundUpTransactions();
+
+        verify(goalService, times(3)).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 50L)), transferUids.capture());
+        assertEquals(transferUids.getAllValues().get(0), transferUids.getAllValues().get(1));
+        assertNotEquals(transferUids.getAllValues().get(0), transferUids.getAllValues().get(2));
+    }
+
+    @Test
+    void roundUpTransactions_ledgerEnabled_transferOutcomeUnknown_staysPending() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        List<FeedItem> feedItems = List.of(feedItem(UUID.randomUUID(), 450L, LocalDateTime.now().minusHours(1)));
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        ArgumentCaptor<RoundUpRecord> recorded = ArgumentCaptor.forClass(RoundUpRecord.class);
+
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(feedItems);
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems))
+                .thenReturn(Map.of("GBP", 50L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+        when(goalService.transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 50L)), any(UUID.class)))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503"));
+
+        assertThrows(DownstreamServerException.class, () -> ledgerRoundUpService().roundUpTransactions());
+
+        verify(ledger).append(recorded.capture());
+        assertEquals(RoundUpRecord.Status.PENDING, recorded.getValue().status());
+    }
+
+    @Test
+    void roundUpTransactions_pendingTransfer_isResentWithSameUidAndItsItemsSkipped() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        LocalDateTime time = LocalDateTime.now().minusHours(1);
+        FeedItem pendingItem = feedItem(UUID.randomUUID(), 450L, time);
+        FeedItem newItem = feedItem(UUID.randomUUID(), 180L, time.plusMinutes(10));
+        UUID pendingTransferUid = UUID.randomUUID();
+        RoundUpRecord pending = new RoundUpRecord(UUID.randomUUID(), accountUid, UUID.fromString(savingsGoalId),
+                time.minusDays(7), time, 1, List.of(pendingItem.feedItemUid()), 50L, pendingTransferUid.toString(),
+                RoundUpRecord.Status.PENDING, null, Instant.now().minusSeconds(60), null);
+        CurrencyAndAmount balance = new CurrencyAndAmount("GBP", 1000L);
+        ArgumentCaptor<RoundUpRecord> recorded = ArgumentCaptor.forClass(RoundUpRecord.class);
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getLedger().setEnabled(true);
+        properties.getWatermark().setEnabled(true);
+        RoundUpServiceImpl service = new RoundUpServiceImpl(transactionFeedItemService, goalService, accountService,
+                properties, executor, starlingApiConfig, watermarkStore, ledger, metrics);
+
+        when(ledger.findPending(accountUid)).thenReturn(List.of(pending));
+        when(watermarkStore.find(accountUid)).thenReturn(Optional.empty());
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", balance));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(pendingItem, newItem));
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(List.of(newItem)))
+                .thenReturn(Map.of("GBP", 20L));
+        when(accountService.getEffectiveBalance(accountUid))
+                .thenReturn(balance);
+        when(goalService.transferToSavingsGoal(accountUid, UUID.fromString(savingsGoalId), new CurrencyAndAmount("GBP", 50L), pendingTransferUid))
+                .thenReturn(pendingTransferUid.toString());
+
+        service.roundUpTransactions();
+
+        verify(goalService).transferToSavingsGoal(accountUid, UUID.fromString(savingsGoalId), new CurrencyAndAmount("GBP", 50L), pendingTransferUid);
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", 20L)), any(UUID.class));
+        verify(ledger, times(3)).append(recorded.capture());
+        RoundUpRecord resolved = recorded.getAllValues().get(0);
+        assertEquals(pending.runId(), resolved.runId());
+        assertEquals(RoundUpRecord.Status.TRANSFERRED, resolved.status());
+    }
+
+    @Test
+    void roundUpTransactions_pendingTransferRejected_isRecordedFailed() {
+        UUID accountUid = UUID.randomUUID();
+        UUID defaultCategory = UUID.randomUUID();
+        Account account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        String savingsGoalId = UUID.randomUUID().toString();
+        UUID pendingTransferUid = UUID.randomUUID();
+        RoundUpRecord pending = new RoundUpRecord(UUID.randomUUID(), accountUid, UUID.fromString(savingsGoalId),
+                null, null, 1, List.of(), 50L, pendingTransferUid.toString(),
+                RoundUpRecord.Status.PENDING, null, Instant.now().minusSeconds(60), null);
+        ArgumentCaptor<RoundUpRecord> recorded = ArgumentCaptor.forClass(RoundUpRecord.class);
+
+        when(ledger.findPending(accountUid)).thenReturn(List.of(pending));
+        when(accountService.getDefaultAccount())
+                .thenReturn(account);
+        when(accountService.getDefaultCategory(account))
+                .thenReturn(defaultCategory);
+        when(goalService.transferToSavingsGoal(accountUid, UUID.fromString(savingsGoalId), new CurrencyAndAmount("GBP", 50L), pendingTransferUid))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 404", 404));
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(new SavingsGoal(savingsGoalId, "GOAL", "GBP", new CurrencyAndAmount("GBP", 0L)));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(transactionFeedItemService.calculateRoundUpAmountsByCurrency(List.of()))
+                .thenReturn(Map.of("GBP", 0L));
+
+        ledgerRoundUpService().roundUpTransactions();
+
+        verify(ledger, times(2)).append(recorded.capture());
+        assertEquals(pending.runId(), recorded.getAllValues().get(0).runId());
+        assertEquals(RoundUpRecord.Status.FAILED, recorded.getAllValues().get(0).status());
+        assertEquals(RoundUpRecord.Status.NOTHING_TO_TRANSFER, recorded.getAllValues().get(1).status());
+    }
+
+    private static <T> T awaitAll(CountDownLatch latch, T result) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Calls did not run concurrently");
+        }
+        return result;
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
@@ -49,6 +49,12 @@ class RoundUpServiceIntegrationTest {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private CachingAccountService cachingAccountService;
+
+    @Autowired
+    private CachingGoalService cachingGoalService;
+
     @Autowired
     private GoalService goalService;
 
@@ -62,6 +68,8 @@ class RoundUpServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         WireMock.reset();
+        cachingAccountService.invalidateAll();
+        cachingGoalService.invalidateAll();
         setupCommonStubs();
     }
 
@@ -136,6 +144,25 @@ class RoundUpServiceIntegrationTest {
             verify(getRequestedFor(urlPathMatching("/api/v2/feed/account/.*/category/.*/transactions-between")));
             verify(0, putRequestedFor(urlPathMatching("/api/v2/account/.*/savings-goals/.*/add-money/.*")));
         }
+
+        @Test
+        @DisplayName("Should reuse the cached default account on later round-ups")
+        void roundUpTransactions_ReusesCachedDefaultAccount() {
+            // Given
+            stubFor(get(urlPathMatching("/api/v2/feed/account/.*/category/.*/transactions-between"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBodyFile("transactions-no-roundup.json")));
+
+            // When
+            roundUpService.roundUpTransactions();
+            roundUpService.roundUpTransactions();
+
+            // Then
+            verify(1, getRequestedFor(urlPathMatching("/api/v2/accounts")));
+            verify(2, getRequestedFor(urlPathMatching("/api/v2/feed/account/.*/category/.*/transactions-between")));
+        }
     }
 
     @Nested
@@ -208,7 +235,7 @@ class RoundUpServiceIntegrationTest {
         assertEquals(ACCOUNT_UID, account.accountUid());
         assertEquals(CATEGORY_UID, account.defaultCategory());
 
-        SavingsGoal savingsGoal = goalService.getOrCreateSavingsGoal(ACCOUNT_UID);
+        SavingsGoal savingsGoal = goalService.getOrCreateSavingsGoal(ACCOUNT_UID, "GBP");
         assertNotNull(savingsGoal);
         assertEquals(SAVINGS_GOAL_UID.toString(), savingsGoal.savingsGoalUid());
     }
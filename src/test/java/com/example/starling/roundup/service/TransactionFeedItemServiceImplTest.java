@@ -1,13 +1,25 @@
 package com.example.starling.roundup.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +27,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.config.StarlingApiConfig;
+import com.example.starling.roundup.exception.DownstreamClientException;
+import com.example.starling.roundup.exception.DownstreamServerException;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.FeedItem;
 import com.example.starling.roundup.model.FeedItems;
@@ -124,18 +148,290 @@ class TransactionFeedItemServiceImplTest {
         assertEquals(0L, result);
     }
 
+    @Test
+    void calculateRoundUpAmount_SkipsItemsRejectedByFilter() {
+        // Given
+        CurrencyAndAmount amount = new CurrencyAndAmount("GBP", 435L);
+        List<FeedItem> feedItems = Arrays.asList(
+            createFeedItem(amount),
+            createFeedItem(amount, FeedItem.Direction.IN, FeedItem.Source.FASTER_PAYMENTS_IN, FeedItem.Status.SETTLED),
+            createFeedItem(amount, FeedItem.Direction.OUT, FeedItem.Source.MASTER_CARD, FeedItem.Status.PENDING),
+            createFeedItem(amount, FeedItem.Direction.OUT, FeedItem.Source.MASTER_CARD, FeedItem.Status.DECLINED),
+            createFeedItem(amount, FeedItem.Direction.OUT, FeedItem.Source.INTERNAL_TRANSFER, FeedItem.Status.SETTLED)
+        );
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFilter().setEnabled(false);
+
+        // When
+        long filtered = transactionFeedItemService.calculateRoundUpAmount(feedItems);
+        long unfiltered = new TransactionFeedItemServiceImpl(restTemplate, properties).calculateRoundUpAmount(feedItems);
+
+        // Then
+        // Only the settled card payment is rounded up unless the filter is disabled
+        assertEquals(65L, filtered);
+        assertEquals(325L, unfiltered);
+    }
+
+    @Test
+    void calculateRoundUpAmountsByCurrency_GroupsAndRoundsEachCurrencyToItsOwnUnit() {
+        // Given
+        List<FeedItem> feedItems = Arrays.asList(
+            createFeedItem(new CurrencyAndAmount("GBP", 435L)),
+            createFeedItem(new CurrencyAndAmount("EUR", 199L)),
+            createFeedItem(new CurrencyAndAmount("KWD", 1250L)),
+            createFeedItem(new CurrencyAndAmount("GBP", 520L)),
+            createFeedItem(new CurrencyAndAmount("EUR", 450L), FeedItem.Direction.IN, FeedItem.Source.FASTER_PAYMENTS_IN,
+                    FeedItem.Status.SETTLED)
+        );
+
+        // When
+        Map<String, Long> result = transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems);
+
+        // Then
+        // GBP: 65 + 80, EUR: 1 (the incoming payment is filtered out), KWD: 750 fils
+        assertEquals(Map.of("GBP", 145L, "EUR", 1L, "KWD", 750L), result);
+        assertEquals(List.of("GBP", "EUR", "KWD"), List.copyOf(result.keySet()));
+        assertEquals(Map.of(), transactionFeedItemService.calculateRoundUpAmountsByCurrency(Collections.emptyList()));
+    }
+
+    @Test
+    void calculateRoundUpAmountsByCurrency_ParallelAboveThreshold_MatchesSequential() {
+        // Given
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFeed().setParallelThreshold(1_000);
+        TransactionFeedItemService parallelService = new TransactionFeedItemServiceImpl(restTemplate, properties);
+        String[] currencies = {"GBP", "EUR", "JPY", "BHD"};
+        SplittableRandom random = new SplittableRandom(11);
+        List<FeedItem> feedItems = new ArrayList<>();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            FeedItem item = createFeedItem(new CurrencyAndAmount(currencies[random.nextInt(currencies.length)],
+                    random.nextLong(-10_000, 100_000)));
+            feedItems.add(item);
+            expected.merge(item.amount().currency(), Utils.calculateItemRoundUp(item), Long::sum);
+        }
+
+        // When
+        Map<String, Long> sequential = transactionFeedItemService.calculateRoundUpAmountsByCurrency(feedItems);
+        Map<String, Long> parallel = parallelService.calculateRoundUpAmountsByCurrency(feedItems);
+
+        // Then
+        assertEquals(expected, sequential);
+        assertEquals(expected, parallel);
+        assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()));
+    }
+
+    @Test
+    void calculateRoundUpAmount_ParallelAboveThreshold_MatchesSequential() {
+        // Given
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFeed().setParallelThreshold(1_000);
+        TransactionFeedItemService parallelService = new TransactionFeedItemServiceImpl(restTemplate, properties);
+        SplittableRandom random = new SplittableRandom(7);
+        List<FeedItem> feedItems = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            feedItems.add(createFeedItem(new CurrencyAndAmount("GBP", random.nextLong(-10_000, 100_000))));
+        }
+
+        // When
+        long sequential = transactionFeedItemService.calculateRoundUpAmount(feedItems);
+        long parallel = parallelService.calculateRoundUpAmount(feedItems);
+
+        // Then
+        long expected = 0;
+        for (FeedItem item : feedItems) {
+            expected += Utils.calculateItemRoundUp(item);
+        }
+        assertEquals(expected, sequential);
+        assertEquals(expected, parallel);
+    }
+
+    @Test
+    void splitIntoWindows_CoversRangeWithConsecutiveWindows() {
+        // Given
+        TransactionFeedItemServiceImpl windowedService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties());
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+
+        // When
+        List<TransactionFeedItemServiceImpl.TimeWindow> windows = windowedService.splitIntoWindows(from, to);
+
+        // Then
+        assertEquals(4, windows.size());
+        assertEquals(from, windows.get(0).from());
+        assertEquals(windows.get(0).to(), windows.get(1).from());
+        assertEquals(from.plusDays(6), windows.get(3).from());
+        assertEquals(to, windows.get(3).to());
+        assertEquals(1, new TransactionFeedItemServiceImpl(restTemplate).splitIntoWindows(from, to).size());
+    }
+
+    @Test
+    void getFeedItemsForDateRange_Windowed_MergesAndDeduplicatesByFeedItemUid() {
+        // Given
+        TransactionFeedItemService windowedService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties());
+        FeedItem first = createFeedItem(new CurrencyAndAmount("GBP", 100L));
+        FeedItem onBoundary = createFeedItem(new CurrencyAndAmount("GBP", 200L));
+        FeedItem last = createFeedItem(new CurrencyAndAmount("GBP", 300L));
+        when(restTemplate.getForObject(any(String.class), eq(FeedItems.class)))
+                .thenReturn(new FeedItems(List.of(first, onBoundary)))
+                .thenReturn(new FeedItems(List.of(onBoundary, last)))
+                .thenReturn(null)
+                .thenReturn(new FeedItems(Collections.emptyList()));
+
+        // When
+        List<FeedItem> result = windowedService.getFeedItemsForDateRange(
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now());
+
+        // Then
+        assertEquals(List.of(first, onBoundary, last), result);
+        verify(restTemplate, times(4)).getForObject(any(String.class), eq(FeedItems.class));
+    }
+
+    @Test
+    void getFeedItemsForDateRange_Windowed_RetriesOnlyTheFailedWindow() {
+        // Given
+        TransactionFeedItemService windowedService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties());
+        FeedItem item = createFeedItem(new CurrencyAndAmount("GBP", 100L));
+        when(restTemplate.getForObject(any(String.class), eq(FeedItems.class)))
+                .thenReturn(new FeedItems(List.of(item)))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503, body: "))
+                .thenReturn(new FeedItems(Collections.emptyList()));
+
+        // When
+        List<FeedItem> result = windowedService.getFeedItemsForDateRange(
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now());
+
+        // Then
+        assertEquals(List.of(item), result);
+        // four windows plus one retry
+        verify(restTemplate, times(5)).getForObject(any(String.class), eq(FeedItems.class));
+    }
+
+    @Test
+    void getFeedItemsForDateRange_Windowed_NotRetriedWhenRestTemplateRetries() {
+        // Given
+        StarlingApiConfig starlingApiConfig = new StarlingApiConfig();
+        TransactionFeedItemService windowedService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties(),
+                starlingApiConfig, null);
+        when(restTemplate.getForObject(any(String.class), eq(FeedItems.class)))
+                .thenThrow(new DownstreamServerException("Downstream 5xx error: 503, body: "));
+
+        // When/Then
+        assertThrows(DownstreamServerException.class, () -> windowedService.getFeedItemsForDateRange(
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+        // the resilience retry already made up to 3 attempts inside this one call
+        verify(restTemplate, times(1)).getForObject(any(String.class), eq(FeedItems.class));
+
+        // Given the RestTemplate does not retry
+        starlingApiConfig.getResilience().setEnabled(false);
+        TransactionFeedItemService retryingService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties(),
+                starlingApiConfig, null);
+
+        // When/Then
+        assertThrows(DownstreamServerException.class, () -> retryingService.getFeedItemsForDateRange(
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+        verify(restTemplate, times(4)).getForObject(any(String.class), eq(FeedItems.class));
+    }
+
+    @Test
+    void getFeedItemsForDateRange_Windowed_ClientErrorIsNotRetried() {
+        // Given
+        TransactionFeedItemService windowedService = new TransactionFeedItemServiceImpl(restTemplate, windowedProperties());
+        when(restTemplate.getForObject(any(String.class), eq(FeedItems.class)))
+                .thenThrow(new DownstreamClientException("Downstream 4xx error: 403, body: ", 403));
+
+        // When/Then
+        assertThrows(DownstreamClientException.class, () -> windowedService.getFeedItemsForDateRange(
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now()));
+        verify(restTemplate, times(1)).getForObject(any(String.class), eq(FeedItems.class));
+    }
+
+    @Test
+    void getFeedItemsForDateRange_Windowed_FetchesWindowsConcurrently() throws Exception {
+        // Given
+        RoundUpProperties properties = windowedProperties();
+        properties.getFeed().setMaxConcurrentWindows(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch twoInFlight = new CountDownLatch(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(restTemplate.getForObject(any(String.class), eq(FeedItems.class)))
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    twoInFlight.countDown();
+                    twoInFlight.await(5, TimeUnit.SECONDS);
+                    inFlight.decrementAndGet();
+                    return new FeedItems(List.of(createFeedItem(new CurrencyAndAmount("GBP", 150L))));
+                });
+
+        // When
+        List<FeedItem> result;
+        try {
+            result = new TransactionFeedItemServiceImpl(restTemplate, properties, executor).getFeedItemsForDateRange(
+                    UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().minusDays(7), LocalDateTime.now());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    private static RoundUpProperties windowedProperties() {
+        RoundUpProperties properties = new RoundUpProperties();
+        properties.getFeed().setWindow(Duration.ofDays(2));
+        properties.getFeed().setWindowRetryBackoff(Duration.ofMillis(1));
+        return properties;
+    }
+
+    @Test
+    void calculateRoundUpAmountForDateRange_StreamsResponse() {
+        // Given
+        RestTemplate realRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(realRestTemplate).build();
+        UUID accountUUID = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime to = LocalDateTime.now();
+        server.expect(requestTo(startsWith("/api/v2/feed/account/" + accountUUID + "/category/" + categoryId + "/transactions-between")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"feedItems\":[{\"amount\":{\"currency\":\"GBP\",\"minorUnits\":435},"
+                                + "\"direction\":\"OUT\",\"status\":\"SETTLED\"},"
+                                + "{\"amount\":{\"currency\":\"GBP\",\"minorUnits\":520},"
+                                + "\"direction\":\"OUT\",\"status\":\"SETTLED\"},"
+                                + "{\"amount\":{\"currency\":\"GBP\",\"minorUnits\":250},"
+                                + "\"direction\":\"IN\",\"status\":\"SETTLED\"}]}",
+                        MediaType.APPLICATION_JSON));
+
+        // When
+        long result = new TransactionFeedItemServiceImpl(realRestTemplate)
+                .calculateRoundUpAmountForDateRange(accountUUID, categoryId, from, to);
+
+        // Then
+        // Expected round ups: 65 + 80, the incoming payment is filtered out
+        assertEquals(145L, result);
+        server.verify();
+    }
+
     private FeedItem createFeedItem(CurrencyAndAmount amount) {
+        return createFeedItem(amount, FeedItem.Direction.OUT, FeedItem.Source.MASTER_CARD, FeedItem.Status.SETTLED);
+    }
+
+    private FeedItem createFeedItem(CurrencyAndAmount amount, FeedItem.Direction direction, FeedItem.Source source,
+            FeedItem.Status status) {
         return new FeedItem(
             UUID.randomUUID(),
             UUID.randomUUID(),
             amount,
             amount,
-            "OUT",
+            direction,
             LocalDateTime.now(),
             LocalDateTime.now(),
             LocalDateTime.now(),
-            "MASTER_CARD",
-            "SETTLED"
+            source,
+            status
         );
     }
 }
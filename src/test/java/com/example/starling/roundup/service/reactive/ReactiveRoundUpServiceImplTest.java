@@ -0,0 +1,204 @@
+package com.example.starling.roundup.service.reactive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.example.starling.roundup.exception.DownstreamServerException;
+import com.example.starling.roundup.exception.InsufficientBalanceException;
+import com.example.starling.roundup.model.Account;
+import com.example.starling.roundup.model.CurrencyAndAmount;
+import com.example.starling.roundup.model.FeedItem;
+import com.example.starling.roundup.model.SavingsGoal;
+import com.example.starling.roundup.service.TransactionFeedItemService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRoundUpServiceImplTest {
+
+    @Mock
+    private ReactiveTransactionFeedItemService transactionFeedItemService;
+
+    @Mock
+    private ReactiveGoalService goalService;
+
+    @Mock
+    private ReactiveAccountService accountService;
+
+    @Mock
+    private TransactionFeedItemService roundUpCalculator;
+
+    private ReactiveRoundUpServiceImpl roundUpService;
+
+    private UUID accountUid;
+    private UUID defaultCategory;
+    private Account account;
+    private String savingsGoalId;
+
+    @BeforeEach
+    void setUp() {
+        roundUpService = new ReactiveRoundUpServiceImpl(transactionFeedItemService, goalService, accountService, roundUpCalculator,
+                new RoundUpProperties());
+        accountUid = UUID.randomUUID();
+        defaultCategory = UUID.randomUUID();
+        account = new Account(accountUid, defaultCategory, "ANY", "GBP");
+        savingsGoalId = UUID.randomUUID().toString();
+
+        lenient().when(accountService.getDefaultAccount()).thenReturn(Mono.just(account));
+        lenient().when(accountService.getDefaultCategory(account)).thenReturn(Mono.just(defaultCategory));
+    }
+
+    @Test
+    void roundUpTransactions_noRoundUp_noTransfer() {
+        List<FeedItem> feedItems = Collections.emptyList();
+        stubInputs(feedItems, Mono.just(new CurrencyAndAmount("GBP", 0L)));
+        when(roundUpCalculator.calculateRoundUpAmountsByCurrency(feedItems)).thenReturn(Map.of("GBP", 0L));
+
+        StepVerifier.create(roundUpService.roundUpTransactions()).verifyComplete();
+
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+    }
+
+    @Test
+    void roundUpTransactions_sufficientBalance_transfersToSavingsGoal() {
+        long roundUpAmount = 100L;
+        List<FeedItem> feedItems = Collections.singletonList(mock(FeedItem.class));
+        stubInputs(feedItems, Mono.just(new CurrencyAndAmount("GBP", roundUpAmount + 50)));
+        when(roundUpCalculator.calculateRoundUpAmountsByCurrency(feedItems)).thenReturn(Map.of("GBP", roundUpAmount));
+        when(goalService.transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class)))
+                .thenReturn(Mono.just(UUID.randomUUID().toString()));
+
+        StepVerifier.create(roundUpService.roundUpTransactions()).verifyComplete();
+
+        verify(goalService).transferToSavingsGoal(eq(accountUid), eq(UUID.fromString(savingsGoalId)), eq(new CurrencyAndAmount("GBP", roundUpAmount)), any(UUID.class));
+    }
+
+    @Test
+    void roundUpTransactions_repeatedOverSameItems_sendsSameTransferUid() {
+        List<String> transferPaths = new CopyOnWriteArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String body;
+                    if (request.method() == HttpMethod.PUT) {
+                        transferPaths.add(request.url().getPath());
+                        body = "{\"success\": true, \"transferUid\": \"" + UUID.randomUUID() + "\"}";
+                    } else {
+                        body = "{\"savingsGoalList\": [{\"savingsGoalUid\": \"" + savingsGoalId
+                                + "\", \"name\": \"Round Up Savings\", \"currency\": \"GBP\"}]}";
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        ReactiveRoundUpServiceImpl service = new ReactiveRoundUpServiceImpl(transactionFeedItemService,
+                new ReactiveGoalServiceImpl(webClient), accountService, roundUpCalculator, new RoundUpProperties());
+        LocalDateTime time = LocalDateTime.now().minusDays(1);
+        List<FeedItem> feedItems = List.of(new FeedItem(UUID.randomUUID(), defaultCategory,
+                new CurrencyAndAmount("GBP", 435L), null, FeedItem.Direction.OUT, time, time, time,
+                FeedItem.Source.MASTER_CARD, FeedItem.Status.SETTLED));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(feedItems));
+        when(accountService.getEffectiveBalance(accountUid)).thenReturn(Mono.just(new CurrencyAndAmount("GBP", 1000L)));
+        when(roundUpCalculator.calculateRoundUpAmountsByCurrency(feedItems)).thenReturn(Map.of("GBP", 65L));
+
+        // When the round-up is repeated, e.g. by a client retrying after a timeout
+        StepVerifier.create(service.roundUpTransactions()).verifyComplete();
+        StepVerifier.create(service.roundUpTransactions()).verifyComplete();
+
+        // Then
+        assertEquals(2, transferPaths.size());
+        assertTrue(transferPaths.get(0).startsWith("/api/v2/account/" + accountUid + "/savings-goals/" + savingsGoalId + "/add-money/"));
+        assertEquals(transferPaths.get(0), transferPaths.get(1));
+    }
+
+    @Test
+    void roundUpTransactions_insufficientBalance_signalsException() {
+        long roundUpAmount = 200L;
+        List<FeedItem> feedItems = Collections.singletonList(mock(FeedItem.class));
+        stubInputs(feedItems, Mono.just(new CurrencyAndAmount("GBP", roundUpAmount - 1L)));
+        when(roundUpCalculator.calculateRoundUpAmountsByCurrency(feedItems)).thenReturn(Map.of("GBP", roundUpAmount));
+
+        StepVerifier.create(roundUpService.roundUpTransactions())
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof InsufficientBalanceException);
+                    assertEquals("Insufficient balance to round up", error.getMessage());
+                })
+                .verify();
+
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+    }
+
+    @Test
+    void roundUpTransactions_firstFailure_cancelsOtherCalls() {
+        AtomicBoolean balanceCancelled = new AtomicBoolean();
+        Mono<CurrencyAndAmount> slowBalance = Mono.delay(Duration.ofSeconds(10))
+                .map(tick -> new CurrencyAndAmount("GBP", 0L))
+                .doOnCancel(() -> balanceCancelled.set(true));
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(Mono.error(new DownstreamServerException("Downstream service unavailable: 503")));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(Collections.emptyList()));
+        when(accountService.getEffectiveBalance(accountUid)).thenReturn(slowBalance);
+
+        StepVerifier.create(roundUpService.roundUpTransactions())
+                .expectError(DownstreamServerException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(balanceCancelled.get());
+        verify(goalService, never()).transferToSavingsGoal(any(), any(), any(), any());
+    }
+
+    @Test
+    void constructor_ledgerOrWatermarkEnabled_rejected() {
+        RoundUpProperties withLedger = new RoundUpProperties();
+        withLedger.getLedger().setEnabled(true);
+        RoundUpProperties withWatermark = new RoundUpProperties();
+        withWatermark.getWatermark().setEnabled(true);
+
+        for (RoundUpProperties properties : List.of(withLedger, withWatermark)) {
+            assertThrows(IllegalStateException.class, () -> new ReactiveRoundUpServiceImpl(transactionFeedItemService,
+                    goalService, accountService, roundUpCalculator, properties));
+        }
+    }
+
+    private void stubInputs(List<FeedItem> feedItems, Mono<CurrencyAndAmount> balance) {
+        when(goalService.getOrCreateSavingsGoal(accountUid, "GBP"))
+                .thenReturn(Mono.just(new SavingsGoal(savingsGoalId, "GOAL", "GBP", new CurrencyAndAmount("GBP", 0L))));
+        when(transactionFeedItemService.getFeedItemsForDateRange(eq(accountUid), eq(defaultCategory), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(feedItems));
+        when(accountService.getEffectiveBalance(accountUid)).thenReturn(balance);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.starling.roundup.store;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FileFeedWatermarkStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private RoundUpProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RoundUpProperties();
+        properties.getWatermark().setDirectory(tempDir.resolve("watermarks"));
+    }
+
+    @Test
+    void find_unknownAccount_returnsEmpty() {
+        FileFeedWatermarkStore store = new FileFeedWatermarkStore(properties, objectMapper);
+
+        assertEquals(Optional.empty(), store.find(UUID.randomUUID()));
+    }
+
+    @Test
+    void save_thenFindFromNewStore_readsWatermarkFromFile() {
+        UUID accountUid = UUID.randomUUID();
+        FeedWatermark watermark = new FeedWatermark(accountUid, LocalDateTime.of(2026, 3, 1, 12, 30, 15),
+                Set.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        new FileFeedWatermarkStore(properties, objectMapper).save(watermark);
+
+        assertEquals(Optional.of(watermark), new FileFeedWatermarkStore(properties, objectMapper).find(accountUid));
+    }
+
+    @Test
+    void save_replacesPreviousWatermarkAndLeavesNoTemporaryFiles() throws Exception {
+        UUID accountUid = UUID.randomUUID();
+        FileFeedWatermarkStore store = new FileFeedWatermarkStore(properties, objectMapper);
+        store.save(new FeedWatermark(accountUid, LocalDateTime.of(2026, 3, 1, 12, 0), Set.of()));
+        FeedWatermark latest = new FeedWatermark(accountUid, LocalDateTime.of(2026, 3, 2, 9, 0), Set.of(UUID.randomUUID()));
+
+        store.save(latest);
+
+        assertEquals(Optional.of(latest), store.find(accountUid));
+        try (var files = Files.list(tempDir.resolve("watermarks"))) {
+            assertTrue(files.map(Path::getFileName).map(Path::toString).allMatch((accountUid + ".json")::equals));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.starling.roundup.store;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import com.example.starling.roundup.config.RoundUpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FileRoundUpLedgerTest {
+
+    private static final Instant T0 = Instant.parse("2026-03-01T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private RoundUpProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RoundUpProperties();
+        properties.getLedger().setDirectory(tempDir.resolve("ledger"));
+    }
+
+    private static RoundUpRecord record(UUID accountUid, Instant startedAt, long amount) {
+        return new RoundUpRecord(UUID.randomUUID(), accountUid, UUID.randomUUID(),
+                LocalDateTime.of(2026, 2, 22, 10, 0), LocalDateTime.of(2026, 3, 1, 10, 0), 2,
+                List.of(UUID.randomUUID(), UUID.randomUUID()), amount, UUID.randomUUID().toString(),
+                RoundUpRecord.Status.TRANSFERRED, null, startedAt, startedAt.plusMillis(120));
+    }
+
+    @Test
+    void findByAccount_returnsOnlyThatAccountsRunsInTheInterval() {
+        UUID account = UUID.randomUUID();
+        UUID otherAccount = UUID.randomUUID();
+        FileRoundUpLedger ledger = new FileRoundUpLedger(properties, objectMapper);
+        RoundUpRecord first = record(account, T0, 10);
+        RoundUpRecord second = record(account, T0.plusSeconds(60), 20);
+        RoundUpRecord third = record(account, T0.plusSeconds(120), 30);
+        ledger.append(third);
+        ledger.append(record(otherAccount, T0.plusSeconds(60), 40));
+        ledger.append(first);
+        ledger.append(second);
+
+        assertEquals(List.of(first, second, third), ledger.findByAccount(account, Instant.EPOCH, T0.plusSeconds(3600)));
+        assertEquals(List.of(second), ledger.findByAccount(account, T0.plusSeconds(1), T0.plusSeconds(120)));
+        assertEquals(List.of(), ledger.findByAccount(UUID.randomUUID(), Instant.EPOCH, T0.plusSeconds(3600)));
+    }
+
+    @Test
+    void append_rollsOverToNewSegmentAndReloadsAllSegmentsAfterRestart() throws Exception {
+        properties.getLedger().setSegmentSize(DataSize.ofBytes(600));
+        UUID account = UUID.randomUUID();
+        FileRoundUpLedger ledger = new FileRoundUpLedger(properties, objectMapper);
+        List<RoundUpRecord> records = List.of(
+                record(account, T0, 1), record(account, T0.plusSeconds(1), 2), record(account, T0.plusSeconds(2), 3));
+        records.forEach(ledger::append);
+        ledger.destroy();
+
+        try (var files = Files.list(tempDir.resolve("ledger"))) {
+            assertEquals(3, files.count());
+        }
+        FileRoundUpLedger reopened = new FileRoundUpLedger(properties, objectMapper);
+        assertEquals(records, reopened.findByAccount(account, Instant.EPOCH, T0.plusSeconds(3600)));
+        RoundUpRecord next = record(account, T0.plusSeconds(3), 4);
+        reopened.append(next);
+        assertEquals(next, reopened.findByAccount(account, T0.plusSeconds(3), T0.plusSeconds(4)).get(0));
+    }
+
+    @Test
+    void load_truncatesIncompleteLastRecord() throws Exception {
+        UUID account = UUID.randomUUID();
+        FileRoundUpLedger ledger = new FileRoundUpLedger(properties, objectMapper);
+        RoundUpRecord complete = record(account, T0, 1);
+        ledger.append(complete);
+        ledger.destroy();
+        Path segment = tempDir.resolve("ledger").resolve("ledger-000001.jsonl");
+        long completeSize = Files.size(segment);
+        Files.writeString(segment, "{\"runId\":\"", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FileRoundUpLedger reopened = new FileRoundUpLedger(properties, objectMapper);
+        RoundUpRecord next = record(account, T0.plusSeconds(1), 2);
+        reopened.append(next);
+
+        assertEquals(List.of(complete, next), reopened.findByAccount(account, Instant.EPOCH, T0.plusSeconds(3600)));
+        assertTrue(Files.size(segment) > completeSize);
+        reopened.destroy();
+    }
+
+    @Test
+    void findPending_returnsPendingRunsUntilResolvedIncludingAfterRestart() {
+        UUID account = UUID.randomUUID();
+        FileRoundUpLedger ledger = new FileRoundUpLedger(properties, objectMapper);
+        RoundUpRecord resolvedRun = pending(record(account, T0, 1));
+        RoundUpRecord openRun = pending(record(account, T0.plusSeconds(1), 2));
+        ledger.append(resolvedRun);
+        ledger.append(openRun);
+        ledger.append(withRunId(record(account, T0, 1), resolvedRun.runId()));
+
+        assertEquals(List.of(openRun), ledger.findPending(account));
+        ledger.destroy();
+        assertEquals(List.of(openRun), new FileRoundUpLedger(properties, objectMapper).findPending(account));
+    }
+
+    private static RoundUpRecord pending(RoundUpRecord run) {
+        return new RoundUpRecord(run.runId(), run.accountUid(), run.savingsGoalUid(), run.windowFrom(), run.windowTo(),
+                run.itemCount(), run.feedItemUids(), run.amount(), run.transferUid(), RoundUpRecord.Status.PENDING,
+                null, run.startedAt(), null);
+    }
+
+    private static RoundUpRecord withRunId(RoundUpRecord run, UUID runId) {
+        return new RoundUpRecord(runId, run.accountUid(), run.savingsGoalUid(), run.windowFrom(), run.windowTo(),
+                run.itemCount(), run.feedItemUids(), run.amount(), run.transferUid(), run.status(),
+                run.error(), run.startedAt(), run.finishedAt());
+    }
+
+    @Test
+    void findByAccount_noLedgerDirectory_returnsEmptyWithoutCreatingFiles() {
+        FileRoundUpLedger ledger = new FileRoundUpLedger(properties, objectMapper);
+
+        assertEquals(List.of(), ledger.findByAccount(UUID.randomUUID(), Instant.EPOCH, T0));
+        assertTrue(Files.notExists(tempDir.resolve("ledger")));
+    }
+}
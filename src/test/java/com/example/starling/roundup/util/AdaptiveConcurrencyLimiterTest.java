@@ -0,0 +1,148 @@
+package com.example.starling.roundup.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_limitReached_rejectsWithoutWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertNotNull(limiter.tryAcquire(Duration.ZERO));
+        assertNotNull(limiter.tryAcquire(Duration.ZERO));
+
+        assertNull(limiter.tryAcquire(Duration.ZERO));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_slotFreedWhileWaiting_admitted() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire(Duration.ZERO);
+        AtomicReference<AdaptiveConcurrencyLimiter.Permit> second = new AtomicReference<>();
+
+        Thread waiter = new Thread(() -> second.set(limiter.tryAcquire(Duration.ofSeconds(5))));
+        waiter.start();
+        while (waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        first.ignore();
+        waiter.join(5000);
+
+        assertNotNull(second.get());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_noSlotFreed_rejectedAfterWait() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        limiter.tryAcquire(Duration.ZERO);
+
+        long start = System.nanoTime();
+        assertNull(limiter.tryAcquire(Duration.ofMillis(20)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    void success_steadyLatencyAtLimit_growsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int round = 0; round < 20; round++) {
+            completeAll(acquireAll(limiter), 100);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void success_latencyRising_shrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 1, 100);
+        for (int round = 0; round < 5; round++) {
+            completeAll(acquireAll(limiter), 100);
+        }
+        int settled = limiter.getLimit();
+
+        for (int round = 0; round < 5; round++) {
+            completeAll(acquireAll(limiter), 1_000);
+        }
+
+        assertTrue(limiter.getLimit() < settled, "limit " + limiter.getLimit() + " settled at " + settled);
+    }
+
+    @Test
+    void success_fewCallsInFlight_limitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(Duration.ZERO);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 10 : 1_000));
+            permit.success();
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void dropped_shrinksLimitDownToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 4, 100);
+
+        limiter.tryAcquire(Duration.ZERO).dropped();
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(Duration.ZERO).dropped();
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void complete_twice_releasesSlotOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(Duration.ZERO);
+        limiter.tryAcquire(Duration.ZERO);
+
+        permit.ignore();
+        permit.success();
+
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void constructor_initialLimitOutOfRange_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(50, 1, 10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 10, 0.5));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 1.5, clock::get);
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire(Duration.ZERO)) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private void completeAll(List<AdaptiveConcurrencyLimiter.Permit> permits, long latencyMillis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.starling.roundup.util;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class CurrencyRoundingTest {
+
+    @Test
+    void unitOf_isMinorUnitsPerMajorUnit() {
+        assertEquals(100L, CurrencyRounding.unitOf("GBP"));
+        assertEquals(100L, CurrencyRounding.unitOf("EUR"));
+        assertEquals(100L, CurrencyRounding.unitOf("USD"));
+        assertEquals(1L, CurrencyRounding.unitOf("JPY"));
+        assertEquals(1L, CurrencyRounding.unitOf("KRW"));
+        assertEquals(1000L, CurrencyRounding.unitOf("KWD"));
+        assertEquals(1000L, CurrencyRounding.unitOf("BHD"));
+    }
+
+    @Test
+    void unitOf_matchesJdkForEveryCurrencyWithMinorUnits() {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int digits = currency.getDefaultFractionDigits();
+            if (digits >= 0) {
+                assertEquals((long) Math.pow(10, digits), CurrencyRounding.unitOf(currency.getCurrencyCode()),
+                        currency.getCurrencyCode());
+            }
+        }
+    }
+
+    @Test
+    void unitOf_unknownOrMissingCurrency_roundsTo100() {
+        assertEquals(100L, CurrencyRounding.unitOf(null));
+        assertEquals(100L, CurrencyRounding.unitOf(""));
+        assertEquals(100L, CurrencyRounding.unitOf("gbp"));
+        assertEquals(100L, CurrencyRounding.unitOf("QQQ"));
+        assertEquals(100L, CurrencyRounding.unitOf("POUND"));
+        // precious metals have no minor unit
+        assertEquals(100L, CurrencyRounding.unitOf("XAU"));
+    }
+
+    @Test
+    void orDefault_fallsBackToGbp() {
+        assertEquals("EUR", CurrencyRounding.orDefault("EUR"));
+        assertEquals("GBP", CurrencyRounding.orDefault(null));
+    }
+}
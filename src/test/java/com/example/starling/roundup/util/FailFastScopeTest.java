@@ -0,0 +1,89 @@
+package com.example.starling.roundup.util;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FailFastScopeTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_ReturnsAllResults() {
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            Supplier<String> first = scope.fork(() -> "a");
+            Supplier<Integer> second = scope.fork(() -> 42);
+
+            scope.join(Duration.ofSeconds(5));
+
+            assertEquals("a", first.get());
+            assertEquals(42, second.get());
+        }
+    }
+
+    @Test
+    void join_RethrowsFirstFailureAndCancelsOthers() throws InterruptedException {
+        IllegalArgumentException failure = new IllegalArgumentException("boom");
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw failure;
+            });
+
+            RuntimeException thrown = assertThrows(RuntimeException.class, () -> scope.join(Duration.ofSeconds(5)));
+            assertSame(failure, thrown);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void join_ThrowsOnTimeout() {
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return null;
+            });
+
+            assertThrows(FailFastScope.ScopeTimeoutException.class, () -> scope.join(Duration.ofMillis(50)));
+        }
+    }
+
+    @Test
+    void get_ThrowsBeforeJoin() {
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            Supplier<String> result = scope.fork(() -> "a");
+
+            assertThrows(IllegalStateException.class, result::get);
+        }
+    }
+}
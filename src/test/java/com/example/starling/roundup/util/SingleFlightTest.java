@@ -0,0 +1,115 @@
+package com.example.starling.roundup.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    @Test
+    void execute_concurrentCallsWithSameKey_runOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Object> leaderResult = new AtomicReference<>();
+        AtomicReference<Object> followerResult = new AtomicReference<>();
+
+        Thread leader = start(leaderResult, () -> flights.execute("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread follower = start(followerResult, () -> flights.execute("key", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        awaitParked(follower);
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertEquals("result", leaderResult.get());
+        assertEquals("result", followerResult.get());
+        assertEquals(1, calls.get());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void execute_afterCompletion_runsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        flights.execute("key", () -> "r" + calls.incrementAndGet());
+        String second = flights.execute("key", () -> "r" + calls.incrementAndGet());
+
+        assertEquals("r2", second);
+    }
+
+    @Test
+    void execute_differentKeys_runIndependently() {
+        assertEquals("a", flights.execute("a", () -> "a"));
+        assertEquals("b", flights.execute("b", () -> "b"));
+    }
+
+    @Test
+    void execute_failure_propagatesSameExceptionToWaiters() throws Exception {
+        IllegalStateException failure = new IllegalStateException("boom");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Object> leaderResult = new AtomicReference<>();
+        AtomicReference<Object> followerResult = new AtomicReference<>();
+
+        Thread leader = start(leaderResult, () -> flights.execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread follower = start(followerResult, () -> flights.execute("key", () -> "unused"));
+        awaitParked(follower);
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertSame(failure, leaderResult.get());
+        assertSame(failure, followerResult.get());
+        assertEquals("next", flights.execute("key", () -> "next"));
+    }
+
+    // runs the call on a new thread and records its result or exception
+    private static Thread start(AtomicReference<Object> outcome, Supplier<String> call) {
+        Thread thread = new Thread(() -> {
+            try {
+                outcome.set(call.get());
+            } catch (RuntimeException e) {
+                outcome.set(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitParked(Thread thread) {
+        while (thread.isAlive() && thread.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.starling.roundup.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class StarlingTokenContextTest {
+
+    @Test
+    void callWith_setsTokenAndRestoresPreviousOne() {
+        assertNull(StarlingTokenContext.current());
+        assertEquals("configured", StarlingTokenContext.currentOr("configured"));
+
+        String inner = StarlingTokenContext.callWith("outer", () -> {
+            assertEquals("outer", StarlingTokenContext.currentOr("configured"));
+            String nested = StarlingTokenContext.callWith("inner", StarlingTokenContext::current);
+            assertEquals("outer", StarlingTokenContext.current());
+            return nested;
+        });
+
+        assertEquals("inner", inner);
+        assertNull(StarlingTokenContext.current());
+    }
+
+    @Test
+    void callWith_restoresTokenWhenActionFails() {
+        assertThrows(IllegalStateException.class, () -> StarlingTokenContext.callWith("token", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertNull(StarlingTokenContext.current());
+    }
+
+    @Test
+    void propagating_runsTasksWithTokenOfSubmitter() throws Exception {
+        ExecutorService executor = StarlingTokenContext.propagating(Executors.newSingleThreadExecutor());
+        try {
+            Future<String> withToken = StarlingTokenContext.callWith("token",
+                    () -> executor.submit(StarlingTokenContext::current));
+            Future<String> withoutToken = executor.submit(StarlingTokenContext::current);
+
+            assertEquals("token", withToken.get());
+            assertNull(withoutToken.get());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        }
+    }
+}
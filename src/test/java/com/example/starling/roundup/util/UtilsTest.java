@@ -1,32 +1,40 @@
 package com.example.starling.roundup.util;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
+import com.example.starling.roundup.exception.InsufficientBalanceException;
 import com.example.starling.roundup.model.CurrencyAndAmount;
 import com.example.starling.roundup.model.FeedItem;
 
 class UtilsTest {
 
     private static FeedItem createFeedItem(long amountInPence) {
+        return createFeedItem("GBP", amountInPence);
+    }
+
+    private static FeedItem createFeedItem(String currency, long minorUnits) {
         return new FeedItem(
                 UUID.randomUUID(),
                 UUID.randomUUID(),
-                new CurrencyAndAmount("GBP", amountInPence),
-                new CurrencyAndAmount("GBP", amountInPence),
-                "OUT",
+                new CurrencyAndAmount(currency, minorUnits),
+                new CurrencyAndAmount(currency, minorUnits),
+                FeedItem.Direction.OUT,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
                 LocalDateTime.now(),
-                "CARD",
-                "SETTLED"
+                FeedItem.Source.MASTER_CARD,
+                FeedItem.Status.SETTLED
         );
     }
 
@@ -133,6 +141,17 @@ class UtilsTest {
         assertEquals(99L, result); // Should round up to £1.00
     }
 
+    @Test
+    void calculateItemRoundUp_RoundsUpToWholeUnitOfItsCurrency() {
+        assertEquals(50L, Utils.calculateItemRoundUp(createFeedItem("EUR", 450L))); // €4.50 -> €5.00
+        assertEquals(1L, Utils.calculateItemRoundUp(createFeedItem("USD", 199L))); // $1.99 -> $2.00
+        assertEquals(750L, Utils.calculateItemRoundUp(createFeedItem("KWD", 1250L))); // KWD 1.250 -> KWD 2.000
+        assertEquals(0L, Utils.calculateItemRoundUp(createFeedItem("JPY", 450L))); // ¥450 is already whole
+        // no currency, or one without minor units, rounds to 100 as before
+        assertEquals(65L, Utils.calculateItemRoundUp(createFeedItem(null, 235L)));
+        assertEquals(65L, Utils.calculateItemRoundUp(createFeedItem("XAU", 235L)));
+    }
+
     @Test
     void calculateItemRoundUp_ThrowsException_WhenItemIsNull() {
         // When/Then
@@ -141,6 +160,54 @@ class UtilsTest {
         assertEquals("Feed item must not be null", exception.getMessage());
     }
 
+    @Test
+    void sumRoundUps_MatchesPerItemCalculation() {
+        // Given
+        long[] amounts = {435L, 520L, 87L, 300L, 0L, -250L, 1L, 99L, 100L, 101L, 123456789L};
+        long expected = 0;
+        for (long amount : amounts) {
+            expected += Utils.calculateItemRoundUp(createFeedItem(amount));
+        }
+
+        // When/Then
+        assertEquals(expected, Utils.sumRoundUps(amounts, 100L));
+        assertEquals(expected, Utils.sumRoundUps(LongBuffer.wrap(amounts), 100L));
+        ByteBuffer direct = ByteBuffer.allocateDirect(amounts.length * Long.BYTES);
+        direct.asLongBuffer().put(amounts);
+        assertEquals(expected, Utils.sumRoundUps(direct.asLongBuffer(), 100L));
+    }
+
+    @Test
+    void sumRoundUps_UsesRoundingUnit() {
+        long[] amounts = {435L, 1001L, 87L, 0L, -250L, 2999L};
+        ByteBuffer direct = ByteBuffer.allocateDirect(amounts.length * Long.BYTES);
+        direct.asLongBuffer().put(amounts);
+
+        for (long unit : new long[] {1L, 100L, 1000L}) {
+            long expected = 0;
+            for (long amount : amounts) {
+                expected += Utils.calculateRoundUp(amount, unit);
+            }
+            assertEquals(expected, Utils.sumRoundUps(amounts, unit));
+            assertEquals(expected, Utils.sumRoundUps(direct.asLongBuffer(), unit));
+        }
+    }
+
+    @Test
+    void sumRoundUps_HonoursRangeAndBufferPosition() {
+        long[] amounts = {450L, 450L, 450L, 450L};
+
+        assertEquals(100L, Utils.sumRoundUps(amounts, 1, 3, 100L));
+        assertEquals(0L, Utils.sumRoundUps(new long[0], 100L));
+
+        LongBuffer buffer = LongBuffer.wrap(amounts);
+        buffer.position(3);
+        assertEquals(50L, Utils.sumRoundUps(buffer, 100L));
+        assertEquals(3, buffer.position());
+        assertEquals(50L, Utils.sumRoundUps(LongBuffer.wrap(amounts, 1, 3).slice(1, 1), 100L));
+        assertThrows(IndexOutOfBoundsException.class, () -> Utils.sumRoundUps(amounts, 2, 5, 100L));
+    }
+
     @Test
     void dateToString_ThrowsException_WhenDateIsNull() {
         // When/Then
@@ -193,4 +260,29 @@ class UtilsTest {
         // Should not contain any unencoded special characters
         assertFalse(encodedDate.contains(":"));
     }
+
+    @Test
+    void roundUpTransferUid_SameInputs_SameUid() {
+        // Given
+        UUID accountUid = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID goalUid = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+        // When
+        UUID first = Utils.roundUpTransferUid(accountUid, goalUid, 158L, "items|3|a|b|1f");
+        UUID second = Utils.roundUpTransferUid(accountUid, goalUid, 158L, "items|3|a|b|1f");
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(3, first.version());
+        assertNotEquals(first, Utils.roundUpTransferUid(accountUid, goalUid, 159L, "items|3|a|b|1f"));
+        assertNotEquals(first, Utils.roundUpTransferUid(accountUid, goalUid, 158L, "items|4|a|b|1f"));
+        assertNotEquals(first, Utils.roundUpTransferUid(goalUid, accountUid, 158L, "items|3|a|b|1f"));
+    }
+
+    @Test
+    void errorCode_stripsExceptionSuffix() {
+        assertEquals("InsufficientBalance", Utils.errorCode(new InsufficientBalanceException("low")));
+        assertEquals("ScopeTimeout", Utils.errorCode(new FailFastScope.ScopeTimeoutException("slow")));
+        assertEquals("AssertionError", Utils.errorCode(new AssertionError()));
+    }
 }
@@ -0,0 +1,111 @@
+#!/bin/bash
+
+# Compares platform-thread and virtual-thread request handling.
+# For each mode the application is started against the WireMock stubs and the JMeter plan is run
+# at 50, 500 and 5000 concurrent users. Throughput and p99 latency are written to a summary table.
+#
+# Prerequisites:
+#   - JMeter installed
+#   - WireMock running on localhost:8081: docker compose up -d wiremock
+#
+# Optional environment variables:
+#   USERS="50 500 5000"   concurrent users per run
+#   LOOPS=20              requests per user
+#   RAMPUP=10             ramp-up period in seconds
+#   APP_PORT=8080         application port
+#   STARLING_API_URL=http://localhost:8081
+
+set -e
+
+if ! command -v jmeter &> /dev/null; then
+    echo "JMeter is not installed. Please install JMeter first."
+    exit 1
+fi
+
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+PROJECT_DIR=$(cd "${SCRIPT_DIR}/../../.." && pwd)
+USERS=${USERS:-"50 500 5000"}
+LOOPS=${LOOPS:-20}
+RAMPUP=${RAMPUP:-10}
+APP_PORT=${APP_PORT:-8080}
+STARLING_API_URL=${STARLING_API_URL:-http://localhost:8081}
+TIMESTAMP=$(date +%Y%m%d_%H%M%S)
+RESULTS_DIR="${SCRIPT_DIR}/results/virtual_threads_${TIMESTAMP}"
+SUMMARY="${RESULTS_DIR}/summary.md"
+
+mkdir -p "${RESULTS_DIR}"
+
+JAR=$(ls "${PROJECT_DIR}"/target/starling-roundup-*.jar 2>/dev/null | grep -v original | head -1)
+if [ -z "${JAR}" ]; then
+    echo "Building application jar..."
+    (cd "${PROJECT_DIR}" && ./mvnw -q -DskipTests package)
+    JAR=$(ls "${PROJECT_DIR}"/target/starling-roundup-*.jar | grep -v original | head -1)
+fi
+
+wait_for_app() {
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:${APP_PORT}/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Application did not start"
+    return 1
+}
+
+# Prints "<throughput req/s> <p99 ms> <error %>" for a JTL file
+summarise() {
+    local stats p99
+    stats=$(awk -F',' 'NR > 1 {
+            n++;
+            if (start == "" || $1 < start) start = $1;
+            if ($1 + $2 > end) end = $1 + $2;
+            if ($8 != "true") errors++
+        }
+        END {
+            if (n == 0 || end == start) { print "0 0 0"; exit }
+            printf "%d %.1f %.2f\n", n, n * 1000 / (end - start), errors * 100 / n
+        }' "$1")
+    read -r COUNT RATE ERR <<< "${stats}"
+    p99=$(tail -n +2 "$1" | cut -d',' -f2 | sort -n | awk -v n="${COUNT}" 'BEGIN { idx = int(n * 0.99); if (idx < n * 0.99) idx++; if (idx < 1) idx = 1 } NR == idx { print; exit }')
+    echo "${RATE} ${p99:-0} ${ERR}"
+}
+
+echo "| Mode | Users | Throughput (req/s) | p99 (ms) | Errors (%) |" > "${SUMMARY}"
+echo "|------|-------|--------------------|----------|------------|" >> "${SUMMARY}"
+
+for MODE in platform virtual; do
+    if [ "${MODE}" = "virtual" ]; then VIRTUAL=true; else VIRTUAL=false; fi
+
+    echo "Starting application with virtual threads ${VIRTUAL}..."
+    SPRING_PROFILES_ACTIVE=perf \
+    STARLING_API_URL="${STARLING_API_URL}" \
+    STARLING_API_TOKEN=mock-token \
+    SERVER_PORT="${APP_PORT}" \
+    VIRTUAL_THREADS_ENABLED="${VIRTUAL}" \
+    LOG_LEVEL=WARN \
+        java -jar "${JAR}" > "${RESULTS_DIR}/app_${MODE}.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill ${APP_PID} 2> /dev/null' EXIT
+    wait_for_app
+
+    for THREADS in ${USERS}; do
+        RESULTS_FILE="${RESULTS_DIR}/${MODE}_${THREADS}.jtl"
+        echo "Running ${THREADS} users in ${MODE} mode..."
+        jmeter -n \
+            -t "${SCRIPT_DIR}/roundup-performance-test.jmx" \
+            -Jport="${APP_PORT}" \
+            -Jthreads="${THREADS}" \
+            -Jloops="${LOOPS}" \
+            -Jrampup="${RAMPUP}" \
+            -l "${RESULTS_FILE}" > /dev/null
+        read -r THROUGHPUT P99 ERRORS <<< "$(summarise "${RESULTS_FILE}")"
+        echo "| ${MODE} | ${THREADS} | ${THROUGHPUT} | ${P99} | ${ERRORS} |" >> "${SUMMARY}"
+    done
+
+    kill "${APP_PID}"
+    wait "${APP_PID}" 2> /dev/null || true
+done
+
+cat "${SUMMARY}"
+echo "Results: ${RESULTS_DIR}"